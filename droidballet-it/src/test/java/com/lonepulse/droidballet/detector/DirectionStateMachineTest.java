@@ -0,0 +1,175 @@
+package com.lonepulse.droidballet.detector;
+
+/*
+ * #%L
+ * DroidBallet Integration Tests
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.lonepulse.droidballet.detector.DirectionHysteresis.TRIGGER_MODE;
+
+/**
+ * <p>Verifies that a {@link DirectionStateMachine} enters a direction only beyond the enter
+ * magnitude and returns to rest only within the exit magnitude, and that repeated events
+ * are suppressed under {@link TRIGGER_MODE#EDGE} while the reading stays within the epsilon.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class DirectionStateMachineTest {
+	
+	
+	/**
+	 * <p>A hysteresis which enters a direction beyond 2 and returns to rest within 1.
+	 */
+	private static final DirectionHysteresis LEVEL = new DirectionHysteresis(2.0f, 1.0f, TRIGGER_MODE.LEVEL, 0.0f);
+	
+	/**
+	 * <p>The same band as {@link #LEVEL}, which suppresses events that change by 0.5 or less.
+	 */
+	private static final DirectionHysteresis EDGE = new DirectionHysteresis(2.0f, 1.0f, TRIGGER_MODE.EDGE, 0.5f);
+	
+	
+	@Test
+	public void testEnterBeyondEnterMagnitude() {
+		
+		DirectionStateMachine stateMachine = new DirectionStateMachine();
+		
+		assertEquals(DirectionStateMachine.REST, stateMachine.advance(1.5f, LEVEL));
+		assertEquals(DirectionStateMachine.REST, stateMachine.advance(2.0f, LEVEL));
+		assertEquals(DirectionStateMachine.POSITIVE, stateMachine.advance(2.1f, LEVEL));
+		
+		stateMachine.reset();
+		
+		assertEquals(DirectionStateMachine.REST, stateMachine.advance(-2.0f, LEVEL));
+		assertEquals(DirectionStateMachine.NEGATIVE, stateMachine.advance(-2.1f, LEVEL));
+	}
+	
+	@Test
+	public void testExitWithinExitMagnitude() {
+		
+		DirectionStateMachine stateMachine = new DirectionStateMachine();
+		stateMachine.advance(3.0f, LEVEL);
+		
+		assertEquals("A reading within the band must hold the direction. ",
+					 DirectionStateMachine.POSITIVE, stateMachine.advance(1.5f, LEVEL));
+		
+		assertEquals(DirectionStateMachine.REST, stateMachine.advance(1.0f, LEVEL));
+		assertEquals(DirectionStateMachine.REST, stateMachine.advance(1.5f, LEVEL));
+		
+		stateMachine.advance(-3.0f, LEVEL);
+		
+		assertEquals(DirectionStateMachine.NEGATIVE, stateMachine.advance(-1.5f, LEVEL));
+		assertEquals(DirectionStateMachine.REST, stateMachine.advance(-0.5f, LEVEL));
+	}
+	
+	@Test
+	public void testReverseAcrossRest() {
+		
+		DirectionStateMachine stateMachine = new DirectionStateMachine();
+		stateMachine.advance(3.0f, LEVEL);
+		
+		assertEquals(DirectionStateMachine.NEGATIVE, stateMachine.advance(-2.5f, LEVEL));
+		assertEquals(DirectionStateMachine.POSITIVE, stateMachine.advance(2.5f, LEVEL));
+	}
+	
+	@Test
+	public void testNoChatterAroundThreshold() {
+		
+		DirectionStateMachine stateMachine = new DirectionStateMachine();
+		
+		int transitions = 0;
+		int direction = DirectionStateMachine.REST;
+		
+		for(int i = 0; i < 1000; i++) {
+			
+			float offset = 2.0f + ((i % 2 == 0)? 0.1f : -0.9f);
+			int next = stateMachine.advance(offset, LEVEL);
+			
+			if(next != direction) {
+				
+				transitions++;
+				direction = next;
+			}
+		}
+		
+		assertEquals("A reading oscillating within the band must enter once and stay. ", 1, transitions);
+	}
+	
+	@Test
+	public void testLevelEmitsEveryEvent() {
+		
+		DirectionStateMachine stateMachine = new DirectionStateMachine();
+		stateMachine.advance(3.0f, LEVEL);
+		
+		for(int i = 0; i < 10; i++) {
+			
+			assertTrue(stateMachine.emit(3.0f, LEVEL));
+		}
+	}
+	
+	@Test
+	public void testEdgeSuppressesWithinEpsilon() {
+		
+		DirectionStateMachine stateMachine = new DirectionStateMachine();
+		stateMachine.advance(3.0f, EDGE);
+		
+		assertTrue("The first event must be emitted. ", stateMachine.emit(3.0f, EDGE));
+		assertFalse(stateMachine.emit(3.0f, EDGE));
+		assertFalse(stateMachine.emit(3.5f, EDGE));
+		assertFalse(stateMachine.emit(2.5f, EDGE));
+		
+		assertTrue("A change beyond the epsilon must be emitted. ", stateMachine.emit(3.6f, EDGE));
+		assertFalse("The epsilon must be measured from the last emitted reading. ", stateMachine.emit(3.2f, EDGE));
+	}
+	
+	@Test
+	public void testEdgeEmitsOnDirectionChange() {
+		
+		DirectionStateMachine stateMachine = new DirectionStateMachine();
+		
+		stateMachine.advance(3.0f, EDGE);
+		assertTrue(stateMachine.emit(1.5f, EDGE));
+		
+		stateMachine.advance(1.0f, EDGE);
+		assertTrue("Returning to rest must be emitted even within the epsilon. ", stateMachine.emit(1.0f, EDGE));
+		assertFalse(stateMachine.emit(1.0f, EDGE));
+		
+		stateMachine.reset();
+		assertTrue("A reset must forget the last emitted event. ", stateMachine.emit(1.0f, EDGE));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testExitBeyondEnter() {
+		
+		new DirectionHysteresis(1.0f, 2.0f, TRIGGER_MODE.LEVEL, 0.0f);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeEpsilon() {
+		
+		new DirectionHysteresis(2.0f, 1.0f, TRIGGER_MODE.EDGE, -0.1f);
+	}
+}
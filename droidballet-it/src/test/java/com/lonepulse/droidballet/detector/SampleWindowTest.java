@@ -0,0 +1,217 @@
+package com.lonepulse.droidballet.detector;
+
+/*
+ * #%L
+ * DroidBallet Integration Tests
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * <p>Verifies the rolling statistics of a {@link SampleWindow} against a brute-force recompute
+ * over the readings it should hold, as readings are evicted both by age and by capacity, and
+ * verifies that the span of the window is fixed in time regardless of the sampling rate.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class SampleWindowTest {
+	
+	
+	/**
+	 * <p>The number of nanoseconds in a millisecond.
+	 */
+	private static final long NANOS_PER_MILLISECOND = 1000000L;
+	
+	/**
+	 * <p>The duration of the window in nanoseconds.
+	 */
+	private static final long DURATION = 640L * NANOS_PER_MILLISECOND;
+	
+	/**
+	 * <p>The number of readings which are added in each run.
+	 */
+	private static final int SAMPLES = 20000;
+	
+	
+	@Test(timeout = 60000)
+	public void testEvictionByAge() {
+		
+		verify(64, 5L * NANOS_PER_MILLISECOND, 40L * NANOS_PER_MILLISECOND);
+	}
+	
+	@Test(timeout = 60000)
+	public void testEvictionByCapacity() {
+		
+		verify(16, 1L * NANOS_PER_MILLISECOND, 10L * NANOS_PER_MILLISECOND);
+	}
+	
+	@Test
+	public void testDurationIndependentOfRate() {
+		
+		assertEquals(32, fill(50));
+		assertEquals(128, fill(200));
+	}
+	
+	@Test
+	public void testFullOnceDurationElapsed() {
+		
+		SampleWindow sampleWindow = new SampleWindow(DURATION, 128);
+		
+		long period = 20L * NANOS_PER_MILLISECOND;
+		long timestamp = 0L;
+		
+		for(; timestamp < DURATION; timestamp += period) {
+			
+			sampleWindow.add(timestamp, new float[] {0.0f, 0.0f, 9.8f});
+			assertFalse(sampleWindow.isFull());
+		}
+		
+		sampleWindow.add(timestamp, new float[] {0.0f, 0.0f, 9.8f});
+		assertTrue("The window must be full once it spans its duration. ", sampleWindow.isFull());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidCapacity() {
+		
+		new SampleWindow(DURATION, 1);
+	}
+	
+	/**
+	 * <p>Fills a window with readings at the given rate for twice its duration.
+	 * 
+	 * @param rate
+	 * 			the sampling rate in readings per second
+	 * 
+	 * @return the number of readings held by the window
+	 */
+	private static int fill(int rate) {
+		
+		SampleWindow sampleWindow = new SampleWindow(DURATION, 256);
+		
+		long period = 1000L * NANOS_PER_MILLISECOND / rate;
+		
+		for(long timestamp = 0L; timestamp < 2 * DURATION; timestamp += period) {
+			
+			sampleWindow.add(timestamp, new float[] {0.0f, 0.0f, 9.8f});
+		}
+		
+		return sampleWindow.size();
+	}
+	
+	/**
+	 * <p>Adds random readings at random intervals to a window and compares its statistics with
+	 * those recomputed over the readings which are within its duration and capacity.
+	 * 
+	 * @param capacity
+	 * 			the capacity of the window
+	 * 
+	 * @param minPeriod
+	 * 			the minimum interval between readings in nanoseconds
+	 * 
+	 * @param maxPeriod
+	 * 			the maximum interval between readings in nanoseconds
+	 */
+	private static void verify(int capacity, long minPeriod, long maxPeriod) {
+		
+		Random random = new Random(capacity);
+		SampleWindow sampleWindow = new SampleWindow(DURATION, capacity);
+		
+		List<Long> timestamps = new ArrayList<Long>();
+		List<float[]> readings = new ArrayList<float[]>();
+		
+		float[] previous = null;
+		long previousTimestamp = 0L;
+		long timestamp = 0L;
+		
+		for(int i = 0; i < SAMPLES; i++) {
+			
+			timestamp += minPeriod + (long) (random.nextDouble() * (maxPeriod - minPeriod));
+			
+			float[] values = new float[] {
+				random.nextFloat() * 40.0f - 20.0f, random.nextFloat() * 40.0f - 20.0f, random.nextFloat() * 40.0f - 20.0f};
+			
+			float jerk = 0.0f;
+			
+			if(previous != null) {
+				
+				float dx = values[0] - previous[0], dy = values[1] - previous[1], dz = values[2] - previous[2];
+				jerk = (float) Math.sqrt(dx * dx + dy * dy + dz * dz) / ((timestamp - previousTimestamp) / 1e9f);
+			}
+			
+			sampleWindow.add(timestamp, values);
+			
+			timestamps.add(timestamp);
+			readings.add(new float[] {values[0], values[1], values[2], jerk});
+			
+			while(timestamp - timestamps.get(0) >= DURATION || timestamps.size() > capacity) {
+				
+				timestamps.remove(0);
+				readings.remove(0);
+			}
+			
+			previous = values;
+			previousTimestamp = timestamp;
+			
+			double meanX = 0.0, meanY = 0.0, meanZ = 0.0, meanJerk = 0.0;
+			
+			for(float[] reading : readings) {
+				
+				meanX += reading[0];
+				meanY += reading[1];
+				meanZ += reading[2];
+				meanJerk += reading[3];
+			}
+			
+			int size = readings.size();
+			
+			meanX /= size;
+			meanY /= size;
+			meanZ /= size;
+			meanJerk /= size;
+			
+			double variance = 0.0;
+			
+			for(float[] reading : readings) {
+				
+				variance += (reading[0] - meanX) * (reading[0] - meanX)
+						  + (reading[1] - meanY) * (reading[1] - meanY)
+						  + (reading[2] - meanZ) * (reading[2] - meanZ);
+			}
+			
+			variance /= size;
+			
+			assertEquals("Sample " + i + " size. ", size, sampleWindow.size());
+			assertEquals("Sample " + i + " mean of the X-Axis. ", meanX, sampleWindow.getMeanX(), 1e-3);
+			assertEquals("Sample " + i + " mean of the Y-Axis. ", meanY, sampleWindow.getMeanY(), 1e-3);
+			assertEquals("Sample " + i + " variance. ", variance, sampleWindow.getVariance(), variance * 1e-4 + 1e-3);
+			assertEquals("Sample " + i + " mean jerk. ", meanJerk, sampleWindow.getMeanJerk(), meanJerk * 1e-4 + 1e-3);
+			assertEquals("Sample " + i + " jerk. ", jerk, sampleWindow.getJerk(), jerk * 1e-5f);
+		}
+	}
+}
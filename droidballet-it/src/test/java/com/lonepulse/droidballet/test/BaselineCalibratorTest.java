@@ -0,0 +1,210 @@
+package com.lonepulse.droidballet.test;
+
+/*
+ * #%L
+ * DroidBallet Integration Tests
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import android.hardware.Sensor;
+
+import com.lonepulse.droidballet.detector.BaselineCalibrator;
+import com.lonepulse.droidballet.detector.DirectionHysteresis;
+import com.lonepulse.droidballet.detector.DirectionHysteresis.TRIGGER_MODE;
+import com.lonepulse.droidballet.detector.MotionDetectorException;
+import com.lonepulse.droidballet.detector.VerticalMotionDetector;
+import com.lonepulse.droidballet.listener.VerticalMotionEvent;
+import com.lonepulse.droidballet.listener.VerticalMotionEvent.VERTICAL_DIRECTION;
+import com.lonepulse.droidballet.sensor.SensorSample;
+
+/**
+ * <p>Verifies that a {@link BaselineCalibrator} follows the readings only while they rest
+ * within the exit magnitude, so that a deliberately held tilt is never absorbed into the
+ * baseline and keeps being reported as motion.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class BaselineCalibratorTest {
+	
+	
+	/**
+	 * <p>The number of nanoseconds in a second.
+	 */
+	private static final long NANOS_PER_SECOND = 1000000000L;
+	
+	/**
+	 * <p>A hysteresis which enters a direction beyond 2 and returns to rest within 1.
+	 */
+	private static final DirectionHysteresis HYSTERESIS = new DirectionHysteresis(2.0f, 1.0f, TRIGGER_MODE.LEVEL, 0.0f);
+	
+	/**
+	 * <p>The tolerance of the compared baselines.
+	 */
+	private static final float DELTA = 1e-5f;
+	
+	
+	@Test
+	public void testFirstReadingInitializes() {
+		
+		BaselineCalibrator baselineCalibrator = new BaselineCalibrator();
+		
+		assertEquals(3.0f, baselineCalibrator.calibrate(3.0f, 0L), DELTA);
+		assertEquals("Only the first reading may initialize the baseline. ",
+					 3.0f, baselineCalibrator.calibrate(5.0f, NANOS_PER_SECOND), DELTA);
+		
+		baselineCalibrator.reset();
+		
+		assertEquals(5.0f, baselineCalibrator.calibrate(5.0f, 2 * NANOS_PER_SECOND), DELTA);
+	}
+	
+	@Test
+	public void testAdaptWithinCaptureRange() {
+		
+		BaselineCalibrator baselineCalibrator = new BaselineCalibrator(2.0f, 0.5f);
+		baselineCalibrator.calibrate(3.0f, 0L);
+		
+		baselineCalibrator.adapt(3.4f, 2 * NANOS_PER_SECOND, true, HYSTERESIS);
+		
+		assertEquals("A resting reading within the capture range must be followed with the time constant. ",
+					 3.2f, baselineCalibrator.getBaseline(), DELTA);
+	}
+	
+	@Test
+	public void testAdaptBeyondCaptureRange() {
+		
+		BaselineCalibrator baselineCalibrator = new BaselineCalibrator(2.0f, 0.5f);
+		baselineCalibrator.calibrate(3.0f, 0L);
+		
+		baselineCalibrator.adapt(3.8f, 2 * NANOS_PER_SECOND, true, HYSTERESIS);
+		
+		assertEquals("A resting reading beyond the capture range must be followed slowly. ",
+					 3.0f + (2.0f / 22.0f) * 0.8f, baselineCalibrator.getBaseline(), DELTA);
+	}
+	
+	@Test
+	public void testFrozenWhileMoving() {
+		
+		BaselineCalibrator baselineCalibrator = new BaselineCalibrator(2.0f, 0.5f);
+		baselineCalibrator.calibrate(3.0f, 0L);
+		
+		for(int i = 1; i <= 100; i++) {
+			
+			baselineCalibrator.adapt(3.4f, i * NANOS_PER_SECOND, false, HYSTERESIS);
+		}
+		
+		assertEquals(3.0f, baselineCalibrator.getBaseline(), DELTA);
+	}
+	
+	@Test
+	public void testFrozenBeyondExitMagnitude() {
+		
+		BaselineCalibrator baselineCalibrator = new BaselineCalibrator(2.0f, 5.0f);
+		baselineCalibrator.calibrate(3.0f, 0L);
+		
+		for(int i = 1; i <= 100; i++) {
+			
+			baselineCalibrator.adapt(4.5f, i * NANOS_PER_SECOND, true, HYSTERESIS);
+		}
+		
+		assertEquals("The capture range must not extend beyond the exit magnitude. ",
+					 3.0f, baselineCalibrator.getBaseline(), DELTA);
+	}
+	
+	@Test
+	public void testIgnoresStaleTimestamps() {
+		
+		BaselineCalibrator baselineCalibrator = new BaselineCalibrator(2.0f, 0.5f);
+		baselineCalibrator.calibrate(3.0f, NANOS_PER_SECOND);
+		
+		baselineCalibrator.adapt(3.4f, NANOS_PER_SECOND, true, HYSTERESIS);
+		baselineCalibrator.adapt(3.4f, 0L, true, HYSTERESIS);
+		
+		assertEquals(3.0f, baselineCalibrator.getBaseline(), DELTA);
+	}
+	
+	@Test(timeout = 60000)
+	public void testHeldTiltIsNotAbsorbed() throws MotionDetectorException {
+		
+		VerticalMotionDetector verticalMotionDetector = VerticalMotionDetector.newInstance();
+		verticalMotionDetector.setAutoCalibration(true);
+		
+		long period = NANOS_PER_SECOND / 50;
+		long timestamp = 0L;
+		
+		for(int i = 0; i < 250; i++, timestamp += period) {
+			
+			assertEquals(VERTICAL_DIRECTION.NONE, detect(verticalMotionDetector, timestamp, 3.0f));
+		}
+		
+		for(int i = 0; i < 50; i++, timestamp += period) {
+			
+			detect(verticalMotionDetector, timestamp, 7.0f);
+		}
+		
+		for(int i = 0; i < 1000; i++, timestamp += period) {
+			
+			assertEquals("A held tilt must keep being reported as motion. ",
+						 VERTICAL_DIRECTION.DOWN, detect(verticalMotionDetector, timestamp, 7.0f));
+		}
+		
+		for(int i = 0; i < 50; i++, timestamp += period) {
+			
+			detect(verticalMotionDetector, timestamp, 3.0f);
+		}
+		
+		assertEquals("Returning from the tilt must be reported as rest. ",
+					 VERTICAL_DIRECTION.NONE, detect(verticalMotionDetector, timestamp, 3.0f));
+	}
+	
+	/**
+	 * <p>Detects the direction of an accelerometer reading on the Y-Axis.
+	 * 
+	 * @param verticalMotionDetector
+	 * 			the {@link VerticalMotionDetector} which detects the direction
+	 * 
+	 * @param timestamp
+	 * 			the timestamp of the reading in nanoseconds
+	 * 
+	 * @param y
+	 * 			the reading on the Y-Axis
+	 * 
+	 * @return the detected {@link VERTICAL_DIRECTION}
+	 * 
+	 * @throws MotionDetectorException
+	 * 			if the detection failed
+	 */
+	private static VERTICAL_DIRECTION detect(VerticalMotionDetector verticalMotionDetector, long timestamp, float y)
+	throws MotionDetectorException {
+		
+		SensorSample sensorSample = new SensorSample(
+			Sensor.TYPE_ACCELEROMETER, timestamp, 19.6f, new float[] {0.0f, y, 9.8f});
+		
+		VerticalMotionEvent verticalMotionEvent = verticalMotionDetector.getMotionEvent(sensorSample);
+		VERTICAL_DIRECTION direction = verticalMotionEvent.getDirection();
+		
+		verticalMotionEvent.recycle();
+		
+		return direction;
+	}
+}
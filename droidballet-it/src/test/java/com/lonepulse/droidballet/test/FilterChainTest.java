@@ -0,0 +1,223 @@
+package com.lonepulse.droidballet.test;
+
+/*
+ * #%L
+ * DroidBallet Integration Tests
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.lonepulse.droidballet.filter.FilterChain;
+import com.lonepulse.droidballet.filter.LowPassFilter;
+import com.lonepulse.droidballet.filter.SmoothingFilter;
+import com.lonepulse.droidballet.filter.SmoothingFilterException;
+
+/**
+ * <p>Verifies each stage of a {@link FilterChain}, and that running the stages in a single
+ * fused loop produces the same output as running them one after the other.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class FilterChainTest {
+	
+	
+	/**
+	 * <p>The interval between readings in nanoseconds.
+	 */
+	private static final long PERIOD = 20000000L;
+	
+	
+	@Test
+	public void testLowPassMatchesLowPassFilter() throws SmoothingFilterException {
+		
+		SmoothingFilter filterChain = new FilterChain.Builder().addLowPass(0.1f).build();
+		SmoothingFilter lowPassFilter = new LowPassFilter.Builder().setTimeConstant(0.1f).build();
+		
+		Random random = new Random(23);
+		
+		float[] input = new float[3];
+		float[] expected = new float[3];
+		float[] actual = new float[3];
+		
+		for(int i = 0; i < 1000; i++) {
+			
+			for(int axis = 0; axis < 3; axis++)
+				input[axis] = random.nextFloat() * 20.0f - 10.0f;
+			
+			lowPassFilter.filter(input, expected, i * PERIOD);
+			filterChain.filter(input, actual, i * PERIOD);
+			
+			for(int axis = 0; axis < 3; axis++)
+				assertEquals("Reading " + i + " on axis " + axis + ". ", expected[axis], actual[axis], 1e-5f);
+		}
+	}
+	
+	@Test
+	public void testMedianRejectsSpike() throws SmoothingFilterException {
+		
+		SmoothingFilter filterChain = new FilterChain.Builder().addMedian(3).build();
+		
+		float[] output = new float[1];
+		
+		for(int i = 0; i < 10; i++) {
+			
+			float reading = (i == 5)? 100.0f : 1.0f;
+			
+			filterChain.filter(new float[] {reading}, output, i * PERIOD);
+			
+			assertEquals("Reading " + i + ". ", 1.0f, output[0], 0.0f);
+		}
+	}
+	
+	@Test
+	public void testMedianFollowsStep() throws SmoothingFilterException {
+		
+		SmoothingFilter filterChain = new FilterChain.Builder().addMedian(5).build();
+		
+		float[] output = new float[1];
+		float[] expected = {0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f};
+		
+		for(int i = 0; i < expected.length; i++) {
+			
+			filterChain.filter(new float[] {(i < 5)? 0.0f : 1.0f}, output, i * PERIOD);
+			
+			assertEquals("Reading " + i + ". ", expected[i], output[0], 0.0f);
+		}
+	}
+	
+	@Test
+	public void testOutlierClamp() throws SmoothingFilterException {
+		
+		SmoothingFilter filterChain = new FilterChain.Builder().addOutlierClamp(2.0f).build();
+		
+		float[] output = new float[1];
+		
+		filterChain.filter(new float[] {0.0f}, output, 0L);
+		filterChain.filter(new float[] {10.0f}, output, PERIOD);
+		assertEquals(2.0f, output[0], 0.0f);
+		
+		filterChain.filter(new float[] {10.0f}, output, 2 * PERIOD);
+		assertEquals("The step must be limited from the previous output. ", 4.0f, output[0], 0.0f);
+		
+		filterChain.filter(new float[] {3.0f}, output, 3 * PERIOD);
+		assertEquals(3.0f, output[0], 0.0f);
+	}
+	
+	@Test
+	public void testHighPassRemovesGravity() throws SmoothingFilterException {
+		
+		SmoothingFilter filterChain = new FilterChain.Builder().addHighPass(0.5f).build();
+		
+		float[] output = new float[3];
+		
+		filterChain.filter(new float[] {0.0f, 0.0f, 9.8f}, output, 0L);
+		assertEquals(0.0f, output[2], 0.0f);
+		
+		filterChain.filter(new float[] {0.0f, 0.0f, 12.8f}, output, PERIOD);
+		assertEquals("A sudden change must pass through. ", 3.0f, output[2], 0.2f);
+		
+		for(int i = 2; i < 500; i++) {
+			
+			filterChain.filter(new float[] {0.0f, 0.0f, 12.8f}, output, i * PERIOD);
+		}
+		
+		assertEquals("A held reading must be removed. ", 0.0f, output[2], 1e-3f);
+	}
+	
+	@Test
+	public void testFusedMatchesSequential() throws SmoothingFilterException {
+		
+		SmoothingFilter filterChain = new FilterChain.Builder()
+			.addMedian(5)
+			.addOutlierClamp(1.5f)
+			.addHighPass(2.0f)
+			.addLowPass(0.1f)
+			.build();
+		
+		SmoothingFilter[] stages = {
+			new FilterChain.Builder().addMedian(5).build(),
+			new FilterChain.Builder().addOutlierClamp(1.5f).build(),
+			new FilterChain.Builder().addHighPass(2.0f).build(),
+			new FilterChain.Builder().addLowPass(0.1f).build()};
+		
+		Random random = new Random(5);
+		
+		float[] input = new float[3];
+		float[] expected = new float[3];
+		float[] actual = new float[3];
+		
+		long timestamp = 0L;
+		
+		for(int i = 0; i < 2000; i++) {
+			
+			timestamp += PERIOD / 2 + (long) (random.nextDouble() * PERIOD);
+			
+			for(int axis = 0; axis < 3; axis++)
+				input[axis] = (random.nextInt(20) == 0)? 50.0f : random.nextFloat() * 4.0f - 2.0f;
+			
+			System.arraycopy(input, 0, expected, 0, 3);
+			
+			for(SmoothingFilter stage : stages)
+				stage.filter(expected.clone(), expected, timestamp);
+			
+			filterChain.filter(input, actual, timestamp);
+			
+			for(int axis = 0; axis < 3; axis++)
+				assertEquals("Reading " + i + " on axis " + axis + ". ", expected[axis], actual[axis], 1e-4f);
+		}
+	}
+	
+	@Test
+	public void testReset() throws SmoothingFilterException {
+		
+		SmoothingFilter filterChain = new FilterChain.Builder().addLowPass(1.0f).addOutlierClamp(1.0f).build();
+		
+		float[] output = new float[1];
+		
+		filterChain.filter(new float[] {0.0f}, output, 0L);
+		filterChain.reset();
+		filterChain.filter(new float[] {10.0f}, output, PERIOD);
+		
+		assertEquals("A reset must seed every stage with the next reading. ", 10.0f, output[0], 0.0f);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoStages() {
+		
+		new FilterChain.Builder().build();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testEvenMedian() {
+		
+		new FilterChain.Builder().addMedian(4).build();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testNonPositiveParameter() {
+		
+		new FilterChain.Builder().addLowPass(0.1f).addOutlierClamp(0.0f).build();
+	}
+}
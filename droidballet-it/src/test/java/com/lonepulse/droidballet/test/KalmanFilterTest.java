@@ -0,0 +1,181 @@
+package com.lonepulse.droidballet.test;
+
+/*
+ * #%L
+ * DroidBallet Integration Tests
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.lonepulse.droidballet.filter.KalmanFilter;
+import com.lonepulse.droidballet.filter.SmoothingFilter;
+import com.lonepulse.droidballet.filter.SmoothingFilterException;
+
+/**
+ * <p>Verifies that a {@link KalmanFilter} settles on a step, suppresses the noise of a resting
+ * reading, and that its constant velocity model follows a tilt with less lag than a random walk.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class KalmanFilterTest {
+	
+	
+	/**
+	 * <p>The interval between readings in nanoseconds.
+	 */
+	private static final long PERIOD = 20000000L;
+	
+	/**
+	 * <p>The interval between readings in seconds.
+	 */
+	private static final float DT = PERIOD / 1e9f;
+	
+	
+	@Test
+	public void testStepResponse() throws SmoothingFilterException {
+		
+		assertStep("A random walk", new KalmanFilter());
+		assertStep("A constant velocity model", new KalmanFilter.Builder().setConstantVelocity(true).build());
+	}
+	
+	@Test
+	public void testNoiseSuppression() throws SmoothingFilterException {
+		
+		SmoothingFilter smoothingFilter = new KalmanFilter();
+		Random random = new Random(24);
+		
+		float[] input = new float[3];
+		float[] output = new float[3];
+		
+		double inputVariance = 0.0, outputVariance = 0.0;
+		int samples = 0;
+		
+		for(int i = 0; i < 5000; i++) {
+			
+			input[1] = 5.0f + (float) random.nextGaussian() * 0.5f;
+			smoothingFilter.filter(input, output, i * PERIOD);
+			
+			if(i >= 500) {
+				
+				inputVariance += (input[1] - 5.0f) * (input[1] - 5.0f);
+				outputVariance += (output[1] - 5.0f) * (output[1] - 5.0f);
+				samples++;
+			}
+		}
+		
+		inputVariance /= samples;
+		outputVariance /= samples;
+		
+		assertTrue("The variance of a resting reading must be reduced, but was " + outputVariance
+				   + " against " + inputVariance + ". ", outputVariance < inputVariance / 2.0);
+	}
+	
+	@Test
+	public void testConstantVelocityReducesLag() throws SmoothingFilterException {
+		
+		float randomWalkLag = rampLag(new KalmanFilter());
+		float constantVelocityLag = rampLag(new KalmanFilter.Builder().setConstantVelocity(true).build());
+		
+		assertTrue("A random walk must lag behind a ramp. ", randomWalkLag > 0.0f);
+		assertEquals("The constant velocity model must follow a ramp. ", 0.0f, constantVelocityLag, 1e-3f);
+		assertTrue("The constant velocity model must lag less than a random walk. ",
+				   Math.abs(constantVelocityLag) < randomWalkLag / 10.0f);
+	}
+	
+	@Test
+	public void testFirstReadingSeeds() throws SmoothingFilterException {
+		
+		SmoothingFilter smoothingFilter = new KalmanFilter();
+		
+		float[] output = smoothingFilter.filter(new float[] {1.0f, 2.0f, 3.0f}, new float[3], 0L);
+		
+		assertEquals(2.0f, output[1], 0.0f);
+		
+		smoothingFilter.filter(new float[] {8.0f, 8.0f, 8.0f}, output, PERIOD);
+		smoothingFilter.reset();
+		smoothingFilter.filter(new float[] {4.0f, 4.0f, 4.0f}, output, 2 * PERIOD);
+		
+		assertEquals("A reset must seed the filter with the next reading. ", 4.0f, output[1], 0.0f);
+	}
+	
+	/**
+	 * <p>Asserts that the given filter settles on a unit step within a second.
+	 * 
+	 * @param model
+	 * 			the name of the model of the filter
+	 * 
+	 * @param smoothingFilter
+	 * 			the {@link SmoothingFilter} which filters the step
+	 * 
+	 * @throws SmoothingFilterException
+	 * 			if the filter failed
+	 */
+	private static void assertStep(String model, SmoothingFilter smoothingFilter) throws SmoothingFilterException {
+		
+		float[] input = new float[3];
+		float[] output = new float[3];
+		
+		smoothingFilter.filter(input, output, 0L);
+		
+		input[0] = 1.0f;
+		
+		float peak = 0.0f;
+		
+		for(int i = 1; i <= 50; i++) {
+			
+			smoothingFilter.filter(input, output, i * PERIOD);
+			peak = Math.max(peak, output[0]);
+		}
+		
+		assertEquals(model + " must settle on the step. ", 1.0f, output[0], 0.02f);
+		assertTrue(model + " must not overshoot by more than a tenth, but peaked at " + peak + ". ", peak < 1.1f);
+	}
+	
+	/**
+	 * <p>Filters a ramp of 1 unit per second for ten seconds.
+	 * 
+	 * @param smoothingFilter
+	 * 			the {@link SmoothingFilter} which filters the ramp
+	 * 
+	 * @return the amount by which the output trails the ramp at the end
+	 * 
+	 * @throws SmoothingFilterException
+	 * 			if the filter failed
+	 */
+	private static float rampLag(SmoothingFilter smoothingFilter) throws SmoothingFilterException {
+		
+		float[] input = new float[3];
+		float[] output = new float[3];
+		
+		for(int i = 0; i <= 500; i++) {
+			
+			input[0] = i * DT;
+			smoothingFilter.filter(input, output, i * PERIOD);
+		}
+		
+		return input[0] - output[0];
+	}
+}
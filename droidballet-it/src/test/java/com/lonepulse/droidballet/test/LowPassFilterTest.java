@@ -0,0 +1,162 @@
+package com.lonepulse.droidballet.test;
+
+/*
+ * #%L
+ * DroidBallet Integration Tests
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.lonepulse.droidballet.filter.LowPassFilter;
+import com.lonepulse.droidballet.filter.SmoothingFilterException;
+
+/**
+ * <p>Verifies that a {@link LowPassFilter} retains its state across readings, and that
+ * its response to a step is determined by its time constant rather than by the rate at
+ * which the readings are sampled.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class LowPassFilterTest {
+	
+	
+	/**
+	 * <p>The number of nanoseconds in a second.
+	 */
+	private static final long NANOS_PER_SECOND = 1000000000L;
+	
+	/**
+	 * <p>The time constant of the filters in seconds.
+	 */
+	private static final float TIME_CONSTANT = 0.1f;
+	
+	
+	@Test
+	public void testFirstReadingSeeds() throws SmoothingFilterException {
+		
+		LowPassFilter lowPassFilter = new LowPassFilter.Builder().setTimeConstant(TIME_CONSTANT).build();
+		
+		float[] output = lowPassFilter.filter(new float[] {1.0f, 2.0f, 3.0f}, new float[3], 0L);
+		
+		assertEquals(1.0f, output[0], 0.0f);
+		assertEquals(2.0f, output[1], 0.0f);
+		assertEquals(3.0f, output[2], 0.0f);
+	}
+	
+	@Test
+	public void testStateIsRetained() throws SmoothingFilterException {
+		
+		LowPassFilter lowPassFilter = new LowPassFilter.Builder().setTimeConstant(TIME_CONSTANT).build();
+		lowPassFilter.filter(new float[] {0.0f, 0.0f, 0.0f}, new float[3], 0L);
+		
+		float[] output = null;
+		
+		for(int i = 1; i <= 200; i++) {
+			
+			output = lowPassFilter.filter(new float[] {0.0f, 10.0f, 0.0f}, new float[3], i * NANOS_PER_SECOND / 100);
+		}
+		
+		assertEquals("The filter must converge even if a new output array is given for every reading. ",
+					 10.0f, output[1], 1e-3f);
+		
+		output = lowPassFilter.filter(new float[] {0.0f, 0.0f, 0.0f}, new float[3], 201 * NANOS_PER_SECOND / 100);
+		
+		assertEquals("A single reading must not move the output by more than its smoothing factor. ",
+					 10.0f * 0.1f / 0.11f, output[1], 1e-3f);
+	}
+	
+	@Test
+	public void testRateIndependence() throws SmoothingFilterException {
+		
+		float[] rates = {25.0f, 50.0f, 100.0f, 200.0f, 400.0f};
+		
+		for(float rate : rates) {
+			
+			float response = step(rate, TIME_CONSTANT);
+			
+			assertEquals("The response after one time constant at " + rate + " Hz. ",
+						 (float) (1.0 - Math.exp(-1.0)), response, 0.05f);
+		}
+		
+		assertEquals(step(50.0f, TIME_CONSTANT), step(200.0f, TIME_CONSTANT), 0.03f);
+		assertEquals(1.0f, step(50.0f, TIME_CONSTANT * 10.0f), 1e-3f);
+	}
+	
+	@Test
+	public void testStaleTimestampHoldsState() throws SmoothingFilterException {
+		
+		LowPassFilter lowPassFilter = new LowPassFilter.Builder().setTimeConstant(TIME_CONSTANT).build();
+		lowPassFilter.filter(new float[] {0.0f, 0.0f, 0.0f}, new float[3], NANOS_PER_SECOND);
+		
+		float[] output = lowPassFilter.filter(new float[] {5.0f, 5.0f, 5.0f}, new float[3], NANOS_PER_SECOND);
+		
+		assertEquals(0.0f, output[0], 0.0f);
+	}
+	
+	@Test
+	public void testReset() throws SmoothingFilterException {
+		
+		LowPassFilter lowPassFilter = new LowPassFilter.Builder().setTimeConstant(TIME_CONSTANT).build();
+		lowPassFilter.filter(new float[] {0.0f, 0.0f, 0.0f}, new float[3], 0L);
+		lowPassFilter.reset();
+		
+		float[] output = lowPassFilter.filter(new float[] {5.0f, 5.0f, 5.0f}, new float[3], NANOS_PER_SECOND);
+		
+		assertEquals("A reset must seed the filter with the next reading. ", 5.0f, output[0], 0.0f);
+	}
+	
+	/**
+	 * <p>Filters a unit step at the given sampling rate.
+	 * 
+	 * @param rate
+	 * 			the sampling rate in readings per second
+	 * 
+	 * @param duration
+	 * 			the duration in seconds for which the step is filtered
+	 * 
+	 * @return the output once the step has been filtered for the given duration
+	 * 
+	 * @throws SmoothingFilterException
+	 * 			if the filter failed
+	 */
+	private static float step(float rate, float duration) throws SmoothingFilterException {
+		
+		LowPassFilter lowPassFilter = new LowPassFilter.Builder().setTimeConstant(TIME_CONSTANT).build();
+		
+		float[] input = new float[] {0.0f, 0.0f, 0.0f};
+		float[] output = new float[3];
+		
+		lowPassFilter.filter(input, output, 0L);
+		
+		input[0] = 1.0f;
+		
+		int samples = Math.round(rate * duration);
+		
+		for(int i = 1; i <= samples; i++) {
+			
+			lowPassFilter.filter(input, output, (long) (i * NANOS_PER_SECOND / rate));
+		}
+		
+		return output[0];
+	}
+}
@@ -0,0 +1,231 @@
+package com.lonepulse.droidballet.test;
+
+/*
+ * #%L
+ * DroidBallet Integration Tests
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.lonepulse.droidballet.filter.OneEuroFilter;
+import com.lonepulse.droidballet.filter.SmoothingFilter;
+import com.lonepulse.droidballet.filter.SmoothingFilterException;
+
+/**
+ * <p>Verifies that a {@link OneEuroFilter} matches the published algorithm, in which the speed
+ * is derived from the raw readings, and that it settles on a step, suppresses the jitter of a
+ * resting reading and follows a deliberate tilt with less lag than its minimum cutoff allows.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class OneEuroFilterTest {
+	
+	
+	/**
+	 * <p>The interval between readings in nanoseconds.
+	 */
+	private static final long PERIOD = 20000000L;
+	
+	/**
+	 * <p>The minimum cutoff frequency of the filters in Hz.
+	 */
+	private static final float MIN_CUTOFF = 0.5f;
+	
+	/**
+	 * <p>The speed coefficient of the filters.
+	 */
+	private static final float BETA = 0.1f;
+	
+	/**
+	 * <p>The speed of a deliberate tilt in units per second.
+	 */
+	private static final float SPEED = 5.0f;
+	
+	
+	@Test
+	public void testMatchesReference() throws SmoothingFilterException {
+		
+		SmoothingFilter smoothingFilter = new OneEuroFilter.Builder().setMinCutoff(MIN_CUTOFF).setBeta(BETA).build();
+		Random random = new Random(25);
+		
+		float[] input = new float[3];
+		float[] output = new float[3];
+		
+		double previous = 0.0, speed = 0.0, expected = 0.0;
+		long timestamp = 0L, previousTimestamp = 0L;
+		
+		for(int i = 0; i < 2000; i++) {
+			
+			timestamp += PERIOD / 2 + (long) (random.nextDouble() * PERIOD);
+			input[0] = (i % 400 < 200)? 0.0f : 8.0f;
+			input[0] += (float) random.nextGaussian() * 0.2f;
+			
+			smoothingFilter.filter(input, output, timestamp);
+			
+			if(i == 0) {
+				
+				expected = previous = input[0];
+			}
+			else {
+				
+				double dt = (timestamp - previousTimestamp) / 1e9;
+				
+				speed += alpha(OneEuroFilter.DEFAULT_DERIVATIVE_CUTOFF, dt) * ((input[0] - previous) / dt - speed);
+				expected += alpha(MIN_CUTOFF + BETA * Math.abs(speed), dt) * (input[0] - expected);
+				previous = input[0];
+			}
+			
+			previousTimestamp = timestamp;
+			
+			assertEquals("Reading " + i + ". ", expected, output[0], 1e-3);
+		}
+	}
+	
+	@Test
+	public void testStepResponse() throws SmoothingFilterException {
+		
+		SmoothingFilter smoothingFilter = new OneEuroFilter.Builder().setMinCutoff(MIN_CUTOFF).setBeta(BETA).build();
+		
+		float[] input = new float[3];
+		float[] output = new float[3];
+		
+		smoothingFilter.filter(input, output, 0L);
+		
+		input[0] = 10.0f;
+		
+		float previous = 0.0f;
+		
+		for(int i = 1; i <= 250; i++) {
+			
+			smoothingFilter.filter(input, output, i * PERIOD);
+			
+			assertTrue("A step must be approached monotonically without overshoot. ",
+					   output[0] >= previous && output[0] <= 10.0f);
+			
+			previous = output[0];
+		}
+		
+		assertEquals("The filter must settle on the step. ", 10.0f, output[0], 0.01f);
+	}
+	
+	@Test
+	public void testRestingJitter() throws SmoothingFilterException {
+		
+		SmoothingFilter smoothingFilter = new OneEuroFilter.Builder().setMinCutoff(MIN_CUTOFF).setBeta(BETA).build();
+		Random random = new Random(1);
+		
+		float[] input = new float[3];
+		float[] output = new float[3];
+		
+		double inputVariance = 0.0, outputVariance = 0.0;
+		int samples = 0;
+		
+		for(int i = 0; i < 5000; i++) {
+			
+			input[1] = 3.0f + (float) random.nextGaussian() * 0.5f;
+			smoothingFilter.filter(input, output, i * PERIOD);
+			
+			if(i >= 500) {
+				
+				inputVariance += (input[1] - 3.0f) * (input[1] - 3.0f);
+				outputVariance += (output[1] - 3.0f) * (output[1] - 3.0f);
+				samples++;
+			}
+		}
+		
+		assertTrue("The jitter of a resting reading must be suppressed. ", outputVariance < inputVariance / 4.0);
+	}
+	
+	@Test
+	public void testTiltReducesLag() throws SmoothingFilterException {
+		
+		float adaptiveLag = rampLag(new OneEuroFilter.Builder().setMinCutoff(MIN_CUTOFF).setBeta(BETA).build());
+		float fixedLag = rampLag(new OneEuroFilter.Builder().setMinCutoff(MIN_CUTOFF).setBeta(0.0f).build());
+		
+		assertEquals("The lag at the minimum cutoff. ",
+					 SPEED / (2.0 * Math.PI * MIN_CUTOFF), fixedLag, 0.05);
+		
+		assertEquals("A deliberate tilt must open the cutoff in proportion to its speed. ",
+					 SPEED / (2.0 * Math.PI * (MIN_CUTOFF + BETA * SPEED)), adaptiveLag, 0.05);
+	}
+	
+	@Test
+	public void testReset() throws SmoothingFilterException {
+		
+		SmoothingFilter smoothingFilter = new OneEuroFilter();
+		
+		float[] output = new float[3];
+		
+		smoothingFilter.filter(new float[] {0.0f, 0.0f, 0.0f}, output, 0L);
+		smoothingFilter.reset();
+		smoothingFilter.filter(new float[] {6.0f, 6.0f, 6.0f}, output, PERIOD);
+		
+		assertEquals("A reset must seed the filter with the next reading. ", 6.0f, output[0], 0.0f);
+	}
+	
+	/**
+	 * <p>Derives the smoothing factor of an exponential filter.
+	 * 
+	 * @param cutoff
+	 * 			the cutoff frequency in Hz
+	 * 
+	 * @param dt
+	 * 			the interval since the previous reading in seconds
+	 * 
+	 * @return the smoothing factor
+	 */
+	private static double alpha(double cutoff, double dt) {
+		
+		double tau = 1.0 / (2.0 * Math.PI * cutoff);
+		
+		return 1.0 / (1.0 + tau / dt);
+	}
+	
+	/**
+	 * <p>Filters a ramp at the {@link #SPEED} of a deliberate tilt for two seconds.
+	 * 
+	 * @param smoothingFilter
+	 * 			the {@link SmoothingFilter} which filters the ramp
+	 * 
+	 * @return the amount by which the output trails the ramp at the end
+	 * 
+	 * @throws SmoothingFilterException
+	 * 			if the filter failed
+	 */
+	private static float rampLag(SmoothingFilter smoothingFilter) throws SmoothingFilterException {
+		
+		float[] input = new float[3];
+		float[] output = new float[3];
+		
+		for(int i = 0; i <= 100; i++) {
+			
+			input[0] = i * SPEED * (PERIOD / 1e9f);
+			smoothingFilter.filter(input, output, i * PERIOD);
+		}
+		
+		return input[0] - output[0];
+	}
+}
@@ -0,0 +1,241 @@
+package com.lonepulse.droidballet.test;
+
+/*
+ * #%L
+ * DroidBallet Integration Tests
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.lonepulse.droidballet.listener.MotionListener;
+import com.lonepulse.droidballet.queue.MotionEventResolutionJob;
+import com.lonepulse.droidballet.queue.QueueController.BACKPRESSURE_POLICY;
+import com.lonepulse.droidballet.queue.RingBufferEventQueue;
+import com.lonepulse.droidballet.registry.MotionListenerReference;
+import com.lonepulse.droidballet.resolver.MotionEventResolver;
+import com.lonepulse.droidballet.sensor.SensorSample;
+import com.lonepulse.droidballet.sensor.SensorSink;
+import com.lonepulse.droidballet.sensor.SyntheticSensorSource;
+
+/**
+ * <p>Stresses a {@link RingBufferEventQueue} with several {@link SyntheticSensorSource}s which
+ * enqueue concurrently, as happens when a sensor is restarted while a callback of its former
+ * thread is still running. Each reading is tagged with its source and sequence, so that every
+ * job can be verified to be either resolved or dropped exactly once.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class RingBufferEventQueueTest {
+	
+	
+	/**
+	 * <p>The number of sources which enqueue concurrently.
+	 */
+	private static final int PRODUCERS = 4;
+	
+	/**
+	 * <p>The number of readings produced by each source.
+	 */
+	private static final int SAMPLES = 50000;
+	
+	/**
+	 * <p>The number of slots in the queue, which is kept small so that
+	 * the backpressure policy is applied frequently.
+	 */
+	private static final int CAPACITY = 16;
+	
+	
+	/**
+	 * <p>A {@link MotionEventResolver} which records the readings it resolves.
+	 * It is only invoked by the single consumer.
+	 */
+	private static final class RecordingResolver implements MotionEventResolver {
+		
+		/**
+		 * <p>The number of times each reading of each source was resolved.
+		 */
+		private final int[][] resolutions;
+		
+		/**
+		 * <p>The last resolved sequence of each source.
+		 */
+		private final int[] lastSequences;
+		
+		/**
+		 * <p>Determines whether the readings of each source were resolved in order.
+		 */
+		private boolean ordered = true;
+		
+		
+		private RecordingResolver(int[][] resolutions) {
+			
+			this.resolutions = resolutions;
+			this.lastSequences = new int[PRODUCERS];
+			
+			for (int i = 0; i < PRODUCERS; i++)
+				lastSequences[i] = -1;
+		}
+		
+		@Override
+		public void resolve(SensorSample sensorSample, MotionListenerReference[] motionListeners) {
+			
+			int producer = (int) sensorSample.getValues()[0];
+			int sequence = (int) sensorSample.getValues()[1];
+			
+			resolutions[producer][sequence]++;
+			
+			if(sequence <= lastSequences[producer])
+				ordered = false;
+			
+			lastSequences[producer] = sequence;
+		}
+		
+		@Override
+		public Class<? extends MotionListener> getMotionListenerClass() {
+			
+			return MotionListener.class;
+		}
+	}
+	
+	
+	@Test(timeout = 60000)
+	public void testDropNewest() throws InterruptedException {
+		
+		stress(BACKPRESSURE_POLICY.DROP_NEWEST, 1);
+	}
+	
+	@Test(timeout = 60000)
+	public void testDropOldest() throws InterruptedException {
+		
+		stress(BACKPRESSURE_POLICY.DROP_OLDEST, 1);
+	}
+	
+	@Test(timeout = 60000)
+	public void testCoalesce() throws InterruptedException {
+		
+		stress(BACKPRESSURE_POLICY.COALESCE, 2);
+	}
+	
+	@Test(timeout = 60000)
+	public void testBlock() throws InterruptedException {
+		
+		stress(BACKPRESSURE_POLICY.BLOCK, 1);
+	}
+	
+	/**
+	 * <p>Runs {@link #PRODUCERS} sources against a single consumer under the given policy and
+	 * verifies that no job is lost or resolved twice, and that the readings of each source
+	 * are resolved in order.
+	 * 
+	 * @param backpressurePolicy
+	 * 			the {@link BACKPRESSURE_POLICY} of the queue
+	 * 
+	 * @param resolverCount
+	 * 			the number of resolvers among which the sources are distributed
+	 */
+	private void stress(BACKPRESSURE_POLICY backpressurePolicy, int resolverCount)
+	throws InterruptedException {
+		
+		final RingBufferEventQueue queue = new RingBufferEventQueue(CAPACITY);
+		queue.setBackpressurePolicy(backpressurePolicy);
+		
+		int[][] resolutions = new int[PRODUCERS][SAMPLES];
+		RecordingResolver[] resolvers = new RecordingResolver[resolverCount];
+		
+		for (int i = 0; i < resolverCount; i++)
+			resolvers[i] = new RecordingResolver(resolutions);
+		
+		SyntheticSensorSource[] sources = new SyntheticSensorSource[PRODUCERS];
+		
+		for (int i = 0; i < PRODUCERS; i++) {
+			
+			final int producer = i;
+			final MotionEventResolver resolver = resolvers[i % resolverCount];
+			
+			sources[i] = new SyntheticSensorSource(0, new SyntheticSensorSource.Generator() {
+				
+				@Override
+				public void generate(long sequence, long timestamp, float[] values) {
+					
+					values[0] = producer;
+					values[1] = sequence;
+					values[2] = 0.0f;
+				}
+			});
+			
+			sources[i].setSampleLimit(SAMPLES);
+			sources[i].start(new SensorSink() {
+				
+				@Override
+				public void onSensorSample(int sensorType, long timestamp, float maximumRange, float[] values) {
+					
+					SensorSample sensorSample = SensorSample.obtain(sensorType, timestamp, maximumRange, values);
+					queue.enqueue(MotionEventResolutionJob.obtain(sensorSample, null, resolver));
+					sensorSample.recycle();
+				}
+			});
+		}
+		
+		boolean producing = true;
+		
+		while(producing) {
+			
+			producing = false;
+			
+			for (SyntheticSensorSource source : sources)
+				producing |= source.getEmittedCount() < SAMPLES;
+			
+			MotionEventResolutionJob merj;
+			
+			//once every reading has been emitted, the final drain empties the queue
+			while((merj = queue.dequeue()) != null) {
+				
+				merj.getMotionEventResolver().resolve(merj.getSensorSample(), merj.getMotionListeners());
+				merj.recycle();
+			}
+			
+			Thread.yield();
+		}
+		
+		for (SyntheticSensorSource source : sources)
+			source.stop();
+		
+		long resolved = 0;
+		
+		for (int producer = 0; producer < PRODUCERS; producer++) {
+			
+			for (int sequence = 0; sequence < SAMPLES; sequence++) {
+				
+				assertTrue("A reading was resolved more than once. ", resolutions[producer][sequence] <= 1);
+				resolved += resolutions[producer][sequence];
+			}
+		}
+		
+		for (RecordingResolver resolver : resolvers)
+			assertTrue("The readings of a source were resolved out of order. ", resolver.ordered);
+		
+		assertEquals("Each job must be either resolved or dropped. ",
+					 (long) PRODUCERS * SAMPLES, resolved + queue.getDroppedCount());
+	}
+}
@@ -0,0 +1,173 @@
+package com.lonepulse.droidballet.test;
+
+/*
+ * #%L
+ * DroidBallet Integration Tests
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.lonepulse.droidballet.filter.KalmanFilter;
+import com.lonepulse.droidballet.filter.LowPassFilter;
+import com.lonepulse.droidballet.filter.OneEuroFilter;
+import com.lonepulse.droidballet.filter.SmoothingFilter;
+import com.lonepulse.droidballet.filter.SmoothingFilterException;
+
+/**
+ * <p>Verifies that the parameters of the {@link SmoothingFilter}s are validated once by their
+ * builders, and that the argument-free {@link SmoothingFilter#filter(float[], float[])} applies
+ * the configured parameters directly to the given arrays.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class SmoothingFilterBuilderTest {
+	
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testLowPassTimeConstant() {
+		
+		new LowPassFilter.Builder().setTimeConstant(0.0f).build();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testLowPassAlpha() {
+		
+		new LowPassFilter.Builder().setAlpha(1.5f).build();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testLowPassNaN() {
+		
+		new LowPassFilter.Builder().setTimeConstant(Float.NaN).build();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testKalmanNoise() {
+		
+		new KalmanFilter.Builder().setMeasurementNoise(-1.0f).build();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testKalmanSamplingInterval() {
+		
+		new KalmanFilter.Builder().setSamplingInterval(0.0f).build();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testOneEuroCutoff() {
+		
+		new OneEuroFilter.Builder().setMinCutoff(0.0f).build();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testOneEuroBeta() {
+		
+		new OneEuroFilter.Builder().setBeta(-0.1f).build();
+	}
+	
+	@Test
+	public void testConfiguredParameters() {
+		
+		LowPassFilter lowPassFilter = new LowPassFilter.Builder().setTimeConstant(0.3f).setAlpha(0.25f).build();
+		
+		assertEquals(0.3f, lowPassFilter.getTimeConstant(), 0.0f);
+		assertEquals(0.25f, lowPassFilter.getAlpha(), 0.0f);
+	}
+	
+	@Test
+	public void testArgumentFreeFilter() throws SmoothingFilterException {
+		
+		SmoothingFilter smoothingFilter = new LowPassFilter.Builder().setAlpha(0.5f).build();
+		
+		float[] output = new float[3];
+		
+		assertTrue("The output must be written to the given array. ",
+				   smoothingFilter.filter(new float[] {0.0f, 0.0f, 0.0f}, output) == output);
+		
+		smoothingFilter.filter(new float[] {8.0f, 4.0f, 0.0f}, output);
+		
+		assertEquals(4.0f, output[0], 0.0f);
+		assertEquals(2.0f, output[1], 0.0f);
+		
+		smoothingFilter.filter(new float[] {8.0f, 4.0f, 0.0f}, output);
+		
+		assertEquals(6.0f, output[0], 0.0f);
+		assertEquals(3.0f, output[1], 0.0f);
+	}
+	
+	@Test
+	public void testArgumentFreeFilterConverges() throws SmoothingFilterException {
+		
+		SmoothingFilter[] smoothingFilters = {
+			new LowPassFilter(), new KalmanFilter(), new OneEuroFilter(),
+			new KalmanFilter.Builder().setConstantVelocity(true).build()};
+		
+		for(SmoothingFilter smoothingFilter : smoothingFilters) {
+			
+			float[] input = new float[] {0.0f, 0.0f, 0.0f};
+			float[] output = new float[3];
+			
+			smoothingFilter.filter(input, output);
+			
+			input[2] = 9.8f;
+			
+			for(int i = 0; i < 500; i++) {
+				
+				smoothingFilter.filter(input, output);
+			}
+			
+			assertEquals(smoothingFilter.getClass().getSimpleName() + " must follow a held reading. ",
+						 9.8f, output[2], 0.01f);
+		}
+	}
+	
+	@Test(expected = SmoothingFilterException.class)
+	public void testMismatchedArrays() throws SmoothingFilterException {
+		
+		new LowPassFilter().filter(new float[3], new float[2]);
+	}
+	
+	@Test(expected = SmoothingFilterException.class)
+	public void testNullInput() throws SmoothingFilterException {
+		
+		new KalmanFilter().filter(null, new float[3], 0L);
+	}
+	
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testDeprecatedArguments() throws SmoothingFilterException {
+		
+		Map<Integer, Object> args = new HashMap<Integer, Object>();
+		args.put(LowPassFilter.ALPHA, 0.5f);
+		
+		float[] output = new float[] {2.0f};
+		
+		new LowPassFilter().filter(new float[] {4.0f}, output, args);
+		
+		assertEquals("The arguments must still be honoured by the deprecated variant. ", 3.0f, output[0], 0.0f);
+	}
+}
@@ -20,18 +20,32 @@ package com.lonepulse.droidballet.core;
  * #L%
  */
 
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import android.content.Context;
 import android.hardware.Sensor;
 import android.hardware.SensorEvent;
 import android.hardware.SensorManager;
+import android.util.Log;
 import android.view.ViewGroup;
 
-import com.lonepulse.droidballet.queue.EventQueue;
+import com.lonepulse.droidballet.core.HiggsFieldConfiguration.INGESTION_MODE;
+import com.lonepulse.droidballet.listener.MotionListener;
+import com.lonepulse.droidballet.queue.MotionEventResolutionJob;
+import com.lonepulse.droidballet.queue.QueueController;
+import com.lonepulse.droidballet.registry.MotionDemandListener;
 import com.lonepulse.droidballet.registry.MotionViewRegistry;
+import com.lonepulse.droidballet.registry.MotionViewRegistry.DISPATCH_STRATEGY;
+import com.lonepulse.droidballet.sensor.AndroidSensorSource;
+import com.lonepulse.droidballet.sensor.SampleRingBuffer;
+import com.lonepulse.droidballet.sensor.SensorFusion;
+import com.lonepulse.droidballet.sensor.SensorSample;
+import com.lonepulse.droidballet.sensor.SensorSource;
 
 /**
  * <p>"<i>The Higgs-Field is a possibly discovered, ubiquitous quantum field 
@@ -41,11 +55,22 @@ import com.lonepulse.droidballet.registry.MotionViewRegistry;
  * can be used by Widgets  and {@link ViewGroup}s to register themselves for changes 
  * in device orientation and respond to the associated motion.</p>
  * 
+ * <p>Sensor readings are obtained from a {@link SensorSource} and handed off according 
+ * to the configured {@link INGESTION_MODE}.</p>
+ * 
+ * <p>While active, the {@link SensorSource} is only started when there is demand for motion 
+ * events as reported by {@link MotionViewRegistry#hasMotionDemand()}. Without any demand 
+ * the sensor is stopped and all consumers park until a {@link MotionListener} is registered. 
+ * When every listener declares a maximum delivery rate, the sensor is sampled at the lowest 
+ * rate which satisfies the highest of them; otherwise the configured sampling period is used. 
+ * Either is shortened if a resolver with listeners demands a faster rate to detect its motion, 
+ * as is the case for gestures.</p>
+ * 
  * @version 1.0.0
  * <br><br>
  * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
  */
-public enum HiggsField implements HiggsMechanism {
+public enum HiggsField implements HiggsMechanism, MotionDemandListener {
 	
 	
 	/**
@@ -54,6 +79,130 @@ public enum HiggsField implements HiggsMechanism {
 	 * @since 1.0.0
 	 */
 	INSTANCE;
+	
+	
+	/**
+	 * <p>A {@link Runnable} which drains the {@link HiggsField#ringBuffer} into a single 
+	 * reusable {@link SensorSample} and resolves each sample on the consumer thread. This 
+	 * is used with {@link INGESTION_MODE#RING_BUFFER}.</p>
+	 * 
+	 * <p>Unless using {@link DISPATCH_STRATEGY#INLINE}, each sample is copied into a pooled 
+	 * {@link SensorSample} before it is handed to the {@link MotionViewRegistry}, since it is 
+	 * retained beyond the drain. The copy returns to its pool once it has been resolved.</p>
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	private static final class INGESTION_CONSUMER implements Runnable {
+		
+		/**
+		 * <p>The {@link SampleRingBuffer} which is drained by this consumer.
+		 */
+		private final SampleRingBuffer ringBuffer;
+		
+		
+		/**
+		 * <p>Creates a consumer for the given {@link SampleRingBuffer}.
+		 * 
+		 * @param ringBuffer
+		 * 			the {@link SampleRingBuffer} to drain
+		 */
+		private INGESTION_CONSUMER(SampleRingBuffer ringBuffer) {
+			
+			this.ringBuffer = ringBuffer;
+		}
+		
+		@Override
+		public void run() {
+			
+			SensorSample sensorSample = new SensorSample();
+			
+			try {
+				
+				while(!Thread.currentThread().isInterrupted()) {
+					
+					if(!ringBuffer.poll(sensorSample)) {
+						
+						ringBuffer.await();
+					}
+					else if(MotionViewRegistry.INSTANCE.getDispatchStrategy() == DISPATCH_STRATEGY.INLINE) {
+						
+						MotionViewRegistry.INSTANCE.resolve(sensorSample);
+					}
+					else {
+						
+						SensorSample pooledSample = SensorSample.obtain();
+						pooledSample.copyFrom(sensorSample);
+						
+						try {
+							
+							MotionViewRegistry.INSTANCE.notify(pooledSample);
+						}
+						finally {
+							
+							pooledSample.recycle();
+						}
+					}
+				}
+			}
+			finally {
+				
+				ringBuffer.clear();
+			}
+		}
+	}
+	
+	/**
+	 * <p>A {@link Runnable} which resolves a single pooled {@link SensorSample} on the 
+	 * producer executor and then recycles it. This is used with {@link INGESTION_MODE#EXECUTOR}. 
+	 * Tasks which are discarded by a shutdown of the executor are {@link #discard()}ed, 
+	 * so that their samples are recycled as well.</p>
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	private static final class INGESTION_TASK implements Runnable {
+		
+		/**
+		 * <p>The pooled {@link SensorSample} which is resolved by this task.
+		 */
+		private final SensorSample sensorSample;
+		
+		
+		/**
+		 * <p>Creates a task for the given {@link SensorSample}.
+		 * 
+		 * @param sensorSample
+		 * 			the pooled {@link SensorSample} to resolve
+		 */
+		private INGESTION_TASK(SensorSample sensorSample) {
+			
+			this.sensorSample = sensorSample;
+		}
+		
+		@Override
+		public void run() {
+			
+			try {
+				
+				MotionViewRegistry.INSTANCE.notify(sensorSample);
+			}
+			finally {
+				
+				sensorSample.recycle();
+			}
+		}
+		
+		/**
+		 * <p>Recycles the {@link SensorSample} of a task which will never be run.
+		 */
+		private void discard() {
+			
+			sensorSample.recycle();
+		}
+	}
 
 	
 	/**
@@ -64,9 +213,50 @@ public enum HiggsField implements HiggsMechanism {
 	
 	/**
 	 * <p>An {@link Executors#newSingleThreadExecutor()} instance which accepts motion event 
-	 * producers for changes in sensor readings fired on {@link #onSensorChanged(SensorEvent)}.
+	 * producers for changes in sensor readings fired on {@link #onSensorSample(int, long, float, float[])}.
+	 */
+	private volatile ExecutorService PRODUCER_EXECUTOR_SERVICE;
+	
+	/**
+	 * <p>The preallocated {@link SampleRingBuffer} into which sensor readings are copied 
+	 * when using {@link INGESTION_MODE#RING_BUFFER}; this is {@code null} otherwise.
+	 */
+	private SampleRingBuffer ringBuffer;
+	
+	/**
+	 * <p>The {@link Thread} which runs the {@link INGESTION_CONSUMER} while the 
+	 * {@link HiggsField} is active in {@link INGESTION_MODE#RING_BUFFER}.
 	 */
-	private ExecutorService PRODUCER_EXECUTOR_SERVICE;
+	private Thread ingestionThread;
+	
+	/**
+	 * <p>The {@link SensorSource} which produces the readings consumed by the {@link HiggsField}.
+	 */
+	private SensorSource sensorSource;
+	
+	/**
+	 * <p>The {@link QueueController} which buffers the {@link MotionEventResolutionJob}s 
+	 * created for each sample when using {@link DISPATCH_STRATEGY#QUEUED}.
+	 */
+	private QueueController queueController;
+	
+	/**
+	 * <p>The {@link SensorFusion} stage which is applied to each reading on the sensor 
+	 * thread, or {@code null} if fusion is disabled.
+	 */
+	private SensorFusion sensorFusion;
+	
+	/**
+	 * <p>The array which receives the estimates of the {@link #sensorFusion}. This is 
+	 * only accessed on the sensor thread.
+	 */
+	private final float[] fusedValues = new float[SensorSample.AXES];
+	
+	/**
+	 * <p>The maximum range of the accelerometer, which is reported along with 
+	 * the estimates of the {@link #sensorFusion}.
+	 */
+	private float fusedRange;
 	
 	/**
 	 * <p>The instance of {@link HIGGS_FIELD_STATE} which indicates the <b>current</b> 
@@ -84,15 +274,23 @@ public enum HiggsField implements HiggsMechanism {
 	private HiggsFieldConfiguration config;
 	
 	/**
-	 * <p>The system {@link SensorManager} which can be used to manage all the 
-	 * <b>motion sensors</b>.
+	 * <p>A lock which guards the starting and stopping of the {@link #sensorSource}. This is 
+	 * separate from the lock on {@link HiggsField#INSTANCE}, since demand may change on a 
+	 * thread which is awaited by {@link #activate()}.
 	 */
-	private SensorManager sensorManager;
+	private final Object ENGAGEMENT_LOCK = new Object();
 	
 	/**
-	 * <p>The <i>default</i> instance of the <b>Accelerometer</b> found on the device.
+	 * <p>Indicates whether the {@link #sensorSource} is currently started. 
+	 * This is guarded by the {@link #ENGAGEMENT_LOCK}.
 	 */
-	private Sensor accelerometer;
+	private boolean engaged;
+	
+	/**
+	 * <p>The sampling period which was last applied to the {@link #sensorSource}. 
+	 * This is guarded by the {@link #ENGAGEMENT_LOCK}.
+	 */
+	private int samplingPeriod;
 	
 	
 	/**
@@ -125,11 +323,41 @@ public enum HiggsField implements HiggsMechanism {
 		if(!initialized.get()) {
 		
 			this.config = config;
+			this.sensorSource = config.getSensorSource();
+			this.sensorFusion = config.getSensorFusion();
+			this.samplingPeriod = config.getSamplingPeriod();
+			
+			if(this.sensorSource == null) {
 	
-			Context context = this.config.getApplication();
+				Context context = this.config.getApplication();
+				SensorManager sensorManager = (SensorManager) context.getSystemService(Context.SENSOR_SERVICE);
+				
+				SensorType[] sensorTypes = (sensorFusion == null)? 
+						new SensorType[] {SensorType.ACCELEROMETER} : sensorFusion.getSensorTypes();
+				
+				this.sensorSource = new AndroidSensorSource(sensorManager, sensorTypes, 
+															config.getSamplingPeriod(), 
+															config.isDedicatedSensorThread());
+			}
 			
-			this.sensorManager = (SensorManager) context.getSystemService(Context.SENSOR_SERVICE);
-			this.accelerometer = sensorManager.getDefaultSensor(Sensor.TYPE_ACCELEROMETER);
+			if(config.getIngestionMode() == INGESTION_MODE.RING_BUFFER)
+				this.ringBuffer = new SampleRingBuffer(config.getRingBufferCapacity());
+			
+			this.queueController = config.getQueueController();
+			this.queueController.setBackpressurePolicy(config.getBackpressurePolicy());
+			this.queueController.setBlockTimeout(config.getBlockTimeout());
+			
+			MotionViewRegistry.INSTANCE.setQueueController(queueController);
+			MotionViewRegistry.INSTANCE.setDispatchStrategy(config.getDispatchStrategy());
+			MotionViewRegistry.INSTANCE.setDirectionHysteresis(config.getDirectionHysteresis());
+			MotionViewRegistry.INSTANCE.setAutoCalibration(config.isAutoCalibration());
+			
+			if(config.getSmoothingFilter() != null)
+				MotionViewRegistry.INSTANCE.setSmoothingFilter(config.getSmoothingFilter());
+			
+			else MotionViewRegistry.INSTANCE.setSmoothingTimeConstant(config.getSmoothingTimeConstant());
+			
+			MotionViewRegistry.INSTANCE.setMotionDemandListener(this);
 			
 			initialized.set(true);
 		}
@@ -148,9 +376,22 @@ public enum HiggsField implements HiggsMechanism {
 			
 			setState(HIGGS_FIELD_STATE.ACTIVE);
 			
-			PRODUCER_EXECUTOR_SERVICE = Executors.newSingleThreadExecutor();
-			sensorManager.registerListener(this, accelerometer, SensorManager.SENSOR_DELAY_NORMAL);
-			EventQueue.INSTANCE.startConsuming();
+			if(ringBuffer != null) {
+				
+				awaitIngestionThread();
+				
+				ingestionThread = new Thread(new INGESTION_CONSUMER(ringBuffer), "DroidBallet-Ingestion");
+				ingestionThread.start();
+			}
+			else if(config.getIngestionMode() == INGESTION_MODE.EXECUTOR) {
+				
+				PRODUCER_EXECUTOR_SERVICE = Executors.newSingleThreadExecutor();
+			}
+			
+			if(config.getDispatchStrategy() == DISPATCH_STRATEGY.QUEUED)
+				queueController.startConsuming();
+			
+			updateEngagement();
 		}
 	}
 	
@@ -167,45 +408,286 @@ public enum HiggsField implements HiggsMechanism {
 		
 			setState(HIGGS_FIELD_STATE.INACTIVE);
 			
-			sensorManager.unregisterListener(this);
-			PRODUCER_EXECUTOR_SERVICE.shutdownNow();
-			EventQueue.INSTANCE.stopConsuming();
+			updateEngagement();
+			
+			if(ringBuffer != null) {
+				
+				ingestionThread.interrupt();
+			}
+			else if(PRODUCER_EXECUTOR_SERVICE != null) {
+				
+				List<Runnable> discardedTasks = PRODUCER_EXECUTOR_SERVICE.shutdownNow();
+				PRODUCER_EXECUTOR_SERVICE = null;
+				
+				for (Runnable discardedTask : discardedTasks) {
+					
+					if(discardedTask instanceof INGESTION_TASK)
+						((INGESTION_TASK) discardedTask).discard();
+				}
+			}
+			
+			queueController.stopConsuming();
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>Starts or stops the {@link SensorSource} if the {@link HiggsField} is active, 
+	 * and adjusts its sampling period to the maximum delivery rate.</p>
+	 */
+	@Override
+	public void onMotionDemandChanged(boolean demanded) {
+		
+		updateEngagement();
+	}
+	
+	/**
+	 * <p>Starts the {@link #sensorSource} if the {@link HiggsField} is active and there is 
+	 * demand for motion events, else stops it. Consumers are left running, since they 
+	 * park without a timeout once the sensor stops producing readings and are only woken 
+	 * by the first reading after the sensor is restarted.
+	 */
+	private void updateEngagement() {
+		
+		synchronized (ENGAGEMENT_LOCK) {
+			
+			boolean engage = state == HIGGS_FIELD_STATE.ACTIVE 
+					&& MotionViewRegistry.INSTANCE.hasMotionDemand();
+			
+			if(engage) {
+				
+				int demandedPeriod = getDemandedSamplingPeriod();
+				
+				if(demandedPeriod != samplingPeriod) {
+					
+					samplingPeriod = demandedPeriod;
+					sensorSource.setSamplingPeriod(demandedPeriod);
+				}
+			}
+			
+			if(engage == engaged) return;
+			
+			engaged = engage;
+			
+			if(engage) {
+				
+				if(sensorFusion != null)
+					sensorFusion.reset();
+				
+				sensorSource.start(this);
+			}
+			else {
+				
+				sensorSource.stop();
+			}
+		}
+	}
+	
+	/**
+	 * <p>Determines the longest sampling period which still satisfies the maximum delivery 
+	 * rate reported by {@link MotionViewRegistry#getMaxDeliveryRate()}. The configured 
+	 * sampling period is used if any listener is unlimited. Either is shortened to satisfy 
+	 * the rate reported by {@link MotionViewRegistry#getMinSamplingRate()}.
+	 * 
+	 * @return one of the {@code SENSOR_DELAY_*} constants or a period in microseconds
+	 */
+	private int getDemandedSamplingPeriod() {
+		
+		int maxRate = MotionViewRegistry.INSTANCE.getMaxDeliveryRate();
+		int minSamplingRate = MotionViewRegistry.INSTANCE.getMinSamplingRate();
+		
+		int demandedPeriod = (maxRate == MotionListener.RATE_UNLIMITED)? 
+				config.getSamplingPeriod() : toSamplingPeriod(maxRate);
+		
+		if(minSamplingRate > 0) {
+			
+			int requiredPeriod = toSamplingPeriod(minSamplingRate);
+			
+			if(toMicros(demandedPeriod) > toMicros(requiredPeriod))
+				demandedPeriod = requiredPeriod;
+		}
+		
+		return demandedPeriod;
+	}
+	
+	/**
+	 * <p>Converts a rate into the sampling period which produces it.
+	 * 
+	 * @param rate
+	 * 			the rate in readings per second
+	 * 
+	 * @return a period in microseconds, or {@link SensorManager#SENSOR_DELAY_FASTEST} 
+	 * 		   if the period would be mistaken for one of the {@code SENSOR_DELAY_*} constants
+	 */
+	private static int toSamplingPeriod(int rate) {
+		
+		int samplingPeriod = (int)(TimeUnit.SECONDS.toMicros(1) / rate);
+		
+		return (samplingPeriod > SensorManager.SENSOR_DELAY_NORMAL)? //clear of the constants
+				samplingPeriod : SensorManager.SENSOR_DELAY_FASTEST;
+	}
+	
+	/**
+	 * <p>Converts a sampling period into microseconds, using the nominal period of 
+	 * each of the {@code SENSOR_DELAY_*} constants.
+	 * 
+	 * @param samplingPeriod
+	 * 			one of the {@code SENSOR_DELAY_*} constants or a period in microseconds
+	 * 
+	 * @return the period in microseconds
+	 */
+	private static int toMicros(int samplingPeriod) {
+		
+		switch (samplingPeriod) {
+			
+			case SensorManager.SENSOR_DELAY_FASTEST:
+				
+				return 0;
+			
+			case SensorManager.SENSOR_DELAY_GAME:
+				
+				return 20000;
+			
+			case SensorManager.SENSOR_DELAY_UI:
+				
+				return 66667;
+			
+			case SensorManager.SENSOR_DELAY_NORMAL:
+				
+				return 200000;
+			
+			default:
+				
+				return samplingPeriod;
+		}
+	}
+	
+	/**
+	 * <p>Waits for an {@link #ingestionThread} which was interrupted on a prior 
+	 * {@link #deactivate()} to finish resolving its current sample, so that the 
+	 * {@link #ringBuffer} is never drained by more than one consumer.
+	 */
+	private void awaitIngestionThread() {
+		
+		if(ingestionThread != null) {
+			
+			try {
+				
+				ingestionThread.join();
+			}
+			catch (InterruptedException ie) {
+				
+				Log.w(getClass().getSimpleName(), ie);
+				Thread.currentThread().interrupt();
+			}
 		}
 	}
 	
 	/**
 	 * {@inheritDoc}
+	 * 
+	 * <p>The reading is handed off as if it were produced by the {@link SensorSource}.</p>
 	 */
 	@Override
 	public void onSensorChanged(final SensorEvent sensorEvent) {
+		
+		Sensor sensor = sensorEvent.sensor;
+		onSensorSample(sensor.getType(), sensorEvent.timestamp, sensor.getMaximumRange(), sensorEvent.values);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>If a {@link SensorFusion} stage is configured, its estimate is forwarded as a 
+	 * reading of type {@link Sensor#TYPE_GRAVITY}, which is preferred for detecting tilt. 
+	 * The raw accelerometer readings are forwarded as well, since gestures are recognized 
+	 * from the linear acceleration which fusion filters out.</p>
+	 */
+	@Override
+	public void onSensorSample(int sensorType, long timestamp, float maximumRange, float[] values) {
 
 		if(getState().equals(HIGGS_FIELD_STATE.INACTIVE)) return;
 		
-		PRODUCER_EXECUTOR_SERVICE.submit(new Runnable() {
+		if(sensorFusion != null) {
+			
+			boolean accelerometer = (sensorType == Sensor.TYPE_ACCELEROMETER);
+			
+			if(accelerometer)
+				fusedRange = maximumRange;
+			
+			if(sensorFusion.fuse(sensorType, timestamp, values, fusedValues))
+				ingest(Sensor.TYPE_GRAVITY, timestamp, fusedRange, fusedValues);
 			
-			@Override
-			public void run() {
+			if(accelerometer)
+				ingest(sensorType, timestamp, maximumRange, values);
+			
+			return;
+		}
+		
+		ingest(sensorType, timestamp, maximumRange, values);
+	}
+	
+	/**
+	 * <p>Hands off a single reading to be resolved according to the configured 
+	 * {@link INGESTION_MODE}. The given values are copied.</p>
+	 * 
+	 * @param sensorType
+	 * 			the type of the sensor which produced the reading
+	 * 
+	 * @param timestamp
+	 * 			the time in nanoseconds at which the reading was taken
+	 * 
+	 * @param maximumRange
+	 * 			the maximum range of the sensor
+	 * 
+	 * @param values
+	 * 			the axis values of the reading
+	 */
+	private void ingest(int sensorType, long timestamp, float maximumRange, float[] values) {
+		
+		if(ringBuffer != null) {
+			
+			ringBuffer.offer(sensorType, timestamp, maximumRange, values);
+			return;
+		}
+		
+		SensorSample sensorSample = SensorSample.obtain(sensorType, timestamp, maximumRange, values);
+		
+		if(config.getIngestionMode() == INGESTION_MODE.DIRECT) {
+			
+			try {
 				
-				boolean aquired = EventQueue.CONSUMER_LOCK.tryLock();
+				MotionViewRegistry.INSTANCE.notify(sensorSample);
+			}
+			finally {
 				
-				if(aquired) {
-					
-					try {
-						
-						MotionViewRegistry.INSTANCE.notify(sensorEvent);
-						EventQueue.ENQUEUED.signal();
-					}
-					finally {
-						
-						EventQueue.CONSUMER_LOCK.unlock();
-					}
-				}
-				else {
-					
-					MotionViewRegistry.INSTANCE.notify(sensorEvent);
-				}
+				sensorSample.recycle();
 			}
-		});
+			
+			return;
+		}
+		
+		ExecutorService producerExecutorService = PRODUCER_EXECUTOR_SERVICE;
+		
+		if(producerExecutorService == null) {
+			
+			sensorSample.recycle();
+			return;
+		}
+		
+		INGESTION_TASK ingestionTask = new INGESTION_TASK(sensorSample);
+		
+		try {
+			
+			//executed rather than submitted, so that a shutdown returns the task itself
+			producerExecutorService.execute(ingestionTask);
+		}
+		catch (RejectedExecutionException ree) {
+			
+			//the executor was shut down by a concurrent deactivation
+			ingestionTask.discard();
+		}
 	}
 	
 	/**
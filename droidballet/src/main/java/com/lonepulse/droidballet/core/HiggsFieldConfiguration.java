@@ -22,6 +22,30 @@ package com.lonepulse.droidballet.core;
 
 import android.app.Application;
 import android.content.Context;
+import android.hardware.SensorEvent;
+import android.hardware.SensorManager;
+import android.os.HandlerThread;
+
+import com.lonepulse.droidballet.detector.BaselineCalibrator;
+import com.lonepulse.droidballet.detector.DirectionHysteresis;
+import com.lonepulse.droidballet.detector.DirectionHysteresis.TRIGGER_MODE;
+import com.lonepulse.droidballet.filter.FilterChain;
+import com.lonepulse.droidballet.filter.LowPassFilter;
+import com.lonepulse.droidballet.filter.OneEuroFilter;
+import com.lonepulse.droidballet.filter.SmoothingFilter;
+import com.lonepulse.droidballet.queue.EventQueue;
+import com.lonepulse.droidballet.queue.MotionEventResolutionJob;
+import com.lonepulse.droidballet.queue.QueueController;
+import com.lonepulse.droidballet.queue.QueueController.BACKPRESSURE_POLICY;
+import com.lonepulse.droidballet.queue.RingBufferEventQueue;
+import com.lonepulse.droidballet.registry.MotionViewRegistry;
+import com.lonepulse.droidballet.registry.MotionViewRegistry.DISPATCH_STRATEGY;
+import com.lonepulse.droidballet.sensor.AndroidSensorSource;
+import com.lonepulse.droidballet.sensor.ComplementaryFusion;
+import com.lonepulse.droidballet.sensor.SampleRingBuffer;
+import com.lonepulse.droidballet.sensor.SensorFusion;
+import com.lonepulse.droidballet.sensor.SensorSource;
+import com.lonepulse.droidballet.sensor.SyntheticSensorSource;
 
 /**
  * <p>Contains all the information and tools which can be used to establish 
@@ -34,6 +58,44 @@ import android.content.Context;
  * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
  */
 public class HiggsFieldConfiguration {
+	
+	/**
+	 * <p>Identifies the strategy used by the {@link HiggsField} to ingest the 
+	 * readings delivered by the motion sensors.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static enum INGESTION_MODE {
+		
+		/**
+		 * <p>Each {@link SensorEvent} is submitted as a task to a single-threaded 
+		 * executor which notifies the motion views.
+		 * 
+		 * @since 1.1.0
+		 */
+		EXECUTOR,
+		
+		/**
+		 * <p>Each {@link SensorEvent} is handed to the {@link MotionViewRegistry} on the 
+		 * sensor thread itself. Combined with {@link DISPATCH_STRATEGY#INLINE}, readings 
+		 * are resolved without any hand-off between threads.
+		 * 
+		 * @since 1.1.0
+		 */
+		DIRECT,
+		
+		/**
+		 * <p>Each {@link SensorEvent} is copied into a preallocated {@link SampleRingBuffer} 
+		 * which is drained by a single consumer thread. The sensor callback performs 
+		 * no allocations in the steady state.
+		 * 
+		 * @since 1.1.0
+		 */
+		RING_BUFFER;
+	}
+	
 
 	/**
 	 * <p>A <b>builder</b> which can be used to create a custom 
@@ -52,6 +114,76 @@ public class HiggsFieldConfiguration {
 		 */
 		private Application application;
 		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#ingestionMode}.
+		 */
+		private INGESTION_MODE ingestionMode = INGESTION_MODE.EXECUTOR;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#ringBufferCapacity}.
+		 */
+		private int ringBufferCapacity = SampleRingBuffer.DEFAULT_CAPACITY;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#samplingPeriod}.
+		 */
+		private int samplingPeriod = SensorManager.SENSOR_DELAY_NORMAL;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#dedicatedSensorThread}.
+		 */
+		private boolean dedicatedSensorThread = false;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#sensorSource}.
+		 */
+		private SensorSource sensorSource;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#sensorFusion}.
+		 */
+		private SensorFusion sensorFusion;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#dispatchStrategy}.
+		 */
+		private DISPATCH_STRATEGY dispatchStrategy = DISPATCH_STRATEGY.QUEUED;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#backpressurePolicy}.
+		 */
+		private BACKPRESSURE_POLICY backpressurePolicy = BACKPRESSURE_POLICY.DROP_NEWEST;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#blockTimeout}.
+		 */
+		private long blockTimeout = QueueController.DEFAULT_BLOCK_TIMEOUT;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#queueController}.
+		 */
+		private QueueController queueController = EventQueue.INSTANCE;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#directionHysteresis}.
+		 */
+		private DirectionHysteresis directionHysteresis = DirectionHysteresis.DEFAULT;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#autoCalibration}.
+		 */
+		private boolean autoCalibration = false;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#smoothingTimeConstant}.
+		 */
+		private float smoothingTimeConstant = LowPassFilter.DEFAULT_TIME_CONSTANT;
+		
+		/**
+		 * <p>See {@link HiggsFieldConfiguration#smoothingFilter}.
+		 */
+		private SmoothingFilter smoothingFilter;
+		
 		
 		/**
 		 * <p>Takes a mandatory parameter - any extension of {@link Application} 
@@ -65,6 +197,269 @@ public class HiggsFieldConfiguration {
 			this.application = application;
 		}
 		
+		/**
+		 * <p>Sets the {@link INGESTION_MODE} used by the {@link HiggsField}. 
+		 * Defaults to {@link INGESTION_MODE#EXECUTOR}.
+		 * 
+		 * @param ingestionMode
+		 * 			the {@link INGESTION_MODE} to use; <b>cannot be null</b>
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setIngestionMode(INGESTION_MODE ingestionMode) {
+			
+			this.ingestionMode = ingestionMode;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the minimum number of readings which can be buffered when using 
+		 * {@link INGESTION_MODE#RING_BUFFER}. The capacity is rounded up to the next 
+		 * power of two. Defaults to {@link SampleRingBuffer#DEFAULT_CAPACITY}.
+		 * 
+		 * @param ringBufferCapacity
+		 * 			the minimum capacity of the ring buffer; must be greater than zero
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setRingBufferCapacity(int ringBufferCapacity) {
+			
+			this.ringBufferCapacity = ringBufferCapacity;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the rate at which readings are delivered by the motion sensors. This 
+		 * can be one of {@link SensorManager#SENSOR_DELAY_NORMAL}, {@link SensorManager#SENSOR_DELAY_UI}, 
+		 * {@link SensorManager#SENSOR_DELAY_GAME} or {@link SensorManager#SENSOR_DELAY_FASTEST}, or 
+		 * else the desired delay between readings in <b>microseconds</b>. Defaults to 
+		 * {@link SensorManager#SENSOR_DELAY_NORMAL}.</p>
+		 * 
+		 * <p>Note that a delay in microseconds is only a hint to the system; readings may 
+		 * be delivered faster or slower than requested.</p>
+		 * 
+		 * @param samplingPeriod
+		 * 			one of the {@code SENSOR_DELAY_*} constants or a period in microseconds
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setSamplingPeriod(int samplingPeriod) {
+			
+			this.samplingPeriod = samplingPeriod;
+			return this;
+		}
+		
+		/**
+		 * <p>Determines whether sensor callbacks should be delivered on a dedicated 
+		 * {@link HandlerThread} rather than on the main looper. Defaults to {@code false}.
+		 * 
+		 * @param dedicatedSensorThread
+		 * 			{@code true} to deliver sensor callbacks on a dedicated thread
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setDedicatedSensorThread(boolean dedicatedSensorThread) {
+			
+			this.dedicatedSensorThread = dedicatedSensorThread;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets a custom {@link SensorSource} from which the {@link HiggsField} obtains 
+		 * its readings, such as a {@link SyntheticSensorSource}. When a custom source is 
+		 * given, the {@link Application} is not used to look up the sensor service and the 
+		 * sampling period and sensor thread settings are ignored. Defaults to an 
+		 * {@link AndroidSensorSource} for the accelerometer.
+		 * 
+		 * @param sensorSource
+		 * 			the {@link SensorSource} to use, or {@code null} for the default
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setSensorSource(SensorSource sensorSource) {
+			
+			this.sensorSource = sensorSource;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets a {@link SensorFusion} stage, such as a {@link ComplementaryFusion}, which 
+		 * combines the readings of several motion sensors into a single estimate of the gravity 
+		 * vector before they are resolved. When using the default {@link AndroidSensorSource}, 
+		 * the sensors required by the fusion stage are registered in place of the accelerometer. 
+		 * The raw accelerometer readings are still used to recognize gestures, provided that the 
+		 * fusion stage consumes them. Defaults to {@code null}, which disables sensor fusion.
+		 * 
+		 * @param sensorFusion
+		 * 			the {@link SensorFusion} to use, or {@code null} to disable fusion
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setSensorFusion(SensorFusion sensorFusion) {
+			
+			this.sensorFusion = sensorFusion;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the {@link DISPATCH_STRATEGY} which determines the thread on which 
+		 * each sample is resolved and dispatched to the motion views. Each sample is 
+		 * resolved exactly once. Defaults to {@link DISPATCH_STRATEGY#QUEUED}.
+		 * 
+		 * @param dispatchStrategy
+		 * 			the {@link DISPATCH_STRATEGY} to use; <b>cannot be null</b>
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setDispatchStrategy(DISPATCH_STRATEGY dispatchStrategy) {
+			
+			this.dispatchStrategy = dispatchStrategy;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the {@link BACKPRESSURE_POLICY} which the {@link QueueController} applies 
+		 * when {@link MotionEventResolutionJob}s arrive faster than they are resolved. 
+		 * Defaults to {@link BACKPRESSURE_POLICY#DROP_NEWEST}.
+		 * 
+		 * @param backpressurePolicy
+		 * 			the {@link BACKPRESSURE_POLICY} to apply; <b>cannot be null</b>
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setBackpressurePolicy(BACKPRESSURE_POLICY backpressurePolicy) {
+			
+			this.backpressurePolicy = backpressurePolicy;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the maximum duration for which a producer is blocked on a full queue 
+		 * when using {@link BACKPRESSURE_POLICY#BLOCK}. Defaults to 
+		 * {@link QueueController#DEFAULT_BLOCK_TIMEOUT}.
+		 * 
+		 * @param blockTimeout
+		 * 			the timeout in milliseconds, after which the job is discarded
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setBlockTimeout(long blockTimeout) {
+			
+			this.blockTimeout = blockTimeout;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the {@link QueueController} which buffers {@link MotionEventResolutionJob}s 
+		 * when using {@link DISPATCH_STRATEGY#QUEUED}. A {@link RingBufferEventQueue} hands 
+		 * off jobs without acquiring a lock. Defaults to the {@link EventQueue}.
+		 * 
+		 * @param queueController
+		 * 			the {@link QueueController} to use; <b>cannot be null</b>
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setQueueController(QueueController queueController) {
+			
+			this.queueController = queueController;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the {@link DirectionHysteresis} which determines how the motion detectors 
+		 * classify readings into directions and when they emit events. A dead-band or 
+		 * {@link TRIGGER_MODE#EDGE} suppresses bursts of events near the resting range. 
+		 * Defaults to {@link DirectionHysteresis#DEFAULT}.
+		 * 
+		 * @param directionHysteresis
+		 * 			the {@link DirectionHysteresis} to use; <b>cannot be null</b>
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setDirectionHysteresis(DirectionHysteresis directionHysteresis) {
+			
+			this.directionHysteresis = directionHysteresis;
+			return this;
+		}
+		
+		/**
+		 * <p>Determines whether the motion detectors calibrate the neutral orientation of 
+		 * the device online using a {@link BaselineCalibrator}, instead of assuming the 
+		 * midpoint of the sensor range. Defaults to {@code false}.
+		 * 
+		 * @param autoCalibration
+		 * 			{@code true} to calibrate the neutral orientation
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setAutoCalibration(boolean autoCalibration) {
+			
+			this.autoCalibration = autoCalibration;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the time constant of the {@link LowPassFilter} which the motion detectors 
+		 * use to smooth the accelerometer stream. The smoothing of each reading is derived 
+		 * from this and the interval since the previous reading, hence it is consistent 
+		 * across sampling periods. Defaults to {@link LowPassFilter#DEFAULT_TIME_CONSTANT}.
+		 * 
+		 * @param smoothingTimeConstant
+		 * 			the time constant in seconds; must be greater than zero
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setSmoothingTimeConstant(float smoothingTimeConstant) {
+			
+			this.smoothingTimeConstant = smoothingTimeConstant;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the {@link SmoothingFilter}, such as a {@link OneEuroFilter} or a 
+		 * {@link FilterChain}, which the motion detectors use to smooth the accelerometer stream. 
+		 * This replaces the {@link LowPassFilter} of the {@link #setSmoothingTimeConstant(float)}. 
+		 * Defaults to {@code null}.
+		 * 
+		 * @param smoothingFilter
+		 * 			the {@link SmoothingFilter} to use, or {@code null} for a {@link LowPassFilter}
+		 * 
+		 * @return this instance of {@link HiggsFieldConfiguration.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setSmoothingFilter(SmoothingFilter smoothingFilter) {
+			
+			this.smoothingFilter = smoothingFilter;
+			return this;
+		}
+		
 		/**
 		 * <p>Creates an instance of {@link HiggsFieldConfiguration} to reflect the 
 		 * properties set in this instance of {@link HiggsFieldConfiguration.Builder}.
@@ -86,6 +481,119 @@ public class HiggsFieldConfiguration {
 	 */
 	private final Application application;
 	
+	/**
+	 * <p>The {@link INGESTION_MODE} which determines how sensor readings 
+	 * are handed off from the sensor callback.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final INGESTION_MODE ingestionMode;
+	
+	/**
+	 * <p>The minimum capacity of the {@link SampleRingBuffer} used with 
+	 * {@link INGESTION_MODE#RING_BUFFER}.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final int ringBufferCapacity;
+	
+	/**
+	 * <p>The rate at which readings are delivered by the motion sensors; this 
+	 * is either one of the {@code SENSOR_DELAY_*} constants in {@link SensorManager} 
+	 * or a period in microseconds.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final int samplingPeriod;
+	
+	/**
+	 * <p>Determines whether sensor callbacks are delivered on a dedicated 
+	 * {@link HandlerThread} instead of the main looper.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final boolean dedicatedSensorThread;
+	
+	/**
+	 * <p>A custom {@link SensorSource} from which the {@link HiggsField} obtains 
+	 * its readings, or {@code null} if the default {@link AndroidSensorSource} 
+	 * should be used.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final SensorSource sensorSource;
+	
+	/**
+	 * <p>The {@link SensorFusion} stage which is applied to readings before 
+	 * they are resolved, or {@code null} if fusion is disabled.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final SensorFusion sensorFusion;
+	
+	/**
+	 * <p>The {@link DISPATCH_STRATEGY} which determines the thread 
+	 * on which samples are resolved.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final DISPATCH_STRATEGY dispatchStrategy;
+	
+	/**
+	 * <p>The {@link BACKPRESSURE_POLICY} which is applied by the 
+	 * {@link QueueController} when it is full.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final BACKPRESSURE_POLICY backpressurePolicy;
+	
+	/**
+	 * <p>The maximum duration in milliseconds for which a producer is 
+	 * blocked when using {@link BACKPRESSURE_POLICY#BLOCK}.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final long blockTimeout;
+	
+	/**
+	 * <p>The {@link QueueController} which buffers {@link MotionEventResolutionJob}s.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final QueueController queueController;
+	
+	/**
+	 * <p>The {@link DirectionHysteresis} which is applied by the motion detectors.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final DirectionHysteresis directionHysteresis;
+	
+	/**
+	 * <p>Determines whether the motion detectors calibrate the neutral 
+	 * orientation of the device online.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final boolean autoCalibration;
+	
+	/**
+	 * <p>The time constant in seconds with which the motion detectors 
+	 * smooth the accelerometer stream.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final float smoothingTimeConstant;
+	
+	/**
+	 * <p>The {@link SmoothingFilter} with which the motion detectors smooth the 
+	 * accelerometer stream, or {@code null} if a {@link LowPassFilter} of the 
+	 * {@link #smoothingTimeConstant} is used.
+	 * 
+	 * @since 1.1.0
+	 */
+	private final SmoothingFilter smoothingFilter;
+	
 	
 	/**
 	 * <p>Accessor for {@link #application}.
@@ -97,6 +605,174 @@ public class HiggsFieldConfiguration {
 		return application;
 	}
 	
+	/**
+	 * <p>Accessor for {@link #ingestionMode}.
+	 * 
+	 * @return {@link #ingestionMode}
+	 * 
+	 * @since 1.1.0
+	 */
+	public INGESTION_MODE getIngestionMode() {
+		
+		return ingestionMode;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #ringBufferCapacity}.
+	 * 
+	 * @return {@link #ringBufferCapacity}
+	 * 
+	 * @since 1.1.0
+	 */
+	public int getRingBufferCapacity() {
+		
+		return ringBufferCapacity;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #samplingPeriod}.
+	 * 
+	 * @return {@link #samplingPeriod}
+	 * 
+	 * @since 1.1.0
+	 */
+	public int getSamplingPeriod() {
+		
+		return samplingPeriod;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #dedicatedSensorThread}.
+	 * 
+	 * @return {@link #dedicatedSensorThread}
+	 * 
+	 * @since 1.1.0
+	 */
+	public boolean isDedicatedSensorThread() {
+		
+		return dedicatedSensorThread;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #sensorSource}.
+	 * 
+	 * @return {@link #sensorSource}
+	 * 
+	 * @since 1.1.0
+	 */
+	public SensorSource getSensorSource() {
+		
+		return sensorSource;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #sensorFusion}.
+	 * 
+	 * @return {@link #sensorFusion}
+	 * 
+	 * @since 1.1.0
+	 */
+	public SensorFusion getSensorFusion() {
+		
+		return sensorFusion;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #dispatchStrategy}.
+	 * 
+	 * @return {@link #dispatchStrategy}
+	 * 
+	 * @since 1.1.0
+	 */
+	public DISPATCH_STRATEGY getDispatchStrategy() {
+		
+		return dispatchStrategy;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #backpressurePolicy}.
+	 * 
+	 * @return {@link #backpressurePolicy}
+	 * 
+	 * @since 1.1.0
+	 */
+	public BACKPRESSURE_POLICY getBackpressurePolicy() {
+		
+		return backpressurePolicy;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #blockTimeout}.
+	 * 
+	 * @return {@link #blockTimeout}
+	 * 
+	 * @since 1.1.0
+	 */
+	public long getBlockTimeout() {
+		
+		return blockTimeout;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #queueController}.
+	 * 
+	 * @return {@link #queueController}
+	 * 
+	 * @since 1.1.0
+	 */
+	public QueueController getQueueController() {
+		
+		return queueController;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #directionHysteresis}.
+	 * 
+	 * @return {@link #directionHysteresis}
+	 * 
+	 * @since 1.1.0
+	 */
+	public DirectionHysteresis getDirectionHysteresis() {
+		
+		return directionHysteresis;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #autoCalibration}.
+	 * 
+	 * @return {@link #autoCalibration}
+	 * 
+	 * @since 1.1.0
+	 */
+	public boolean isAutoCalibration() {
+		
+		return autoCalibration;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #smoothingTimeConstant}.
+	 * 
+	 * @return {@link #smoothingTimeConstant}
+	 * 
+	 * @since 1.1.0
+	 */
+	public float getSmoothingTimeConstant() {
+		
+		return smoothingTimeConstant;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #smoothingFilter}.
+	 * 
+	 * @return {@link #smoothingFilter}, which may be {@code null}
+	 * 
+	 * @since 1.1.0
+	 */
+	public SmoothingFilter getSmoothingFilter() {
+		
+		return smoothingFilter;
+	}
+	
 	/**
 	 * <p>Creates an instance of {@link HiggsFieldConfiguration} using the supplied 
 	 * {@link HiggsFieldConfiguration.Builder}.
@@ -107,5 +783,19 @@ public class HiggsFieldConfiguration {
 	private HiggsFieldConfiguration(HiggsFieldConfiguration.Builder builder) {
 		
 		this.application = builder.application;
+		this.ingestionMode = builder.ingestionMode;
+		this.ringBufferCapacity = builder.ringBufferCapacity;
+		this.samplingPeriod = builder.samplingPeriod;
+		this.dedicatedSensorThread = builder.dedicatedSensorThread;
+		this.sensorSource = builder.sensorSource;
+		this.sensorFusion = builder.sensorFusion;
+		this.dispatchStrategy = builder.dispatchStrategy;
+		this.backpressurePolicy = builder.backpressurePolicy;
+		this.blockTimeout = builder.blockTimeout;
+		this.queueController = builder.queueController;
+		this.directionHysteresis = builder.directionHysteresis;
+		this.autoCalibration = builder.autoCalibration;
+		this.smoothingTimeConstant = builder.smoothingTimeConstant;
+		this.smoothingFilter = builder.smoothingFilter;
 	}
 }
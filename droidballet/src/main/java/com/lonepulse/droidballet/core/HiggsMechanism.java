@@ -23,15 +23,19 @@ package com.lonepulse.droidballet.core;
 import android.app.Activity;
 import android.hardware.SensorEventListener;
 
+import com.lonepulse.droidballet.sensor.SensorSink;
+import com.lonepulse.droidballet.sensor.SensorSource;
+
 /**
  * <p>Describes the services offered by a typical 
- * <a href="http://en.wikipedia.org/wiki/Higgs_field">Higgs Field</a>.
+ * <a href="http://en.wikipedia.org/wiki/Higgs_field">Higgs Field</a>. Readings are 
+ * received from a {@link SensorSource} via the {@link SensorSink} contract.
  * 
  * @version 1.0.0
  * 
  * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
  */
-public interface HiggsMechanism extends SensorEventListener {
+public interface HiggsMechanism extends SensorEventListener, SensorSink {
 
 	/**
 	 * <p>An indicator of the <i>state</i> of the {@link HiggsField#INSTANCE}.
@@ -28,9 +28,7 @@ import android.hardware.Sensor;
  * </p>This enum reflects the integer constants used in {@link Sensor} 
  * and is comparable with these constants (wrapped in an {@link Integer}).</p>  
  * 
- * TODO use this SensorType enum?
- * 
- * @version 1.0.0
+ * @version 1.1.0
  * 
  * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
  */
@@ -47,7 +45,16 @@ public enum SensorType {
 	 * <p>Specifies a <b>gyroscope</b> whose {@link SensorType#getType()} 
 	 * will return {@link Sensor#TYPE_GYROSCOPE}.
 	 */
-	GYROSCOPE(Sensor.TYPE_GYROSCOPE);
+	GYROSCOPE(Sensor.TYPE_GYROSCOPE),
+	
+	/**
+	 * <p>Specifies a <b>gravity</b> sensor whose {@link SensorType#getType()} 
+	 * will return {@link Sensor#TYPE_GRAVITY}. Estimates produced by sensor 
+	 * fusion are reported with this type.
+	 * 
+	 * @since 1.1.0
+	 */
+	GRAVITY(Sensor.TYPE_GRAVITY);
 	
 	
 	
@@ -0,0 +1,227 @@
+package com.lonepulse.droidballet.detector;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+/**
+ * <p>Maintains a running <i>baseline</i> of the readings on a single axis, which is used by
+ * the motion detectors as the neutral point of that axis instead of a fixed midpoint. This
+ * adapts the resting range to the orientation in which the device is actually held.</p>
+ * 
+ * <p>The baseline starts at the first reading and then follows an exponential moving average
+ * with a time constant τ, updated in constant time per sample:</p>
+ * 
+ * <p><font color="#424242"><pre>
+ * b := b + α * (x - b),   where α := dt / (τ + dt)
+ * </pre></font></p>
+ * 
+ * <p>The baseline only adapts to readings which the motion detector classified as resting and
+ * which lie within the exit magnitude of its {@link DirectionHysteresis}. Any other reading is a
+ * deliberate tilt, during which the baseline is frozen, so that holding a tilt never cancels its
+ * motion. Resting readings which are farther than the <b>capture range</b> from the baseline move
+ * it with a time constant which is {@value #RECAPTURE_FACTOR} times longer. The capture range is
+ * limited to the exit magnitude.</p>
+ * 
+ * <p>Instances are not thread-safe; each belongs to a single motion detector.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public final class BaselineCalibrator {
+	
+	
+	/**
+	 * <p>The default time constant in seconds.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final float DEFAULT_TIME_CONSTANT = 2.0f;
+	
+	/**
+	 * <p>The default capture range in terms of sensor output.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final float DEFAULT_CAPTURE_RANGE = DirectionHysteresis.DEFAULT_RESTING_MAGNITUDE / 2.0f;
+	
+	/**
+	 * <p>The factor by which the time constant is lengthened for resting 
+	 * readings outside the capture range.
+	 */
+	private static final float RECAPTURE_FACTOR = 10.0f;
+	
+	/**
+	 * <p>The number of nanoseconds in a second.
+	 */
+	private static final float NANOS_PER_SECOND = 1000000000.0f;
+	
+	
+	/**
+	 * <p>The time constant τ in seconds which determines how quickly the baseline follows the readings.
+	 */
+	private final float timeConstant;
+	
+	/**
+	 * <p>The maximum distance from the baseline of a resting reading which updates 
+	 * the baseline with the {@link #timeConstant}.
+	 */
+	private final float captureRange;
+	
+	/**
+	 * <p>The current baseline.
+	 */
+	private float baseline;
+	
+	/**
+	 * <p>The timestamp in nanoseconds of the last reading.
+	 */
+	private long timestamp;
+	
+	/**
+	 * <p>Indicates whether the baseline has been initialized with a reading.
+	 */
+	private boolean initialized;
+	
+	
+	/**
+	 * <p>Creates a new {@link BaselineCalibrator} using the {@link #DEFAULT_TIME_CONSTANT}
+	 * and the {@link #DEFAULT_CAPTURE_RANGE}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public BaselineCalibrator() {
+		
+		this(DEFAULT_TIME_CONSTANT, DEFAULT_CAPTURE_RANGE);
+	}
+	
+	/**
+	 * <p>Creates a new {@link BaselineCalibrator}.
+	 * 
+	 * @param timeConstant
+	 * 			the time constant τ in seconds; must be greater than zero
+	 * 
+	 * @param captureRange
+	 * 			the maximum distance from the baseline of a resting reading which
+	 * 			updates the baseline with the time constant; must be greater than zero
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			if the time constant or the capture range is not positive
+	 * 
+	 * @since 1.1.0
+	 */
+	public BaselineCalibrator(float timeConstant, float captureRange) {
+		
+		if(!(timeConstant > 0.0f) || !(captureRange > 0.0f))
+			throw new IllegalArgumentException("The time constant and the capture range must be greater than zero. ");
+		
+		this.timeConstant = timeConstant;
+		this.captureRange = captureRange;
+	}
+	
+	/**
+	 * <p>Returns the baseline against which the given reading should be classified. 
+	 * The first reading initializes the baseline.
+	 * 
+	 * @param reading
+	 * 			the smoothed reading on the calibrated axis
+	 * 
+	 * @param timestamp
+	 * 			the timestamp of the reading in nanoseconds
+	 * 
+	 * @return the baseline before the reading is taken into account
+	 * 
+	 * @since 1.1.0
+	 */
+	public float calibrate(float reading, long timestamp) {
+		
+		if(!initialized) {
+			
+			initialized = true;
+			baseline = reading;
+			this.timestamp = timestamp;
+		}
+		
+		return baseline;
+	}
+	
+	/**
+	 * <p>Updates the baseline with a reading once it has been classified. The baseline is 
+	 * frozen unless the reading was classified as resting and lies within the exit magnitude 
+	 * of the given {@link DirectionHysteresis}.
+	 * 
+	 * @param reading
+	 * 			the smoothed reading on the calibrated axis, which was passed to 
+	 * 			{@link #calibrate(float, long)}
+	 * 
+	 * @param timestamp
+	 * 			the timestamp of the reading in nanoseconds
+	 * 
+	 * @param resting
+	 * 			{@code true} if the reading was classified into the resting range
+	 * 
+	 * @param directionHysteresis
+	 * 			the {@link DirectionHysteresis} with which the reading was classified
+	 * 
+	 * @since 1.1.0
+	 */
+	public void adapt(float reading, long timestamp, boolean resting, DirectionHysteresis directionHysteresis) {
+		
+		float dt = (timestamp - this.timestamp) / NANOS_PER_SECOND;
+		
+		this.timestamp = timestamp;
+		
+		float exit = directionHysteresis.getExitMagnitude();
+		float offset = Math.abs(reading - baseline);
+		
+		if(!initialized || !resting || offset > exit || !(dt > 0.0f)) {
+			
+			return;
+		}
+		
+		float tau = (offset <= Math.min(captureRange, exit))? 
+				timeConstant : timeConstant * RECAPTURE_FACTOR;
+		
+		baseline += (dt / (tau + dt)) * (reading - baseline);
+	}
+	
+	/**
+	 * <p>Discards the baseline, so that it is initialized again with the next reading.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void reset() {
+		
+		initialized = false;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #baseline}.
+	 * 
+	 * @return the current {@link #baseline}, which is undefined until the first reading
+	 * 
+	 * @since 1.1.0
+	 */
+	public float getBaseline() {
+		
+		return baseline;
+	}
+}
@@ -0,0 +1,197 @@
+package com.lonepulse.droidballet.detector;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.lonepulse.droidballet.listener.MotionEvent;
+
+/**
+ * <p>Determines how the motion detectors classify the readings on an axis into directions.</p>
+ * 
+ * <p>A reading leaves the <i>resting range</i> once it is farther than the <b>enter magnitude</b>
+ * from the medial position of its axis, and only returns to it once it is within the <b>exit
+ * magnitude</b>. An exit magnitude which is smaller than the enter magnitude creates a dead-band
+ * which prevents readings near the threshold from flipping between directions.</p>
+ * 
+ * <p>With {@link TRIGGER_MODE#EDGE}, a detector only emits a {@link MotionEvent} when the direction
+ * changes or when the reading has moved by more than the <b>epsilon</b> since the last emitted event.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public final class DirectionHysteresis {
+	
+	
+	/**
+	 * <p>Identifies when a motion detector emits {@link MotionEvent}s.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static enum TRIGGER_MODE {
+		
+		/**
+		 * <p>A {@link MotionEvent} is emitted for every sample.
+		 * 
+		 * @since 1.1.0
+		 */
+		LEVEL,
+		
+		/**
+		 * <p>A {@link MotionEvent} is emitted only when the direction changes or when the
+		 * reading has moved by more than the epsilon. Listeners with a maximum delivery rate
+		 * should be registered with a rate which does not throttle these events.
+		 * 
+		 * @since 1.1.0
+		 */
+		EDGE;
+	}
+	
+	/**
+	 * <p>The magnitude on either side of the medial position of an axis
+	 * which is used by default to create its <i>resting range</i>.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final float DEFAULT_RESTING_MAGNITUDE = 1.0f;
+	
+	/**
+	 * <p>The {@link DirectionHysteresis} used by default, which classifies each reading
+	 * independently against the {@link #DEFAULT_RESTING_MAGNITUDE} and emits an event
+	 * for every sample.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final DirectionHysteresis DEFAULT = new DirectionHysteresis(
+			DEFAULT_RESTING_MAGNITUDE, DEFAULT_RESTING_MAGNITUDE, TRIGGER_MODE.LEVEL, 0.0f);
+	
+	
+	/**
+	 * <p>The distance from the medial position beyond which a reading leaves the resting range.
+	 */
+	private final float enterMagnitude;
+	
+	/**
+	 * <p>The distance from the medial position within which a reading returns to the resting range.
+	 */
+	private final float exitMagnitude;
+	
+	/**
+	 * <p>The {@link TRIGGER_MODE} which determines when events are emitted.
+	 */
+	private final TRIGGER_MODE triggerMode;
+	
+	/**
+	 * <p>The change in a reading which emits an event under {@link TRIGGER_MODE#EDGE}
+	 * although the direction has not changed.
+	 */
+	private final float epsilon;
+	
+	
+	/**
+	 * <p>Creates a new {@link DirectionHysteresis}.
+	 * 
+	 * @param enterMagnitude
+	 * 			the distance from the medial position beyond which a reading leaves
+	 * 			the resting range
+	 * 
+	 * @param exitMagnitude
+	 * 			the distance from the medial position within which a reading returns
+	 * 			to the resting range; must not exceed the enter magnitude
+	 * 
+	 * @param triggerMode
+	 * 			the {@link TRIGGER_MODE} which determines when events are emitted;
+	 * 			<b>cannot be null</b>
+	 * 
+	 * @param epsilon
+	 * 			the change in a reading which emits an event under {@link TRIGGER_MODE#EDGE}
+	 * 			although the direction has not changed
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			if the magnitudes or the epsilon are negative, or if the exit magnitude
+	 * 			exceeds the enter magnitude
+	 * 
+	 * @since 1.1.0
+	 */
+	public DirectionHysteresis(float enterMagnitude, float exitMagnitude, TRIGGER_MODE triggerMode, float epsilon) {
+		
+		if(exitMagnitude < 0.0f || epsilon < 0.0f)
+			throw new IllegalArgumentException("The magnitudes and the epsilon must not be negative. ");
+		
+		if(exitMagnitude > enterMagnitude)
+			throw new IllegalArgumentException("The exit magnitude must not exceed the enter magnitude. ");
+		
+		this.enterMagnitude = enterMagnitude;
+		this.exitMagnitude = exitMagnitude;
+		this.triggerMode = triggerMode;
+		this.epsilon = epsilon;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #enterMagnitude}.
+	 * 
+	 * @return the {@link #enterMagnitude}
+	 * 
+	 * @since 1.1.0
+	 */
+	public float getEnterMagnitude() {
+		
+		return enterMagnitude;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #exitMagnitude}.
+	 * 
+	 * @return the {@link #exitMagnitude}
+	 * 
+	 * @since 1.1.0
+	 */
+	public float getExitMagnitude() {
+		
+		return exitMagnitude;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #triggerMode}.
+	 * 
+	 * @return the {@link #triggerMode}
+	 * 
+	 * @since 1.1.0
+	 */
+	public TRIGGER_MODE getTriggerMode() {
+		
+		return triggerMode;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #epsilon}.
+	 * 
+	 * @return the {@link #epsilon}
+	 * 
+	 * @since 1.1.0
+	 */
+	public float getEpsilon() {
+		
+		return epsilon;
+	}
+}
@@ -0,0 +1,145 @@
+package com.lonepulse.droidballet.detector;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.lonepulse.droidballet.detector.DirectionHysteresis.TRIGGER_MODE;
+
+/**
+ * <p>Tracks the direction of the readings on a single axis according to a
+ * {@link DirectionHysteresis}. The direction is one of {@link #NEGATIVE},
+ * {@link #REST} or {@link #POSITIVE}, relative to the medial position of the axis.</p>
+ * 
+ * <p>Instances are not thread-safe; each belongs to a single motion detector.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+final class DirectionStateMachine {
+	
+	
+	/**
+	 * <p>The direction of readings below the resting range.
+	 */
+	static final int NEGATIVE = -1;
+	
+	/**
+	 * <p>The direction of readings within the resting range.
+	 */
+	static final int REST = 0;
+	
+	/**
+	 * <p>The direction of readings above the resting range.
+	 */
+	static final int POSITIVE = 1;
+	
+	
+	/**
+	 * <p>The current direction.
+	 */
+	private int direction = REST;
+	
+	/**
+	 * <p>Indicates whether an event has been emitted since the last {@link #reset()}.
+	 */
+	private boolean emitted;
+	
+	/**
+	 * <p>The direction of the last emitted event.
+	 */
+	private int emittedDirection;
+	
+	/**
+	 * <p>The reading of the last emitted event.
+	 */
+	private float emittedReading;
+	
+	
+	/**
+	 * <p>Advances the direction using the given reading.
+	 * 
+	 * @param offset
+	 * 			the distance of the reading from the medial position of the axis
+	 * 
+	 * @param directionHysteresis
+	 * 			the {@link DirectionHysteresis} which determines the transitions
+	 * 
+	 * @return the new direction
+	 */
+	int advance(float offset, DirectionHysteresis directionHysteresis) {
+		
+		float enter = directionHysteresis.getEnterMagnitude();
+		float exit = directionHysteresis.getExitMagnitude();
+		
+		if(offset < -enter) {
+			
+			direction = NEGATIVE;
+		}
+		else if(offset > enter) {
+			
+			direction = POSITIVE;
+		}
+		else if((direction == NEGATIVE && offset >= -exit) || (direction == POSITIVE && offset <= exit)) {
+			
+			direction = REST;
+		}
+		
+		return direction;
+	}
+	
+	/**
+	 * <p>Determines whether an event should be emitted for the current direction, and
+	 * records it as emitted if so. Under {@link TRIGGER_MODE#LEVEL} every event is emitted.
+	 * 
+	 * @param reading
+	 * 			the reading of the event
+	 * 
+	 * @param directionHysteresis
+	 * 			the {@link DirectionHysteresis} which determines the {@link TRIGGER_MODE}
+	 * 
+	 * @return {@code true} if the event should be emitted
+	 */
+	boolean emit(float reading, DirectionHysteresis directionHysteresis) {
+		
+		if(directionHysteresis.getTriggerMode() == TRIGGER_MODE.EDGE && emitted
+				&& direction == emittedDirection
+				&& Math.abs(reading - emittedReading) <= directionHysteresis.getEpsilon()) {
+			
+			return false;
+		}
+		
+		emitted = true;
+		emittedDirection = direction;
+		emittedReading = reading;
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Returns to the {@link #REST} direction and forgets the last emitted event.
+	 */
+	void reset() {
+		
+		direction = REST;
+		emitted = false;
+	}
+}
@@ -0,0 +1,574 @@
+package com.lonepulse.droidballet.detector;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.Arrays;
+
+import android.hardware.Sensor;
+import android.util.Log;
+
+import com.lonepulse.droidballet.filter.FilterChain;
+import com.lonepulse.droidballet.filter.LowPassFilter;
+import com.lonepulse.droidballet.filter.OneEuroFilter;
+import com.lonepulse.droidballet.filter.SmoothingFilter;
+import com.lonepulse.droidballet.filter.SmoothingFilterException;
+import com.lonepulse.droidballet.listener.HorizontalMotionEvent;
+import com.lonepulse.droidballet.listener.HorizontalMotionEvent.HORIZONTAL_DIRECTION;
+import com.lonepulse.droidballet.listener.VerticalMotionEvent;
+import com.lonepulse.droidballet.listener.VerticalMotionEvent.VERTICAL_DIRECTION;
+import com.lonepulse.droidballet.sensor.SensorSample;
+
+/**
+ * <p>A motion detector which filters each {@link SensorSample} <b>once</b> and derives the
+ * vertical, horizontal and diagonal directions of motion from the same filtered output.</p>
+ * 
+ * <p>A single instance can be shared by a {@link VerticalMotionDetector} and a
+ * {@link HorizontalMotionDetector} (see {@link VerticalMotionDetector#newInstance(FusedMotionDetector)}),
+ * in which case the detection of the first is reused by the second for the same sample.
+ * Detection is synchronized, since the resolvers of a sample may run on different threads.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class FusedMotionDetector {
+	
+	
+	/**
+	 * <p>The time in nanoseconds for which readings of type {@link Sensor#TYPE_ACCELEROMETER} 
+	 * are ignored after a reading of type {@link Sensor#TYPE_GRAVITY}. Both are delivered 
+	 * when sensor fusion is enabled, in which case the fused estimate is preferred.
+	 */
+	static final long GRAVITY_PREFERENCE_NANOS = 1000000000L;
+	
+	
+	/**
+	 * <p>Specifies the <i>diagonal</i> direction of motion, which is the combination
+	 * of a vertical and a horizontal direction that are both out of their resting range.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static enum DIAGONAL_DIRECTION {
+		
+		/**
+		 * <p>Either the vertical or the horizontal direction is at rest.
+		 * 
+		 * @since 1.1.0
+		 */
+		NONE,
+		
+		/**
+		 * <p>The motion is both {@link VERTICAL_DIRECTION#UP} and {@link HORIZONTAL_DIRECTION#LEFT}.
+		 * 
+		 * @since 1.1.0
+		 */
+		UP_LEFT,
+		
+		/**
+		 * <p>The motion is both {@link VERTICAL_DIRECTION#UP} and {@link HORIZONTAL_DIRECTION#RIGHT}.
+		 * 
+		 * @since 1.1.0
+		 */
+		UP_RIGHT,
+		
+		/**
+		 * <p>The motion is both {@link VERTICAL_DIRECTION#DOWN} and {@link HORIZONTAL_DIRECTION#LEFT}.
+		 * 
+		 * @since 1.1.0
+		 */
+		DOWN_LEFT,
+		
+		/**
+		 * <p>The motion is both {@link VERTICAL_DIRECTION#DOWN} and {@link HORIZONTAL_DIRECTION#RIGHT}.
+		 * 
+		 * @since 1.1.0
+		 */
+		DOWN_RIGHT;
+	}
+	
+	
+	/**
+	 * <p>The instance of the {@link SmoothingFilter} which is used to smooth out
+	 * the values from the motion sensor. The filter retains the state of the 
+	 * accelerometer stream, which is shared by both axes.
+	 */
+	private SmoothingFilter smoothingFilter;
+	
+	/**
+	 * <p>The buffer into which the last detected sample was filtered. The events
+	 * which are obtained copy it, hence it is reused for every sample.
+	 */
+	private final float[] output = new float[SensorSample.AXES];
+	
+	/**
+	 * <p>The last {@link SensorSample} which was detected, or {@code null} if
+	 * its detection failed. Samples are reused by their sources, hence the
+	 * {@link #timestamp} is also compared.
+	 */
+	private SensorSample sensorSample;
+	
+	/**
+	 * <p>The timestamp of the last {@link #sensorSample} which was detected.
+	 */
+	private long timestamp;
+	
+	/**
+	 * <p>The {@link VERTICAL_DIRECTION} of the last detected sample.
+	 */
+	private VERTICAL_DIRECTION verticalDirection;
+	
+	/**
+	 * <p>The {@link HORIZONTAL_DIRECTION} of the last detected sample.
+	 */
+	private HORIZONTAL_DIRECTION horizontalDirection;
+	
+	/**
+	 * <p>The {@link DIAGONAL_DIRECTION} of the last detected sample.
+	 */
+	private DIAGONAL_DIRECTION diagonalDirection;
+	
+	/**
+	 * <p>Determines whether a failure of the {@link #smoothingFilter} has been logged.
+	 * Only the first failure is logged, so that a filter which fails on every sample
+	 * does not flood the log.
+	 */
+	private boolean filterFailureLogged;
+	
+	/**
+	 * <p>Determines whether a reading of type {@link Sensor#TYPE_GRAVITY} has been detected.
+	 */
+	private boolean gravityDetected;
+	
+	/**
+	 * <p>The timestamp of the last reading of type {@link Sensor#TYPE_GRAVITY}.
+	 */
+	private long gravityTimestamp;
+	
+	/**
+	 * <p>The {@link DirectionHysteresis} which determines how readings are classified 
+	 * into directions and when events are emitted.
+	 */
+	private DirectionHysteresis directionHysteresis = DirectionHysteresis.DEFAULT;
+	
+	/**
+	 * <p>The {@link DirectionStateMachine} which tracks the direction on the Y-Axis.
+	 */
+	private final DirectionStateMachine verticalStateMachine = new DirectionStateMachine();
+	
+	/**
+	 * <p>The {@link DirectionStateMachine} which tracks the direction on the X-Axis.
+	 */
+	private final DirectionStateMachine horizontalStateMachine = new DirectionStateMachine();
+	
+	/**
+	 * <p>The {@link BaselineCalibrator} which provides the neutral point of the Y-Axis, 
+	 * or {@code null} if the midpoint of the sensor range is used.
+	 */
+	private BaselineCalibrator verticalCalibrator;
+	
+	/**
+	 * <p>The {@link BaselineCalibrator} which provides the neutral point of the X-Axis, 
+	 * or {@code null} if zero is used.
+	 */
+	private BaselineCalibrator horizontalCalibrator;
+	
+	/**
+	 * <p>Determines whether a {@link VerticalMotionEvent} is emitted for the last detected sample.
+	 */
+	private boolean verticalEmitted;
+	
+	/**
+	 * <p>Determines whether a {@link HorizontalMotionEvent} is emitted for the last detected sample.
+	 */
+	private boolean horizontalEmitted;
+	
+	
+	/**
+	 * <p>Constructor visibility restricted to prevent direct instantiation.
+	 * 
+	 * <p>Use the factory method {@code FusedMotionDetector.newInstance();}
+	 * 
+	 * @param smoothingFilter
+	 *            the {@link #smoothingFilter} to use
+	 */
+	private FusedMotionDetector(SmoothingFilter smoothingFilter) {
+		
+		this.smoothingFilter = smoothingFilter;
+	}
+	
+	/**
+	 * <p>Creates a new instance of a {@link FusedMotionDetector} using
+	 * an instance of {@link LowPassFilter} as the {@link SmoothingFilter} of
+	 * choice.
+	 * 
+	 * @return a new instance of {@link FusedMotionDetector}
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final FusedMotionDetector newInstance() {
+		
+		return new FusedMotionDetector(new LowPassFilter());
+	}
+	
+	/**
+	 * <p>Generates the {@link VerticalMotionEvent} of the given {@link SensorSample}.
+	 * 
+	 * @param sensorSample
+	 * 			the {@link SensorSample} aquired by a {@link Sensor}
+	 * 
+	 * @return the generated {@link VerticalMotionEvent}, or {@code null} if the
+	 * 		   sample was not produced by a supported sensor or if no event is 
+	 * 		   emitted under the current {@link DirectionHysteresis}
+	 * 
+	 * @throws MotionDetectorException
+	 * 			if there is a failure in detecting motion using the {@link SensorSample}
+	 * 
+	 * @since 1.1.0
+	 */
+	public synchronized VerticalMotionEvent getVerticalMotionEvent(SensorSample sensorSample)
+	throws MotionDetectorException {
+		
+		return (detect(sensorSample) && verticalEmitted)?
+				VerticalMotionEvent.obtain(sensorSample, verticalDirection, output) : null;
+	}
+	
+	/**
+	 * <p>Generates the {@link HorizontalMotionEvent} of the given {@link SensorSample}.
+	 * 
+	 * @param sensorSample
+	 * 			the {@link SensorSample} aquired by a {@link Sensor}
+	 * 
+	 * @return the generated {@link HorizontalMotionEvent}, or {@code null} if the
+	 * 		   sample was not produced by a supported sensor or if no event is 
+	 * 		   emitted under the current {@link DirectionHysteresis}
+	 * 
+	 * @throws MotionDetectorException
+	 * 			if there is a failure in detecting motion using the {@link SensorSample}
+	 * 
+	 * @since 1.1.0
+	 */
+	public synchronized HorizontalMotionEvent getHorizontalMotionEvent(SensorSample sensorSample)
+	throws MotionDetectorException {
+		
+		return (detect(sensorSample) && horizontalEmitted)?
+				HorizontalMotionEvent.obtain(sensorSample, horizontalDirection, output) : null;
+	}
+	
+	/**
+	 * <p>Determines the {@link DIAGONAL_DIRECTION} of the given {@link SensorSample}.
+	 * 
+	 * @param sensorSample
+	 * 			the {@link SensorSample} aquired by a {@link Sensor}
+	 * 
+	 * @return the {@link DIAGONAL_DIRECTION} of the motion, or {@code null} if the
+	 * 		   sample was not produced by a supported sensor
+	 * 
+	 * @throws MotionDetectorException
+	 * 			if there is a failure in detecting motion using the {@link SensorSample}
+	 * 
+	 * @since 1.1.0
+	 */
+	public synchronized DIAGONAL_DIRECTION getDiagonalDirection(SensorSample sensorSample)
+	throws MotionDetectorException {
+		
+		return detect(sensorSample)? diagonalDirection : null;
+	}
+	
+	/**
+	 * <p>Filters the given {@link SensorSample} and derives all directions of its motion,
+	 * unless it is the sample which was last detected.</p>
+	 * 
+	 * <p>The current implementation handles {@link Sensor}s of type
+	 * {@link Sensor#TYPE_ACCELEROMETER} and the estimates of type
+	 * {@link Sensor#TYPE_GRAVITY} produced by sensor fusion. The latter
+	 * are already smoothed and skip the {@link #smoothingFilter}. While the latter keep 
+	 * arriving, the raw readings are left to gesture detection and ignored here.</p>
+	 * 
+	 * @param sensorSample
+	 * 			the {@link SensorSample} aquired by a {@link Sensor}
+	 * 
+	 * @return {@code true} if the directions of the sample were derived, else {@code false}
+	 * 		   if the sample was not produced by a supported sensor or was ignored
+	 * 
+	 * @throws MotionDetectorException
+	 * 			if there is a failure in detecting motion using the {@link SensorSample}
+	 */
+	private boolean detect(SensorSample sensorSample) throws MotionDetectorException {
+		
+		int sensorType = sensorSample.getSensorType();
+		
+		if (sensorType != Sensor.TYPE_ACCELEROMETER && sensorType != Sensor.TYPE_GRAVITY) {
+			
+			return false;
+		}
+		
+		if (sensorType == Sensor.TYPE_GRAVITY) {
+			
+			gravityDetected = true;
+			gravityTimestamp = sensorSample.getTimestamp();
+		}
+		else if (gravityDetected 
+				&& sensorSample.getTimestamp() - gravityTimestamp < GRAVITY_PREFERENCE_NANOS) {
+			
+			return false;
+		}
+		
+		if(this.sensorSample == sensorSample && timestamp == sensorSample.getTimestamp()) {
+			
+			return true;
+		}
+		
+		this.sensorSample = null;
+		
+		try {
+			
+			final float[] input = sensorSample.getValues();
+			
+			if (sensorType == Sensor.TYPE_GRAVITY) {
+				
+				System.arraycopy(input, 0, output, 0, input.length);
+			}
+			else {
+				
+				try {
+					
+					smoothingFilter.filter(input, output, sensorSample.getTimestamp());
+				}
+				catch (SmoothingFilterException sfe) {
+					
+					if(!filterFailureLogged) {
+						
+						filterFailureLogged = true;
+						Log.w(getClass().getName(), "Failed to execute " + smoothingFilter.getClass().getName(), sfe);
+					}
+				}
+			}
+			
+			float mid = sensorSample.getMaximumRange() / 2.0f;
+			float zero = 0.0f;
+			
+			long timestamp = sensorSample.getTimestamp();
+			float vertical = Math.max(output[1], 0.0f);
+			float horizontal = output[0];
+			
+			if(verticalCalibrator != null) {
+				
+				mid = verticalCalibrator.calibrate(vertical, timestamp);
+				zero = horizontalCalibrator.calibrate(horizontal, timestamp);
+			}
+			
+			horizontalDirection = processHorizontalDirection(output, zero);
+			horizontalEmitted = horizontalStateMachine.emit(output[0], directionHysteresis);
+			
+			verticalDirection = processVerticalDirection(output, mid);
+			verticalEmitted = verticalStateMachine.emit(output[1], directionHysteresis);
+			
+			if(verticalCalibrator != null) {
+				
+				verticalCalibrator.adapt(vertical, timestamp, 
+						verticalDirection == VERTICAL_DIRECTION.NONE, directionHysteresis);
+				
+				horizontalCalibrator.adapt(horizontal, timestamp, 
+						horizontalDirection == HORIZONTAL_DIRECTION.NONE, directionHysteresis);
+			}
+			
+			diagonalDirection = processDiagonalDirection(verticalDirection, horizontalDirection);
+			
+			this.sensorSample = sensorSample;
+			this.timestamp = sensorSample.getTimestamp();
+			
+			return true;
+		}
+		catch (Exception e) {
+			
+			throw new MotionDetectorException("Motion detection failed on " + getClass() + 
+				" with sensor values " + Arrays.toString(sensorSample.getValues()) + ". ", e);
+		}
+	}
+	
+	/**
+	 * <p>Determines the {@link VERTICAL_DIRECTION} of the motion and trims the
+	 * sensor reading on the Y-Axis exactly as a {@link VerticalMotionDetector} does.
+	 * 
+	 * @param output
+	 * 			the smoothed sensor values
+	 * 
+	 * @param mid
+	 * 			the medial position of the sensor range, or the calibrated baseline
+	 * 
+	 * @return the {@link VERTICAL_DIRECTION} of the motion
+	 */
+	private VERTICAL_DIRECTION processVerticalDirection(float[] output, float mid) {
+		
+		output[1] = (output[1] < 0)? 0.0f : output[1];
+		
+		switch (verticalStateMachine.advance(output[1] - mid, directionHysteresis)) {
+			
+			case DirectionStateMachine.NEGATIVE:
+				
+				output[1] *= -1;
+				return VERTICAL_DIRECTION.UP;
+			
+			case DirectionStateMachine.POSITIVE:
+				
+				return VERTICAL_DIRECTION.DOWN;
+			
+			default:
+				
+				return VERTICAL_DIRECTION.NONE;
+		}
+	}
+	
+	/**
+	 * <p>Determines the {@link HORIZONTAL_DIRECTION} of the motion from the sensor reading
+	 * on the X-Axis, which rests at zero. A device which is tilted to the left reads a
+	 * positive value.
+	 * 
+	 * @param output
+	 * 			the smoothed sensor values
+	 * 
+	 * @param zero
+	 * 			the resting reading of the X-Axis, or the calibrated baseline
+	 * 
+	 * @return the {@link HORIZONTAL_DIRECTION} of the motion
+	 */
+	private HORIZONTAL_DIRECTION processHorizontalDirection(float[] output, float zero) {
+		
+		switch (horizontalStateMachine.advance(output[0] - zero, directionHysteresis)) {
+			
+			case DirectionStateMachine.NEGATIVE:
+				
+				return HORIZONTAL_DIRECTION.RIGHT;
+			
+			case DirectionStateMachine.POSITIVE:
+				
+				return HORIZONTAL_DIRECTION.LEFT;
+			
+			default:
+				
+				return HORIZONTAL_DIRECTION.NONE;
+		}
+	}
+	
+	/**
+	 * <p>Combines the given vertical and horizontal directions into a {@link DIAGONAL_DIRECTION}.
+	 * 
+	 * @param verticalDirection
+	 * 			the {@link VERTICAL_DIRECTION} of the motion
+	 * 
+	 * @param horizontalDirection
+	 * 			the {@link HORIZONTAL_DIRECTION} of the motion
+	 * 
+	 * @return the {@link DIAGONAL_DIRECTION} of the motion
+	 */
+	private DIAGONAL_DIRECTION processDiagonalDirection(VERTICAL_DIRECTION verticalDirection,
+														HORIZONTAL_DIRECTION horizontalDirection) {
+		
+		if(verticalDirection == VERTICAL_DIRECTION.NONE || horizontalDirection == HORIZONTAL_DIRECTION.NONE) {
+			
+			return DIAGONAL_DIRECTION.NONE;
+		}
+		
+		boolean left = (horizontalDirection == HORIZONTAL_DIRECTION.LEFT);
+		
+		if(verticalDirection == VERTICAL_DIRECTION.UP) {
+			
+			return left? DIAGONAL_DIRECTION.UP_LEFT : DIAGONAL_DIRECTION.UP_RIGHT;
+		}
+		
+		return left? DIAGONAL_DIRECTION.DOWN_LEFT : DIAGONAL_DIRECTION.DOWN_RIGHT;
+	}
+	
+	/**
+	 * <p>Sets the {@link DirectionHysteresis} which determines how readings are classified 
+	 * into directions and when events are emitted. The tracked directions are reset.
+	 * 
+	 * @param directionHysteresis
+	 * 			the {@link DirectionHysteresis} to use; <b>cannot be null</b>
+	 * 
+	 * @since 1.1.0
+	 */
+	public synchronized void setDirectionHysteresis(DirectionHysteresis directionHysteresis) {
+		
+		this.directionHysteresis = directionHysteresis;
+		
+		verticalStateMachine.reset();
+		horizontalStateMachine.reset();
+		
+		this.sensorSample = null;
+	}
+	
+	/**
+	 * <p>Enables or disables the online calibration of the neutral points, which replaces 
+	 * the fixed neutral point of each axis with a {@link BaselineCalibrator}. Enabling it 
+	 * starts new baselines.
+	 * 
+	 * @param autoCalibration
+	 * 			{@code true} to calibrate the neutral points
+	 * 
+	 * @since 1.1.0
+	 */
+	public synchronized void setAutoCalibration(boolean autoCalibration) {
+		
+		verticalCalibrator = autoCalibration? new BaselineCalibrator() : null;
+		horizontalCalibrator = autoCalibration? new BaselineCalibrator() : null;
+		
+		this.sensorSample = null;
+	}
+	
+	/**
+	 * <p>Sets the time constant of the {@link LowPassFilter} which smooths the accelerometer 
+	 * stream. A longer time constant suppresses more jitter at the expense of latency. This 
+	 * starts a new stream.
+	 * 
+	 * @param smoothingTimeConstant
+	 * 			the time constant in seconds; must be greater than zero
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			if the time constant is not positive
+	 * 
+	 * @since 1.1.0
+	 */
+	public synchronized void setSmoothingTimeConstant(float smoothingTimeConstant) {
+		
+		setSmoothingFilter(new LowPassFilter.Builder().setTimeConstant(smoothingTimeConstant).build());
+	}
+	
+	/**
+	 * <p>Sets the {@link SmoothingFilter}, such as a {@link OneEuroFilter} or a {@link FilterChain}, 
+	 * which smooths the accelerometer stream. The filter retains the state of the stream, hence 
+	 * it should not be shared with another detector.
+	 * 
+	 * @param smoothingFilter
+	 * 			the {@link SmoothingFilter} to use; <b>cannot be null</b>
+	 * 
+	 * @since 1.1.0
+	 */
+	public synchronized void setSmoothingFilter(SmoothingFilter smoothingFilter) {
+		
+		this.smoothingFilter = smoothingFilter;
+		this.filterFailureLogged = false;
+		this.sensorSample = null;
+	}
+}
@@ -0,0 +1,391 @@
+package com.lonepulse.droidballet.detector;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.concurrent.TimeUnit;
+
+import android.hardware.Sensor;
+
+import com.lonepulse.droidballet.listener.GestureMotionEvent;
+import com.lonepulse.droidballet.listener.GestureMotionEvent.GESTURE;
+import com.lonepulse.droidballet.sensor.SensorSample;
+
+/**
+ * <p>A concrete implementation of {@link MotionDetector} which recognizes <b>gestures</b>
+ * from the statistics of a sliding {@link SampleWindow} of recent readings:</p>
+ * 
+ * <ul>
+ * <li>{@link GESTURE#SHAKE} once the standard deviation of the acceleration
+ * exceeds {@value #SHAKE_DEVIATION} with a mean jerk of {@value #SHAKE_JERK}; the next shake is recognized only after the window
+ * has calmed down.</li>
+ * <li>{@link GESTURE#FLICK} once the jerk of a reading exceeds {@value #FLICK_JERK} while
+ * the window was calm. The flick is confirmed if no shake is recognized within the following
+ * {@link #FLICK_SETTLE_DURATION}, since the onset of a shake is indistinguishable from a flick.</li>
+ * <li>{@link GESTURE#TILT_AND_RETURN} once a reading which has deviated from the resting
+ * orientation by more than {@value #TILT_MAGNITUDE} on the X and Y axes returns to within
+ * {@value #TILT_RETURN_RADIUS} of it in time.</li>
+ * </ul>
+ * 
+ * <p>The cost of each reading is constant regardless of the length of the window. An event is
+ * only generated for the reading at which a gesture is recognized. Gestures are recognized from
+ * the raw readings of the {@link Sensor#TYPE_ACCELEROMETER}, since smoothed estimates lack the
+ * rapid changes which make up a gesture.</p>
+ * 
+ * <p>The window and all thresholds are expressed in terms of time, using the timestamps of the
+ * readings, hence they do not depend on the sampling rate. However, a flick or the strokes of a
+ * shake only last a fraction of a second and are lost between the readings of a slow sensor.
+ * Gestures should therefore be sampled at {@value #MIN_SAMPLING_RATE} readings per second or
+ * faster, which the resolver of gestures demands of the sensor.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class GestureMotionDetector implements MotionDetector<GestureMotionEvent> {
+	
+	
+	/**
+	 * <p>The duration in milliseconds of the {@link SampleWindow} used by default.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final long DEFAULT_WINDOW_DURATION = 640L;
+	
+	/**
+	 * <p>The lowest sampling rate in readings per second at which gestures are recognized reliably.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int MIN_SAMPLING_RATE = 50;
+	
+	/**
+	 * <p>The highest sampling rate in readings per second for which the {@link SampleWindow} 
+	 * holds every reading within its duration. Faster sensors evict older readings early.
+	 */
+	private static final int MAX_WINDOW_RATE = 200;
+	
+	/**
+	 * <p>The standard deviation of the acceleration beyond which
+	 * the device is recognized to be shaken.
+	 */
+	private static final float SHAKE_DEVIATION = 4.0f;
+	
+	/**
+	 * <p>The mean jerk of the window which must accompany the {@link #SHAKE_DEVIATION}, 
+	 * so that sustained but smooth accelerations are not recognized as shakes.
+	 */
+	private static final float SHAKE_JERK = 50.0f;
+	
+	/**
+	 * <p>The standard deviation of the acceleration below which
+	 * the window is considered to be calm.
+	 */
+	private static final float CALM_DEVIATION = 1.5f;
+	
+	/**
+	 * <p>The jerk beyond which a reading of a calm device is recognized as a flick.
+	 */
+	private static final float FLICK_JERK = 150.0f;
+	
+	/**
+	 * <p>The duration in nanoseconds after a flick within which a shake discards it.
+	 */
+	private static final long FLICK_SETTLE_DURATION = TimeUnit.MILLISECONDS.toNanos(250);
+	
+	/**
+	 * <p>The distance on the X and Y axes from the resting orientation beyond which
+	 * the device is considered to be tilted.
+	 */
+	private static final float TILT_MAGNITUDE = 3.0f;
+	
+	/**
+	 * <p>The distance on the X and Y axes from the resting orientation within which
+	 * a tilted device is considered to have returned.
+	 */
+	private static final float TILT_RETURN_RADIUS = 1.0f;
+	
+	/**
+	 * <p>The maximum duration in nanoseconds of a tilt which returns.
+	 */
+	private static final long MAX_TILT_DURATION = TimeUnit.MILLISECONDS.toNanos(1500);
+	
+	
+	/**
+	 * <p>The {@link SampleWindow} of recent readings.
+	 */
+	private final SampleWindow sampleWindow;
+	
+	/**
+	 * <p>Indicates whether a shake has been recognized and the window has not calmed down since.
+	 */
+	private boolean shaking;
+	
+	/**
+	 * <p>Indicates whether a flick has been detected which is yet to be confirmed.
+	 */
+	private boolean flickPending;
+	
+	/**
+	 * <p>The timestamp of the reading at which the pending flick was detected.
+	 */
+	private long flickTimestamp;
+	
+	/**
+	 * <p>The jerk of the pending flick.
+	 */
+	private float flickJerk;
+	
+	/**
+	 * <p>The values of the reading at which the pending flick was detected.
+	 */
+	private final float[] flickValues = new float[SensorSample.AXES];
+	
+	/**
+	 * <p>Indicates whether the resting orientation in {@link #restX} and {@link #restY} is known.
+	 */
+	private boolean rested;
+	
+	/**
+	 * <p>The resting orientation on the X and Y axes, taken while the window is calm.
+	 */
+	private float restX, restY;
+	
+	/**
+	 * <p>Indicates whether the device is currently tilted away from its resting orientation.
+	 */
+	private boolean tilted;
+	
+	/**
+	 * <p>The timestamp of the reading at which the current tilt began.
+	 */
+	private long tiltTimestamp;
+	
+	/**
+	 * <p>The greatest deviation from the resting orientation during the current tilt.
+	 */
+	private float tiltPeak;
+	
+	
+	/**
+	 * <p>Constructor visibility restricted to prevent direct instantiation.
+	 * 
+	 * <p>Use the factory method {@code GestureMotionDetector.newInstance();}
+	 * 
+	 * @param windowDuration
+	 *            the duration of the {@link #sampleWindow} in nanoseconds
+	 */
+	private GestureMotionDetector(long windowDuration) {
+		
+		int capacity = (int) Math.max(2L, windowDuration * MAX_WINDOW_RATE / TimeUnit.SECONDS.toNanos(1));
+		
+		this.sampleWindow = new SampleWindow(windowDuration, capacity);
+	}
+	
+	/**
+	 * <p>Creates a new instance of a {@link GestureMotionDetector} with a
+	 * window of {@link #DEFAULT_WINDOW_DURATION} milliseconds.
+	 * 
+	 * @return a new instance of {@link GestureMotionDetector}
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final GestureMotionDetector newInstance() {
+		
+		return newInstance(DEFAULT_WINDOW_DURATION, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * <p>Creates a new instance of a {@link GestureMotionDetector} with a
+	 * window of the given duration.
+	 * 
+	 * @param windowDuration
+	 * 			the duration of the window; must be greater than zero
+	 * 
+	 * @param timeUnit
+	 * 			the {@link TimeUnit} of the duration; <b>cannot be null</b>
+	 * 
+	 * @return a new instance of {@link GestureMotionDetector}
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			if the duration is not positive
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final GestureMotionDetector newInstance(long windowDuration, TimeUnit timeUnit) {
+		
+		return new GestureMotionDetector(timeUnit.toNanos(windowDuration));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>Returns {@code null} for every reading at which no gesture is recognized.</p>
+	 */
+	@Override
+	public synchronized GestureMotionEvent getMotionEvent(final SensorSample sensorSample)
+	throws MotionDetectorException {
+		
+		try {
+			
+			if (sensorSample.getSensorType() != Sensor.TYPE_ACCELEROMETER) {
+				
+				return null;
+			}
+			
+			final float[] values = sensorSample.getValues();
+			final long timestamp = sensorSample.getTimestamp();
+			
+			boolean wasCalm = isCalm();
+			
+			sampleWindow.add(timestamp, values);
+			
+			if(!sampleWindow.isFull()) {
+				
+				return null;
+			}
+			
+			float deviation = (float) Math.sqrt(sampleWindow.getVariance());
+			
+			if(shaking) {
+				
+				shaking = deviation >= CALM_DEVIATION;
+				return null;
+			}
+			
+			if(deviation >= SHAKE_DEVIATION && sampleWindow.getMeanJerk() >= SHAKE_JERK) {
+				
+				shaking = true;
+				rested = tilted = flickPending = false;
+				
+				return GestureMotionEvent.obtain(sensorSample, GESTURE.SHAKE, deviation, values);
+			}
+			
+			if(flickPending) {
+				
+				if(timestamp - flickTimestamp < FLICK_SETTLE_DURATION) {
+					
+					return null;
+				}
+				
+				flickPending = false;
+				
+				return GestureMotionEvent.obtain(sensorSample, GESTURE.FLICK, flickJerk, flickValues);
+			}
+			
+			float jerk = sampleWindow.getJerk();
+			
+			if(wasCalm && jerk >= FLICK_JERK) {
+				
+				flickPending = true;
+				flickTimestamp = timestamp;
+				flickJerk = jerk;
+				System.arraycopy(values, 0, flickValues, 0, SensorSample.AXES);
+				
+				rested = tilted = false;
+				
+				return null;
+			}
+			
+			return processTilt(sensorSample, values, timestamp);
+		}
+		catch (Exception e) {
+			
+			throw new MotionDetectorException(getClass(), sensorSample, e);
+		}
+	}
+	
+	/**
+	 * <p>Determines whether the {@link #sampleWindow} is full and the standard deviation
+	 * of its acceleration is below {@link #CALM_DEVIATION}.
+	 * 
+	 * @return {@code true} if the device has been calm throughout the window
+	 */
+	private boolean isCalm() {
+		
+		return sampleWindow.isFull() && sampleWindow.getVariance() < CALM_DEVIATION * CALM_DEVIATION;
+	}
+	
+	/**
+	 * <p>Tracks the tilt of the device away from its resting orientation, and generates
+	 * a {@link GESTURE#TILT_AND_RETURN} event once a tilt returns in time. The resting
+	 * orientation follows the mean of the window while the device is calm and untilted.
+	 * 
+	 * @param sensorSample
+	 * 			the {@link SensorSample} which is being detected
+	 * 
+	 * @param values
+	 * 			the values of the sample
+	 * 
+	 * @param timestamp
+	 * 			the timestamp of the sample in nanoseconds
+	 * 
+	 * @return the generated {@link GestureMotionEvent}, or {@code null} if no tilt returned
+	 */
+	private GestureMotionEvent processTilt(SensorSample sensorSample, float[] values, long timestamp) {
+		
+		if(!tilted) {
+			
+			if(isCalm()) {
+				
+				restX = sampleWindow.getMeanX();
+				restY = sampleWindow.getMeanY();
+				rested = true;
+			}
+		}
+		
+		if(!rested) {
+			
+			return null;
+		}
+		
+		float dx = values[0] - restX, dy = values[1] - restY;
+		float distance = (float) Math.sqrt(dx * dx + dy * dy);
+		
+		if(!tilted) {
+			
+			if(distance > TILT_MAGNITUDE) {
+				
+				tilted = true;
+				tiltTimestamp = timestamp;
+				tiltPeak = distance;
+			}
+			
+			return null;
+		}
+		
+		tiltPeak = Math.max(tiltPeak, distance);
+		
+		if(timestamp - tiltTimestamp > MAX_TILT_DURATION) {
+			
+			rested = tilted = false;
+			return null;
+		}
+		
+		if(distance <= TILT_RETURN_RADIUS) {
+			
+			tilted = false;
+			return GestureMotionEvent.obtain(sensorSample, GESTURE.TILT_AND_RETURN, tiltPeak, values);
+		}
+		
+		return null;
+	}
+}
@@ -21,18 +21,21 @@ package com.lonepulse.droidballet.detector;
  */
 
 import android.hardware.Sensor;
-import android.hardware.SensorEvent;
 import android.util.Log;
 
+import com.lonepulse.droidballet.filter.FilterChain;
 import com.lonepulse.droidballet.filter.LowPassFilter;
+import com.lonepulse.droidballet.filter.OneEuroFilter;
 import com.lonepulse.droidballet.filter.SmoothingFilter;
 import com.lonepulse.droidballet.filter.SmoothingFilterException;
 import com.lonepulse.droidballet.listener.HorizontalMotionEvent;
 import com.lonepulse.droidballet.listener.HorizontalMotionEvent.HORIZONTAL_DIRECTION;
+import com.lonepulse.droidballet.sensor.SensorSample;
 
 /**
  * <p>A concrete implementation of {@link MotionDetector} which detects <b>horizontal
- * motion</b>.
+ * motion</b> from the reading on the X-Axis, which rests at zero. The direction of a 
+ * sample is the same as that determined by a {@link FusedMotionDetector}.
  * 
  * @version 1.0.0
  * 
@@ -43,9 +46,63 @@ public class HorizontalMotionDetector implements MotionDetector<HorizontalMotion
 	
 	/**
 	 * <p>The instance of the {@link SmoothingFilter} which is used to smooth 
-	 * out the values from the motion sensor.
+	 * out the values from the motion sensor. The filter retains the state of 
+	 * the accelerometer stream, hence it belongs to this detector alone.
 	 */
-	private SmoothingFilter smoothingFilter;
+	private volatile SmoothingFilter smoothingFilter;
+	
+	/**
+	 * <p>The scratch buffer into which each sample is filtered. This is reused for every 
+	 * sample, since the {@link HorizontalMotionEvent} which is obtained copies it; hence a 
+	 * detector must not be shared by concurrent threads.
+	 */
+	private final float[] output = new float[SensorSample.AXES];
+	
+	/**
+	 * <p>Determines whether a failure of the {@link #smoothingFilter} has been logged. 
+	 * Only the first failure is logged, so that a filter which fails on every sample 
+	 * does not flood the log.
+	 */
+	private boolean filterFailureLogged;
+	
+	/**
+	 * <p>Determines whether a reading of type {@link Sensor#TYPE_GRAVITY} has been detected.
+	 */
+	private boolean gravityDetected;
+	
+	/**
+	 * <p>The timestamp of the last reading of type {@link Sensor#TYPE_GRAVITY}.
+	 */
+	private long gravityTimestamp;
+	
+	/**
+	 * <p>The {@link FusedMotionDetector} to which detection is delegated, or {@code null} 
+	 * if this detector filters each sample on its own.
+	 */
+	private final FusedMotionDetector fusedMotionDetector;
+	
+	/**
+	 * <p>The {@link DirectionHysteresis} which determines how readings are classified 
+	 * into directions and when events are emitted.
+	 */
+	private volatile DirectionHysteresis directionHysteresis = DirectionHysteresis.DEFAULT;
+	
+	/**
+	 * <p>The {@link DirectionHysteresis} with which the {@link #directionStateMachine} 
+	 * was last advanced. The state machine is reset once this is replaced.
+	 */
+	private DirectionHysteresis appliedHysteresis = DirectionHysteresis.DEFAULT;
+	
+	/**
+	 * <p>The {@link DirectionStateMachine} which tracks the direction on the X-Axis.
+	 */
+	private final DirectionStateMachine directionStateMachine = new DirectionStateMachine();
+	
+	/**
+	 * <p>The {@link BaselineCalibrator} which provides the neutral point of the X-Axis, 
+	 * or {@code null} if zero is used.
+	 */
+	private volatile BaselineCalibrator baselineCalibrator;
 
 	/**
 	 * <p>Constructor visibility restricted to prevent direct instantiation.</p> 
@@ -54,10 +111,14 @@ public class HorizontalMotionDetector implements MotionDetector<HorizontalMotion
 	 * 
 	 * @param smoothingFilter
 	 *            the {@link #smoothingFilter} to use
+	 * 
+	 * @param fusedMotionDetector
+	 *            the {@link #fusedMotionDetector} to use, or {@code null}
 	 */
-	private HorizontalMotionDetector(SmoothingFilter smoothingFilter) {
+	private HorizontalMotionDetector(SmoothingFilter smoothingFilter, FusedMotionDetector fusedMotionDetector) {
 		
 		this.smoothingFilter = smoothingFilter;
+		this.fusedMotionDetector = fusedMotionDetector;
 	}
 
 	/**
@@ -69,91 +130,239 @@ public class HorizontalMotionDetector implements MotionDetector<HorizontalMotion
 	 */
 	public static final HorizontalMotionDetector newInstance() {
 
-		return new HorizontalMotionDetector(new LowPassFilter());
+		return new HorizontalMotionDetector(new LowPassFilter(), null);
+	}
+	
+	/**
+	 * <p>Creates a new instance of a {@link HorizontalMotionDetector} which delegates to 
+	 * the given {@link FusedMotionDetector}. Detectors which share a fused detector 
+	 * filter each {@link SensorSample} only once.
+	 * 
+	 * @param fusedMotionDetector
+	 * 			the {@link FusedMotionDetector} which detects the motion
+	 * 
+	 * @return a new instance of {@link HorizontalMotionDetector}
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final HorizontalMotionDetector newInstance(FusedMotionDetector fusedMotionDetector) {
+		
+		return new HorizontalMotionDetector(null, fusedMotionDetector);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 * 
-	 * <p>The current implementation handles only {@link Sensor}s of type
-	 * {@link Sensor#TYPE_ACCELEROMETER}.</p>
+	 * <p>The current implementation handles {@link Sensor}s of type
+	 * {@link Sensor#TYPE_ACCELEROMETER} and the estimates of type 
+	 * {@link Sensor#TYPE_GRAVITY} produced by sensor fusion. The latter 
+	 * are already smoothed and skip the {@link #smoothingFilter}. While the latter keep 
+	 * arriving, the raw readings are left to gesture detection and ignored here.</p>
 	 * 
-	 * <p>Future implementations may support {@link Sensor#TYPE_GYROSCOPE}.</p>
+	 * <p>No memory is allocated per sample; the sample is filtered into the 
+	 * {@link #output} buffer and the returned event is taken from a pool.</p>
 	 */
 	@Override
-	public <U extends SensorEvent> HorizontalMotionEvent getMotionEvent(final U sensorEvent) 
+	public HorizontalMotionEvent getMotionEvent(final SensorSample sensorSample) 
 	throws MotionDetectorException {
 
+		if(fusedMotionDetector != null) {
+			
+			return fusedMotionDetector.getHorizontalMotionEvent(sensorSample);
+		}
+		
 		try {
 			
-			Sensor sensor = sensorEvent.sensor;
-	
-			if (sensor.getType() != Sensor.TYPE_ACCELEROMETER) { 
+			int sensorType = sensorSample.getSensorType();
+			
+			if (sensorType != Sensor.TYPE_ACCELEROMETER && sensorType != Sensor.TYPE_GRAVITY) { 
 	
 				return null;
 			}
+			
+			if (sensorType == Sensor.TYPE_GRAVITY) {
+				
+				gravityDetected = true;
+				gravityTimestamp = sensorSample.getTimestamp();
+			}
+			else if (gravityDetected && sensorSample.getTimestamp() - gravityTimestamp 
+					< FusedMotionDetector.GRAVITY_PREFERENCE_NANOS) {
+				
+				return null;
+			}
 	
-			final float[] input = sensorEvent.values;
-			final float[] output = new float[input.length];
-	
-			try {
-	
-				smoothingFilter.filter(input, output, null);
-			} 
-			catch (SmoothingFilterException sfe) {
-	
-				Log.w(getClass().getName(), 
-					  "Failed to execute " + smoothingFilter.getClass().getName() + " on " + input);
+			final float[] input = sensorSample.getValues();
+			final float[] output = this.output;
+			
+			if (sensorType == Sensor.TYPE_GRAVITY) {
+				
+				System.arraycopy(input, 0, output, 0, input.length);
 			}
+			else {
 	
-			float max = sensorEvent.sensor.getMaximumRange();
-			float mid = max / 2.0f;
+				try {
+					
+					smoothingFilter.filter(input, output, sensorSample.getTimestamp());
+				} 
+				catch (SmoothingFilterException sfe) {
+					
+					if(!filterFailureLogged) {
+						
+						filterFailureLogged = true;
+						Log.w(getClass().getName(), "Failed to execute " + smoothingFilter.getClass().getName(), sfe);
+					}
+				}
+			}
 	
-			float midRangeHigh = mid + 1.0f;
-			float midRangeLow = mid - 1.0f;
+			float zero = 0.0f;
+			float reading = output[0];
+			
+			BaselineCalibrator baselineCalibrator = this.baselineCalibrator;
+			
+			if(baselineCalibrator != null) {
+				
+				zero = baselineCalibrator.calibrate(reading, sensorSample.getTimestamp());
+			}
+			
+			DirectionHysteresis directionHysteresis = this.directionHysteresis;
+			
+			if(directionHysteresis != appliedHysteresis) {
+				
+				appliedHysteresis = directionHysteresis;
+				directionStateMachine.reset();
+			}
 	
-			HORIZONTAL_DIRECTION direction = processHorizontalDirection(output, midRangeHigh, midRangeLow);
+			HORIZONTAL_DIRECTION direction = processHorizontalDirection(output, zero, directionHysteresis);
+			
+			if(baselineCalibrator != null) {
+				
+				baselineCalibrator.adapt(reading, sensorSample.getTimestamp(), 
+						direction == HORIZONTAL_DIRECTION.NONE, directionHysteresis);
+			}
 			
-			return new HorizontalMotionEvent(sensorEvent, direction, output);
+			if(!directionStateMachine.emit(output[0], directionHysteresis)) {
+				
+				return null;
+			}
+			
+			return HorizontalMotionEvent.obtain(sensorSample, direction, output);
 		}
 		catch (Exception e) {
 	
-			throw new MotionDetectorException(getClass(), sensorEvent, e);
+			throw new MotionDetectorException(getClass(), sensorSample, e);
 		}
 	}
 
 	/**
-	 * <p>Determines the {@link HORIZONTAL_DIRECTION} of the motion and trims 
-	 * the sensor reading on the X-Axis to within the bounds handled by the the 
-	 * motion detector.
+	 * <p>Determines the {@link HORIZONTAL_DIRECTION} of the motion from the sensor reading 
+	 * on the X-Axis, which rests at zero. A device which is tilted to the left reads a 
+	 * positive value.
 	 *  
 	 * @param output
 	 * 			the smoothed sensor values
 	 * 
-	 * @param midRangeHigh
-	 * 			the upper-bound of the mid-range which correlates with {@link HORIZONTAL_DIRECTION#NONE}
+	 * @param zero
+	 * 			the resting reading of the X-Axis, or the calibrated baseline
 	 * 
-	 * @param midRangeLow
-	 * 			the lower-bound of the mid-range which correlates with {@link HORIZONTAL_DIRECTION#NONE}
+	 * @param directionHysteresis
+	 * 			the {@link DirectionHysteresis} which determines the range which 
+	 * 			correlates with {@link HORIZONTAL_DIRECTION#NONE}
 	 * 
 	 * @return the {@link HORIZONTAL_DIRECTION} of the motion
 	 */
-	private HORIZONTAL_DIRECTION processHorizontalDirection(float[] output, float midRangeHigh, float midRangeLow) {
-
-		output[1] = (output[1] < 0)? 0.0f : output[1];
-		
-		if (output[1] < midRangeLow) {
-
-			output[1] *= -1;
-			return HORIZONTAL_DIRECTION.RIGHT;
-		} 
-		else if (output[1] > midRangeHigh) {
+	private HORIZONTAL_DIRECTION processHorizontalDirection(float[] output, float zero, DirectionHysteresis directionHysteresis) {
 
-			return HORIZONTAL_DIRECTION.LEFT;
-		} 
-		else {
-
-			return HORIZONTAL_DIRECTION.NONE;
+		switch (directionStateMachine.advance(output[0] - zero, directionHysteresis)) {
+			
+			case DirectionStateMachine.NEGATIVE:
+				
+				return HORIZONTAL_DIRECTION.RIGHT;
+			
+			case DirectionStateMachine.POSITIVE:
+				
+				return HORIZONTAL_DIRECTION.LEFT;
+			
+			default:
+				
+				return HORIZONTAL_DIRECTION.NONE;
 		}
 	}
+	
+	/**
+	 * <p>Sets the {@link DirectionHysteresis} which determines how readings are classified 
+	 * into directions and when events are emitted. If this detector delegates to a 
+	 * {@link FusedMotionDetector}, the hysteresis is set on the fused detector.
+	 * 
+	 * @param directionHysteresis
+	 * 			the {@link DirectionHysteresis} to use; <b>cannot be null</b>
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setDirectionHysteresis(DirectionHysteresis directionHysteresis) {
+		
+		if(fusedMotionDetector != null)
+			fusedMotionDetector.setDirectionHysteresis(directionHysteresis);
+		
+		else this.directionHysteresis = directionHysteresis;
+	}
+	
+	/**
+	 * <p>Enables or disables the online calibration of the neutral point, which replaces 
+	 * the resting reading of zero with a {@link BaselineCalibrator}. Enabling it 
+	 * starts a new baseline. If this detector delegates to a {@link FusedMotionDetector}, 
+	 * the calibration is set on the fused detector.
+	 * 
+	 * @param autoCalibration
+	 * 			{@code true} to calibrate the neutral point
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setAutoCalibration(boolean autoCalibration) {
+		
+		if(fusedMotionDetector != null)
+			fusedMotionDetector.setAutoCalibration(autoCalibration);
+		
+		else this.baselineCalibrator = autoCalibration? new BaselineCalibrator() : null;
+	}
+	
+	/**
+	 * <p>Sets the time constant of the {@link LowPassFilter} which smooths the accelerometer 
+	 * stream. A longer time constant suppresses more jitter at the expense of latency. This 
+	 * starts a new stream. If this detector delegates to a {@link FusedMotionDetector}, the 
+	 * time constant is set on the fused detector.
+	 * 
+	 * @param smoothingTimeConstant
+	 * 			the time constant in seconds; must be greater than zero
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			if the time constant is not positive
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setSmoothingTimeConstant(float smoothingTimeConstant) {
+		
+		if(fusedMotionDetector != null)
+			fusedMotionDetector.setSmoothingTimeConstant(smoothingTimeConstant);
+		
+		else this.smoothingFilter = new LowPassFilter.Builder().setTimeConstant(smoothingTimeConstant).build();
+	}
+	
+	/**
+	 * <p>Sets the {@link SmoothingFilter}, such as a {@link OneEuroFilter} or a {@link FilterChain}, 
+	 * which smooths the accelerometer stream. The filter retains the state of the stream, hence 
+	 * it should not be shared with another detector. If this detector delegates to a 
+	 * {@link FusedMotionDetector}, the filter is set on the fused detector.
+	 * 
+	 * @param smoothingFilter
+	 * 			the {@link SmoothingFilter} to use; <b>cannot be null</b>
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setSmoothingFilter(SmoothingFilter smoothingFilter) {
+		
+		if(fusedMotionDetector != null)
+			fusedMotionDetector.setSmoothingFilter(smoothingFilter);
+		
+		else this.smoothingFilter = smoothingFilter;
+	}
 }
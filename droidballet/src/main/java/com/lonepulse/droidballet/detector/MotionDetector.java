@@ -21,12 +21,16 @@ package com.lonepulse.droidballet.detector;
  */
 
 import android.hardware.Sensor;
-import android.hardware.SensorEvent;
 
 import com.lonepulse.droidballet.listener.MotionEvent;
+import com.lonepulse.droidballet.sensor.SensorSample;
 
 /**
- * <p>The common contract implemented by all motion detectors.
+ * <p>The common contract implemented by all motion detectors.</p>
+ * 
+ * <p>Detection is performed for every sample and should not allocate memory; implementations 
+ * are expected to reuse their own buffers and to return pooled {@link MotionEvent}s. Hence a 
+ * detector is not required to be thread-safe.</p>
  * 
  * @version 1.0.0
  * 
@@ -35,22 +39,23 @@ import com.lonepulse.droidballet.listener.MotionEvent;
 public interface MotionDetector<T extends MotionEvent> {
 	
 	/**
-	 * <p>Takes an instance of a {@link SensorEvent} and generates the 
+	 * <p>Takes an instance of a {@link SensorSample} and generates the 
 	 * repective {@link MotionEvent} associated with this {@link MotionDetector}.
 	 * 
-	 * @param sensorEvent
-	 * 			the {@link SensorEvent} aquired by a {@link Sensor}.
+	 * @param sensorSample
+	 * 			the {@link SensorSample} aquired by a {@link Sensor}.
 	 * 
 	 * @return the generated {@link MotionEvent}, or <b>{@code null}</b> if a 
 	 * 			motion event of the current detector type cannot be created using 
-	 * 			the {@link SensorEvent}. 
+	 * 			the {@link SensorSample}; the event should be {@link MotionEvent#recycle()}d 
+	 * 			once it has been dispatched 
 	 * 
 	 * @throws MotionDetectorException
-	 * 			if there is a failure in detecting motion using the {@link SensorEvent} 
+	 * 			if there is a failure in detecting motion using the {@link SensorSample} 
 	 * 			produced by the sensor
 	 * <br><br>
-	 * @since 1.0.0
+	 * @since 1.1.0
 	 */
-	public <U extends SensorEvent> T getMotionEvent(U sensorEvent)
+	public T getMotionEvent(SensorSample sensorSample)
 	throws MotionDetectorException;
 }
@@ -21,9 +21,10 @@ package com.lonepulse.droidballet.detector;
  */
 
 
-import android.hardware.SensorEvent;
+import java.util.Arrays;
 
 import com.lonepulse.droidballet.DroidBalletException;
+import com.lonepulse.droidballet.sensor.SensorSample;
 
 /**
  * <p>This {@link DroidBalletException} is thrown when a motion detection 
@@ -45,18 +46,18 @@ public class MotionDetectorException extends DroidBalletException {
 	 * @param motionDetectorType
 	 * 			the {@link Class} type of the {@link MotionDetector} implementation
 	 * 
-	 * @param sensorEvent
-	 * 			the {@link SensorEvent} for which motion detection failed
+	 * @param sensorSample
+	 * 			the {@link SensorSample} for which motion detection failed
 	 * 
 	 * @param rootCause
 	 * 			the {@link Exception} which was the root cause
 	 */
 	public MotionDetectorException(Class<? extends MotionDetector<?>> motionDetectorType, 
-								   SensorEvent sensorEvent,
+								   SensorSample sensorSample,
 								   Throwable rootCause) {
 		
 		this("Motion detection failed on " + motionDetectorType + 
-			 " with sensor values " + sensorEvent.values + ". ", rootCause);
+			 " with sensor values " + Arrays.toString(sensorSample.getValues()) + ". ", rootCause);
 	}
 	
 	/**
@@ -0,0 +1,307 @@
+package com.lonepulse.droidballet.detector;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.lonepulse.droidballet.sensor.SensorSample;
+
+/**
+ * <p>A ring buffer of the accelerometer readings within a fixed <b>duration</b>, held in primitive
+ * arrays, which maintains the statistics of the readings in the window <i>incrementally</i>.
+ * Adding a reading evicts the readings which have aged out of the window and updates the running
+ * sums in amortized constant time, regardless of the length of the window. Since the window is
+ * bounded by the timestamps of the readings, it covers the same span of motion at any sampling
+ * rate. The buffer holds at most a fixed number of readings; at rates which exceed its capacity
+ * the oldest readings are evicted early.</p>
+ * 
+ * <p>The statistics comprise the mean of each axis, the <b>variance</b> of the acceleration,
+ * which is the sum of the variances of its axes, and the mean <b>jerk</b>, which is the
+ * magnitude of the rate of change of the acceleration between consecutive readings.</p>
+ * 
+ * <p>Instances are not thread-safe; each belongs to a single motion detector.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+final class SampleWindow {
+	
+	
+	/**
+	 * <p>The number of nanoseconds in a second.
+	 */
+	private static final float NANOS_PER_SECOND = 1000000000.0f;
+	
+	
+	/**
+	 * <p>The duration of the window in nanoseconds.
+	 */
+	private final long duration;
+	
+	/**
+	 * <p>The timestamps of the readings.
+	 */
+	private final long[] timestamps;
+	
+	/**
+	 * <p>The readings on the X-Axis.
+	 */
+	private final float[] x;
+	
+	/**
+	 * <p>The readings on the Y-Axis.
+	 */
+	private final float[] y;
+	
+	/**
+	 * <p>The readings on the Z-Axis.
+	 */
+	private final float[] z;
+	
+	/**
+	 * <p>The jerk of each reading with respect to its predecessor.
+	 */
+	private final float[] jerk;
+	
+	/**
+	 * <p>The index of the slot which is written next.
+	 */
+	private int head;
+	
+	/**
+	 * <p>The number of readings in the window.
+	 */
+	private int size;
+	
+	/**
+	 * <p>The running sums of the readings in the window. Sums are accumulated in
+	 * double precision to contain the error of repeated subtraction.
+	 */
+	private double sumX, sumY, sumZ, sumSquares, sumJerk;
+	
+	/**
+	 * <p>The last reading which was added, used to derive the jerk of the next.
+	 */
+	private final float[] previous = new float[SensorSample.AXES];
+	
+	/**
+	 * <p>The timestamp of the last reading which was added.
+	 */
+	private long previousTimestamp;
+	
+	/**
+	 * <p>The timestamp of the first reading which was added.
+	 */
+	private long firstTimestamp;
+	
+	
+	/**
+	 * <p>Creates a new {@link SampleWindow} of the given duration.
+	 * 
+	 * @param duration
+	 * 			the duration of the window in nanoseconds
+	 * 
+	 * @param capacity
+	 * 			the maximum number of readings held in the window
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			if the duration is not positive or if the capacity is less than two
+	 */
+	SampleWindow(long duration, int capacity) {
+		
+		if(duration <= 0L)
+			throw new IllegalArgumentException("The duration of a sample window must be greater than zero. ");
+		
+		if(capacity < 2)
+			throw new IllegalArgumentException("The capacity of a sample window must be at least two. ");
+		
+		this.duration = duration;
+		
+		timestamps = new long[capacity];
+		x = new float[capacity];
+		y = new float[capacity];
+		z = new float[capacity];
+		jerk = new float[capacity];
+	}
+	
+	/**
+	 * <p>Adds a reading to the window, evicting the readings which are older than the 
+	 * duration of the window, and the oldest one if the window is at its capacity.
+	 * 
+	 * @param timestamp
+	 * 			the timestamp of the reading in nanoseconds
+	 * 
+	 * @param values
+	 * 			the axis values of the reading
+	 */
+	void add(long timestamp, float[] values) {
+		
+		float vx = values[0], vy = values[1], vz = values[2];
+		float j = 0.0f;
+		
+		if(size > 0) {
+			
+			float dt = (timestamp - previousTimestamp) / NANOS_PER_SECOND;
+			
+			if(dt > 0.0f) {
+				
+				float dx = vx - previous[0], dy = vy - previous[1], dz = vz - previous[2];
+				j = (float) Math.sqrt(dx * dx + dy * dy + dz * dz) / dt;
+			}
+		}
+		else {
+			
+			firstTimestamp = timestamp;
+		}
+		
+		while(size > 0 && timestamp - timestamps[tail()] >= duration) {
+			
+			evict();
+		}
+		
+		if(size == x.length) {
+			
+			evict();
+		}
+		
+		size++;
+		
+		timestamps[head] = timestamp;
+		x[head] = vx;
+		y[head] = vy;
+		z[head] = vz;
+		jerk[head] = j;
+		
+		sumX += vx;
+		sumY += vy;
+		sumZ += vz;
+		sumSquares += (double) vx * vx + (double) vy * vy + (double) vz * vz;
+		sumJerk += j;
+		
+		head = (head + 1 == x.length)? 0 : head + 1;
+		
+		System.arraycopy(values, 0, previous, 0, SensorSample.AXES);
+		previousTimestamp = timestamp;
+	}
+	
+	/**
+	 * <p>Returns the index of the oldest reading in the window.
+	 * 
+	 * @return the index of the oldest reading
+	 */
+	private int tail() {
+		
+		int tail = head - size;
+		
+		return (tail < 0)? tail + x.length : tail;
+	}
+	
+	/**
+	 * <p>Removes the oldest reading from the window and from the running sums.
+	 */
+	private void evict() {
+		
+		int tail = tail();
+		
+		sumX -= x[tail];
+		sumY -= y[tail];
+		sumZ -= z[tail];
+		sumSquares -= (double) x[tail] * x[tail] + (double) y[tail] * y[tail] + (double) z[tail] * z[tail];
+		sumJerk -= jerk[tail];
+		
+		size--;
+	}
+	
+	/**
+	 * <p>Determines whether the readings which were added span the whole duration 
+	 * of the window, so that its statistics describe a complete window.
+	 * 
+	 * @return {@code true} if the window is full
+	 */
+	boolean isFull() {
+		
+		return size > 1 && previousTimestamp - firstTimestamp >= duration;
+	}
+	
+	/**
+	 * <p>Returns the number of readings in the window.
+	 * 
+	 * @return the number of readings
+	 */
+	int size() {
+		
+		return size;
+	}
+	
+	/**
+	 * <p>Returns the mean of the readings on the X-Axis.
+	 * 
+	 * @return the mean X reading, or {@code 0} if the window is empty
+	 */
+	float getMeanX() {
+		
+		return (size == 0)? 0.0f : (float) (sumX / size);
+	}
+	
+	/**
+	 * <p>Returns the mean of the readings on the Y-Axis.
+	 * 
+	 * @return the mean Y reading, or {@code 0} if the window is empty
+	 */
+	float getMeanY() {
+		
+		return (size == 0)? 0.0f : (float) (sumY / size);
+	}
+	
+	/**
+	 * <p>Returns the variance of the acceleration, which is the sum of the variances of its axes.
+	 * 
+	 * @return the variance of the acceleration, or {@code 0} if the window is empty
+	 */
+	float getVariance() {
+		
+		if(size == 0) return 0.0f;
+		
+		double meanX = sumX / size, meanY = sumY / size, meanZ = sumZ / size;
+		
+		return (float) Math.max(sumSquares / size - (meanX * meanX + meanY * meanY + meanZ * meanZ), 0.0);
+	}
+	
+	/**
+	 * <p>Returns the mean jerk of the readings.
+	 * 
+	 * @return the mean jerk, or {@code 0} if the window is empty
+	 */
+	float getMeanJerk() {
+		
+		return (size == 0)? 0.0f : (float) (sumJerk / size);
+	}
+	
+	/**
+	 * <p>Returns the jerk of the last reading which was added.
+	 * 
+	 * @return the jerk of the latest reading, or {@code 0} if the window is empty
+	 */
+	float getJerk() {
+		
+		return (size == 0)? 0.0f : jerk[(head == 0)? jerk.length - 1 : head - 1];
+	}
+}
@@ -28,10 +28,11 @@ import java.util.Set;
  * <p>An abstract implementation of a {@link SmoothingFilter} which handles the algorithm 
  * <i>security</i> and <i>execution</i>. 
  * 
- * <p>The execute an implementation, {@link AbstractSmoothingFilter#filter(float[], float[], Map)} 
- * should be invoked.
+ * <p>The execute an implementation, {@link AbstractSmoothingFilter#filter(float[], float[])} 
+ * should be invoked. Only the input and output arrays are verified on this path, since the 
+ * parameters of an implementation are validated once when it is constructed.
  * 
- * @version 1.0.0
+ * @version 1.1.0
  * <br><br>
  * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
  */
@@ -42,12 +43,18 @@ public abstract class AbstractSmoothingFilter implements SmoothingFilter {
 	 * <p>A {@link Map} which contains all the arguments used in the filter 
 	 * and their associated types. 
 	 */
-	private Map<Integer, Class<?>> argTypes = new HashMap<Integer, Class<?>>();
+	private final Map<Integer, Class<?>> argTypes = new HashMap<Integer, Class<?>>();
+	
+	/**
+	 * <p>Determines whether the arguments have been registered into the {@link #argTypes}.
+	 */
+	private boolean parametersRegistered;
 	
 
 	/**
 	 * <p>The template method which must be used to register arguments (if any) for 
-	 * the filter algorithm.
+	 * the filter algorithm. This is invoked once, on the first invocation of the 
+	 * deprecated {@link #filter(float[], float[], Map)}.
 	 * 
 	 * <p>A sample argument registration would be as follows:
 	 * <pre>
@@ -86,6 +93,89 @@ public abstract class AbstractSmoothingFilter implements SmoothingFilter {
 	protected abstract float[] runAlgorithm(float[] input, float[] output, Map<Integer, ? extends Object> args) 
 	throws SmoothingFilterException;
 	
+	/**
+	 * <p>The template method provided for the implementation of the algorithm over a 
+	 * sensor stream. Algorithms which adapt to the sampling rate should override this 
+	 * to smooth the reading against their retained state. 
+	 * 
+	 * <p>The default implementation ignores the timestamp and runs the 
+	 * {@link #runAlgorithm(float[], float[])}.
+	 * 
+	 * @param input
+	 * 			the values of the reading which need to be filtered
+	 * 
+	 * @param output
+	 * 			the array used to populate the output values
+	 * 
+	 * @param timestamp
+	 * 			the timestamp of the reading in nanoseconds
+	 * 
+	 * @return the filtered (<i>smoothed</i>) array of floats
+	 * 
+	 * @throws SmoothingFilterException
+	 * 			when the algorithm is erroneous or it cannot execute on the given reading
+	 * 
+	 * @since 1.1.0
+	 */
+	protected float[] runAlgorithm(float[] input, float[] output, long timestamp) 
+	throws SmoothingFilterException {
+		
+		return runAlgorithm(input, output);
+	}
+	
+	/**
+	 * <p>The template method provided for the implementation of the algorithm over a sensor 
+	 * stream whose readings are evenly spaced. Implementations should override this to run 
+	 * with the parameters they were constructed with. 
+	 * 
+	 * <p>The default implementation runs the {@link #runAlgorithm(float[], float[], Map)} 
+	 * with the default arguments against the given output.
+	 * 
+	 * @param input
+	 * 			the values of the reading which need to be filtered; verified to 
+	 * 			match the length of the output
+	 * 
+	 * @param output
+	 * 			the array used to populate the output values
+	 * 
+	 * @return the filtered (<i>smoothed</i>) array of floats
+	 * 
+	 * @throws SmoothingFilterException
+	 * 			when the algorithm is erroneous or it cannot execute on the given reading
+	 * 
+	 * @since 1.1.0
+	 */
+	protected float[] runAlgorithm(float[] input, float[] output) 
+	throws SmoothingFilterException {
+		
+		return runAlgorithm(input, output, null);
+	}
+	
+	/**
+	 * <p>Verifies that the input and output arrays are present and match in length.
+	 * 
+	 * @param input
+	 * 			an array of floating point values which need to be filtered
+	 * 
+	 * @param output
+	 * 			the array used to populate the output values
+	 * 
+	 * @throws SmoothingFilterException
+	 * 			when either array is {@code null} or their lengths differ
+	 */
+	private void verify(float[] input, float[] output) throws SmoothingFilterException {
+		
+		if(input == null)
+			throw new SmoothingFilterException(getClass(), "Input array is null.", new NullPointerException());
+		
+		if(output == null) 
+			throw new SmoothingFilterException(getClass(), "Output array is null.", new NullPointerException());
+		
+		if(input.length != output.length)
+			throw new SmoothingFilterException(getClass(), 
+					"Input array length does not match the Output array length.");
+	}
+	
 	/**
 	 * <p>Validates the input and output arrays along with the arguments supplied 
 	 * to the filter algorithm.
@@ -108,15 +198,7 @@ public abstract class AbstractSmoothingFilter implements SmoothingFilter {
 	private void validate(float[] input, float[] output, Map<Integer, ? extends Object> args) 
 	throws SmoothingFilterException {
 		
-		if(input == null)
-			throw new SmoothingFilterException(getClass(), "Input array is null.", new NullPointerException());
-		
-		if(output == null) 
-			throw new SmoothingFilterException(getClass(), "Output array is null.", new NullPointerException());
-		
-		if(input.length != output.length)
-			throw new SmoothingFilterException(getClass(), 
-					"Input array length does not match the Output array length.");
+		verify(input, output);
 		
 		if(args != null) {
 			
@@ -149,12 +231,21 @@ public abstract class AbstractSmoothingFilter implements SmoothingFilter {
 	 * {@inheritDoc}
 	 */
 	@Override
+	@Deprecated
 	public float[] filter(float[] input, float[] output, Map<Integer, ? extends Object> args) 
 	throws SmoothingFilterException {
 
 		try {
 		
-			registerParameters(this.argTypes);
+			synchronized (argTypes) {
+				
+				if(!parametersRegistered) {
+					
+					registerParameters(this.argTypes);
+					parametersRegistered = true;
+				}
+			}
+			
 			validate(input, output, args);
 			
 			return runAlgorithm(input, output, args);
@@ -164,4 +255,37 @@ public abstract class AbstractSmoothingFilter implements SmoothingFilter {
 			throw new SmoothingFilterException(getClass(), "", e);
 		}
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float[] filter(float[] input, float[] output) 
+	throws SmoothingFilterException {
+		
+		verify(input, output);
+		
+		return runAlgorithm(input, output);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float[] filter(float[] input, float[] output, long timestamp) 
+	throws SmoothingFilterException {
+		
+		verify(input, output);
+		
+		return runAlgorithm(input, output, timestamp);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The default implementation retains no state and does nothing.</p>
+	 */
+	@Override
+	public void reset() {
+	}
 }
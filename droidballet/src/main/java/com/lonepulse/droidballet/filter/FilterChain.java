@@ -0,0 +1,568 @@
+package com.lonepulse.droidballet.filter;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A realization of a {@link SmoothingFilter} which composes several <b>stages</b> and runs
+ * them in a single fused loop. Each axis of a reading is passed through every stage in turn
+ * while it is held in a local variable, so adding stages neither adds passes over the arrays
+ * nor allocates intermediate arrays. The state of all stages is held in primitive arrays which
+ * are allocated once, with the first reading of the sensor stream.</p>
+ * 
+ * <p>The available stages are:</p>
+ * 
+ * <ul>
+ * <li><b>High Pass</b>, which removes the slowly changing component of a reading, such as
+ * gravity, by subtracting a low pass estimate of it.</li>
+ * <li><b>Low Pass</b>, which follows the reading with an exponential moving average.</li>
+ * <li><b>Median</b>, which takes the median of the most recent readings and rejects spikes.</li>
+ * <li><b>Outlier Clamp</b>, which limits the change of the reading between consecutive
+ * readings to a maximum step.</li>
+ * </ul>
+ * 
+ * <p>The stages run in the order in which they were added to a {@link FilterChain.Builder}:</p>
+ * 
+ * <p><font color="#424242"><pre>
+ * SmoothingFilter filter = new FilterChain.Builder()
+ *                              .addMedian(5)
+ *                              .addOutlierClamp(2.0f)
+ *                              .addLowPass(0.1f)
+ *                              .build();
+ * </pre></font></p>
+ * 
+ * <p>The smoothing factor of the pass stages is derived from their time constants and the
+ * interval since the previous reading, or the configured sampling interval for readings
+ * which are filtered without a timestamp. The first reading of a stream seeds every stage.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public final class FilterChain extends AbstractSmoothingFilter {
+	
+	
+	/**
+	 * <p>The sampling interval in seconds which is assumed by default for
+	 * readings that are filtered without a timestamp.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final float DEFAULT_SAMPLING_INTERVAL = 0.2f;
+	
+	/**
+	 * <p>The identifier of a high pass stage.
+	 */
+	private static final int HIGH_PASS = 0;
+	
+	/**
+	 * <p>The identifier of a low pass stage.
+	 */
+	private static final int LOW_PASS = 1;
+	
+	/**
+	 * <p>The identifier of a median stage.
+	 */
+	private static final int MEDIAN = 2;
+	
+	/**
+	 * <p>The identifier of an outlier clamp stage.
+	 */
+	private static final int OUTLIER_CLAMP = 3;
+	
+	/**
+	 * <p>The number of nanoseconds in a second.
+	 */
+	private static final float NANOS_PER_SECOND = 1000000000.0f;
+	
+	
+	/**
+	 * <p>This utility class is used to compose and validate the stages of
+	 * a {@link FilterChain}, which are then fixed for the lifetime of the chain.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static class Builder {
+		
+		/**
+		 * <p>The identifiers of the stages in the order in which they were added.
+		 */
+		private final List<Integer> stages = new ArrayList<Integer>();
+		
+		/**
+		 * <p>The parameter of each stage in {@link #stages}.
+		 */
+		private final List<Float> parameters = new ArrayList<Float>();
+		
+		/**
+		 * <p>See {@link FilterChain#samplingInterval}.
+		 */
+		private float samplingInterval = DEFAULT_SAMPLING_INTERVAL;
+		
+		
+		/**
+		 * <p>Appends a stage to the chain.
+		 * 
+		 * @param stage
+		 * 			the identifier of the stage
+		 * 
+		 * @param parameter
+		 * 			the parameter of the stage
+		 * 
+		 * @return this instance of {@link FilterChain.Builder}
+		 */
+		private Builder add(int stage, float parameter) {
+			
+			stages.add(stage);
+			parameters.add(parameter);
+			
+			return this;
+		}
+		
+		/**
+		 * <p>Appends a <b>high pass</b> stage which removes the slowly changing component of
+		 * the reading, such as gravity. The component is estimated with a low pass of the
+		 * given time constant.
+		 * 
+		 * @param timeConstant
+		 * 			the time constant in seconds of the removed component; must be greater than zero
+		 * 
+		 * @return this instance of {@link FilterChain.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder addHighPass(float timeConstant) {
+			
+			return add(HIGH_PASS, timeConstant);
+		}
+		
+		/**
+		 * <p>Appends a <b>low pass</b> stage which follows the reading with an exponential
+		 * moving average of the given time constant.
+		 * 
+		 * @param timeConstant
+		 * 			the time constant in seconds; must be greater than zero
+		 * 
+		 * @return this instance of {@link FilterChain.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder addLowPass(float timeConstant) {
+			
+			return add(LOW_PASS, timeConstant);
+		}
+		
+		/**
+		 * <p>Appends a <b>median</b> stage which takes the median of the given number
+		 * of most recent readings.
+		 * 
+		 * @param windowSize
+		 * 			the number of readings; must be odd and at least three
+		 * 
+		 * @return this instance of {@link FilterChain.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder addMedian(int windowSize) {
+			
+			return add(MEDIAN, windowSize);
+		}
+		
+		/**
+		 * <p>Appends an <b>outlier clamp</b> stage which limits the change of the
+		 * reading from the previous output of the stage to the given step.
+		 * 
+		 * @param maxStep
+		 * 			the maximum change between consecutive readings; must be greater than zero
+		 * 
+		 * @return this instance of {@link FilterChain.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder addOutlierClamp(float maxStep) {
+			
+			return add(OUTLIER_CLAMP, maxStep);
+		}
+		
+		/**
+		 * <p>Sets the interval between readings which is assumed for readings that are
+		 * filtered without a timestamp. Defaults to {@link FilterChain#DEFAULT_SAMPLING_INTERVAL}.
+		 * 
+		 * @param samplingInterval
+		 * 			the sampling interval in seconds; must be greater than zero
+		 * 
+		 * @return this instance of {@link FilterChain.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setSamplingInterval(float samplingInterval) {
+			
+			this.samplingInterval = samplingInterval;
+			return this;
+		}
+		
+		/**
+		 * <p>Creates an instance of {@link FilterChain} to reflect the stages
+		 * added to this instance of {@link FilterChain.Builder}.
+		 * 
+		 * @return the configured instance of {@link FilterChain}
+		 * 
+		 * @throws IllegalArgumentException
+		 * 			if no stage was added or the parameter of a stage is invalid
+		 * 
+		 * @since 1.1.0
+		 */
+		public FilterChain build() {
+			
+			if(stages.isEmpty())
+				throw new IllegalArgumentException("A filter chain must have at least one stage. ");
+			
+			if(!(samplingInterval > 0.0f))
+				throw new IllegalArgumentException("The sampling interval must be greater than zero. ");
+			
+			for (int i = 0; i < stages.size(); i++) {
+				
+				float parameter = parameters.get(i);
+				
+				if(stages.get(i) == MEDIAN) {
+					
+					if(parameter < 3 || parameter % 2 == 0)
+						throw new IllegalArgumentException("The window of a median stage must be odd and at least three. ");
+				}
+				else if(!(parameter > 0.0f)) {
+					
+					throw new IllegalArgumentException("The parameter of stage " + i + " must be greater than zero. ");
+				}
+			}
+			
+			return new FilterChain(this);
+		}
+	}
+	
+	
+	/**
+	 * <p>The identifier of each stage, in the order in which the stages run.
+	 */
+	private final int[] stages;
+	
+	/**
+	 * <p>The time constant of each pass stage, the window size of each median
+	 * stage, or the maximum step of each outlier clamp stage.
+	 */
+	private final float[] parameters;
+	
+	/**
+	 * <p>The interval in seconds which is assumed between readings that
+	 * are filtered without a timestamp.
+	 */
+	private final float samplingInterval;
+	
+	/**
+	 * <p>The smoothing factor of each pass stage for the current reading.
+	 */
+	private final float[] alphas;
+	
+	/**
+	 * <p>The offset of the window of each median stage within a {@link #medianWindows} row.
+	 */
+	private final int[] medianOffsets;
+	
+	/**
+	 * <p>The index in its window at which each median stage writes the next reading.
+	 */
+	private final int[] medianHeads;
+	
+	/**
+	 * <p>The scratch buffer in which a median window is sorted.
+	 */
+	private final float[] medianScratch;
+	
+	/**
+	 * <p>The total length of the windows of all median stages.
+	 */
+	private final int medianLength;
+	
+	/**
+	 * <p>The state of each stage for each axis, laid out as {@code axis * stages + stage}.
+	 */
+	private float[] state;
+	
+	/**
+	 * <p>The windows of the median stages for each axis, laid out as {@code axis * medianLength + offset}.
+	 */
+	private float[] medianWindows;
+	
+	/**
+	 * <p>The timestamp in nanoseconds of the previous reading of the sensor stream.
+	 */
+	private long timestamp;
+	
+	
+	/**
+	 * <p>Creates a new {@link FilterChain} using the validated stages
+	 * of the given {@link FilterChain.Builder}.
+	 * 
+	 * @param builder
+	 * 			the {@link Builder} which composed the chain
+	 */
+	private FilterChain(Builder builder) {
+		
+		int count = builder.stages.size();
+		
+		this.stages = new int[count];
+		this.parameters = new float[count];
+		this.alphas = new float[count];
+		this.medianOffsets = new int[count];
+		this.medianHeads = new int[count];
+		this.samplingInterval = builder.samplingInterval;
+		
+		int medianLength = 0, maxWindow = 0;
+		
+		for (int i = 0; i < count; i++) {
+			
+			stages[i] = builder.stages.get(i);
+			parameters[i] = builder.parameters.get(i);
+			
+			if(stages[i] == MEDIAN) {
+				
+				int window = (int) parameters[i];
+				
+				medianOffsets[i] = medianLength;
+				medianLength += window;
+				maxWindow = Math.max(maxWindow, window);
+			}
+		}
+		
+		this.medianLength = medianLength;
+		this.medianScratch = new float[maxWindow];
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>A {@link FilterChain} accepts no arguments; the reading is passed through
+	 * its stages as a reading of its sensor stream.</p>
+	 */
+	@Override
+	protected float[] runAlgorithm(float[] input, float[] output, Map<Integer, ? extends Object> args)
+	throws SmoothingFilterException {
+		
+		return runAlgorithm(input, output);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The smoothing factor of the pass stages is derived from the interval since
+	 * the previous reading. A reading whose timestamp does not advance leaves the
+	 * state of the pass stages intact.</p>
+	 */
+	@Override
+	protected float[] runAlgorithm(float[] input, float[] output, long timestamp)
+	throws SmoothingFilterException {
+		
+		float dt = (timestamp - this.timestamp) / NANOS_PER_SECOND;
+		this.timestamp = timestamp;
+		
+		return run(input, output, (dt > 0.0f)? dt : 0.0f);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The readings are assumed to be spaced by the configured sampling interval.</p>
+	 */
+	@Override
+	protected float[] runAlgorithm(float[] input, float[] output)
+	throws SmoothingFilterException {
+		
+		return run(input, output, samplingInterval);
+	}
+	
+	/**
+	 * <p>Passes each axis of the reading through every stage in a single loop.
+	 * 
+	 * @param input
+	 * 			the values of the reading which need to be filtered
+	 * 
+	 * @param output
+	 * 			the array used to populate the output values
+	 * 
+	 * @param dt
+	 * 			the interval in seconds since the previous reading
+	 * 
+	 * @return the output array, populated with the filtered reading
+	 */
+	private float[] run(float[] input, float[] output, float dt) {
+		
+		final int[] stages = this.stages;
+		final float[] parameters = this.parameters;
+		final float[] alphas = this.alphas;
+		final int count = stages.length;
+		
+		boolean seed = (state == null || state.length != input.length * count);
+		
+		if(seed) {
+			
+			state = new float[input.length * count];
+			medianWindows = new float[input.length * medianLength];
+		}
+		
+		for (int s = 0; s < count; s++) {
+			
+			if(stages[s] == HIGH_PASS || stages[s] == LOW_PASS)
+				alphas[s] = dt / (parameters[s] + dt);
+		}
+		
+		final float[] state = this.state;
+		final float[] medianWindows = this.medianWindows;
+		
+		for (int axis = 0; axis < input.length; axis++) {
+			
+			float value = input[axis];
+			int base = axis * count;
+			
+			for (int s = 0; s < count; s++) {
+				
+				int index = base + s;
+				
+				switch (stages[s]) {
+					
+					case HIGH_PASS: {
+						
+						if(seed) state[index] = value;
+						else state[index] += alphas[s] * (value - state[index]);
+						
+						value -= state[index];
+						break;
+					}
+					case LOW_PASS: {
+						
+						if(seed) state[index] = value;
+						else state[index] += alphas[s] * (value - state[index]);
+						
+						value = state[index];
+						break;
+					}
+					case MEDIAN: {
+						
+						value = median(medianWindows, axis * medianLength + medianOffsets[s],
+									   (int) parameters[s], medianHeads[s], value, seed);
+						break;
+					}
+					case OUTLIER_CLAMP: {
+						
+						if(!seed) {
+							
+							float step = parameters[s];
+							float previous = state[index];
+							
+							if(value > previous + step) value = previous + step;
+							else if(value < previous - step) value = previous - step;
+						}
+						
+						state[index] = value;
+						break;
+					}
+				}
+			}
+			
+			output[axis] = value;
+		}
+		
+		for (int s = 0; s < count; s++) {
+			
+			if(stages[s] == MEDIAN)
+				medianHeads[s] = (medianHeads[s] + 1 == (int) parameters[s])? 0 : medianHeads[s] + 1;
+		}
+		
+		return output;
+	}
+	
+	/**
+	 * <p>Writes a value into a median window and returns the median of the window.
+	 * 
+	 * @param windows
+	 * 			the array which holds the window
+	 * 
+	 * @param offset
+	 * 			the offset of the window in the array
+	 * 
+	 * @param size
+	 * 			the number of readings in the window
+	 * 
+	 * @param head
+	 * 			the index in the window at which the value is written
+	 * 
+	 * @param value
+	 * 			the value of the current reading
+	 * 
+	 * @param seed
+	 * 			{@code true} if the whole window should be filled with the value
+	 * 
+	 * @return the median of the window
+	 */
+	private float median(float[] windows, int offset, int size, int head, float value, boolean seed) {
+		
+		if(seed) {
+			
+			for (int i = 0; i < size; i++)
+				windows[offset + i] = value;
+			
+			return value;
+		}
+		
+		windows[offset + head] = value;
+		
+		float[] sorted = medianScratch;
+		
+		for (int i = 0; i < size; i++) {
+			
+			float current = windows[offset + i];
+			int j = i - 1;
+			
+			while(j >= 0 && sorted[j] > current) {
+				
+				sorted[j + 1] = sorted[j];
+				j--;
+			}
+			
+			sorted[j + 1] = current;
+		}
+		
+		return sorted[size / 2];
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset() {
+		
+		state = null;
+	}
+}
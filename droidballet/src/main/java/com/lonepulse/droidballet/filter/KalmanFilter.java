@@ -0,0 +1,459 @@
+package com.lonepulse.droidballet.filter;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.Map;
+
+import com.lonepulse.droidballet.sensor.SensorSample;
+
+/**
+ * <p>A realization of a {@link SmoothingFilter} which implements an independent
+ * <a href="http://en.wikipedia.org/wiki/Kalman_filter">Kalman Filter</a> for each axis.
+ * Unlike a {@link LowPassFilter}, whose lag is fixed by its time constant, the gain of a
+ * Kalman Filter weighs the uncertainty of its estimate against the noise of the sensor,
+ * hence it follows deliberate motion promptly while still suppressing the noise.</p>
+ * 
+ * <p>By default each axis is modelled as a <b>random walk</b>, whose estimate <i>x</i> and
+ * variance <i>P</i> are advanced for every reading <i>z</i> as follows:</p>
+ * 
+ * <p><font color="#424242"><pre>
+ * P := P + q * dt
+ * K := P / (P + r)
+ * x := x + K * (z - x)
+ * P := (1 - K) * P
+ * 
+ * <table border="1">
+ * <tr><td>q: Process Noise</td></tr>
+ * <tr><td>r: Measurement Noise</td></tr>
+ * </table>
+ * </pre></font></p>
+ * 
+ * <p>Once settled, a random walk behaves like a low pass whose smoothing is derived from the
+ * noise. With a <b>constant velocity</b> model, each axis additionally tracks the rate at which
+ * the reading changes and extrapolates it between readings, which reduces the lag during a tilt
+ * at the same level of noise, at the cost of a slight overshoot when the tilt stops.</p>
+ * 
+ * <p>The state of every axis is held in primitive arrays which are allocated on construction.
+ * The parameters are configured and validated once using a {@link KalmanFilter.Builder}:</p>
+ * 
+ * <p><font color="#424242"><pre>
+ * SmoothingFilter filter = new KalmanFilter.Builder().setConstantVelocity(true).build();
+ * </pre></font></p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public final class KalmanFilter extends AbstractSmoothingFilter {
+	
+	
+	/**
+	 * <p>The default process noise, i.e. the variance by which a reading is
+	 * expected to change per second.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final float DEFAULT_PROCESS_NOISE = 5.0f;
+	
+	/**
+	 * <p>The default measurement noise, i.e. the variance of the sensor noise.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final float DEFAULT_MEASUREMENT_NOISE = 0.5f;
+	
+	/**
+	 * <p>The sampling interval in seconds which is assumed by default for
+	 * readings that are filtered without a timestamp.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final float DEFAULT_SAMPLING_INTERVAL = 0.2f;
+	
+	/**
+	 * <p>The number of nanoseconds in a second.
+	 */
+	private static final float NANOS_PER_SECOND = 1000000000.0f;
+	
+	
+	/**
+	 * <p>This utility class is used to configure and validate the parameters of a
+	 * {@link KalmanFilter}, which are then fixed for the lifetime of the filter.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static class Builder {
+		
+		/**
+		 * <p>See {@link KalmanFilter#processNoise}.
+		 */
+		private float processNoise = DEFAULT_PROCESS_NOISE;
+		
+		/**
+		 * <p>See {@link KalmanFilter#measurementNoise}.
+		 */
+		private float measurementNoise = DEFAULT_MEASUREMENT_NOISE;
+		
+		/**
+		 * <p>See {@link KalmanFilter#constantVelocity}.
+		 */
+		private boolean constantVelocity = false;
+		
+		/**
+		 * <p>See {@link KalmanFilter#samplingInterval}.
+		 */
+		private float samplingInterval = DEFAULT_SAMPLING_INTERVAL;
+		
+		
+		/**
+		 * <p>Sets the process noise, which is how much the reading is expected to change
+		 * per second. A larger process noise follows motion more promptly but suppresses
+		 * less noise. Defaults to {@link KalmanFilter#DEFAULT_PROCESS_NOISE}.
+		 * 
+		 * @param processNoise
+		 * 			the process noise; must be greater than zero
+		 * 
+		 * @return this instance of {@link KalmanFilter.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setProcessNoise(float processNoise) {
+			
+			this.processNoise = processNoise;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the measurement noise, which is the variance of the noise of the sensor.
+		 * Defaults to {@link KalmanFilter#DEFAULT_MEASUREMENT_NOISE}.
+		 * 
+		 * @param measurementNoise
+		 * 			the measurement noise; must be greater than zero
+		 * 
+		 * @return this instance of {@link KalmanFilter.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setMeasurementNoise(float measurementNoise) {
+			
+			this.measurementNoise = measurementNoise;
+			return this;
+		}
+		
+		/**
+		 * <p>Determines whether each axis is modelled with a constant velocity instead
+		 * of a random walk. Defaults to {@code false}.
+		 * 
+		 * @param constantVelocity
+		 * 			{@code true} to track the rate of change of each axis
+		 * 
+		 * @return this instance of {@link KalmanFilter.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setConstantVelocity(boolean constantVelocity) {
+			
+			this.constantVelocity = constantVelocity;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the interval between readings which is assumed for readings that are
+		 * filtered without a timestamp. Defaults to {@link KalmanFilter#DEFAULT_SAMPLING_INTERVAL}.
+		 * 
+		 * @param samplingInterval
+		 * 			the sampling interval in seconds; must be greater than zero
+		 * 
+		 * @return this instance of {@link KalmanFilter.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setSamplingInterval(float samplingInterval) {
+			
+			this.samplingInterval = samplingInterval;
+			return this;
+		}
+		
+		/**
+		 * <p>Creates an instance of {@link KalmanFilter} to reflect the properties
+		 * set in this instance of {@link KalmanFilter.Builder}.
+		 * 
+		 * @return the configured instance of {@link KalmanFilter}
+		 * 
+		 * @throws IllegalArgumentException
+		 * 			if the noise or the sampling interval is not positive
+		 * 
+		 * @since 1.1.0
+		 */
+		public KalmanFilter build() {
+			
+			if(!(processNoise > 0.0f) || !(measurementNoise > 0.0f))
+				throw new IllegalArgumentException("The process and measurement noise must be greater than zero. ");
+			
+			if(!(samplingInterval > 0.0f))
+				throw new IllegalArgumentException("The sampling interval must be greater than zero. ");
+			
+			return new KalmanFilter(this);
+		}
+	}
+	
+	
+	/**
+	 * <p>The variance by which a reading is expected to change per second.
+	 */
+	private final float processNoise;
+	
+	/**
+	 * <p>The variance of the noise of the sensor.
+	 */
+	private final float measurementNoise;
+	
+	/**
+	 * <p>Determines whether each axis is modelled with a constant velocity.
+	 */
+	private final boolean constantVelocity;
+	
+	/**
+	 * <p>The interval in seconds which is assumed between readings that
+	 * are filtered without a timestamp.
+	 */
+	private final float samplingInterval;
+	
+	/**
+	 * <p>The estimate of each axis.
+	 */
+	private float[] estimates;
+	
+	/**
+	 * <p>The estimated rate of change of each axis, with a constant velocity model.
+	 */
+	private float[] velocities;
+	
+	/**
+	 * <p>The variance of the estimate of each axis.
+	 */
+	private float[] variances;
+	
+	/**
+	 * <p>The covariance of the estimate and the velocity of each axis.
+	 */
+	private float[] covariances;
+	
+	/**
+	 * <p>The variance of the velocity of each axis.
+	 */
+	private float[] velocityVariances;
+	
+	/**
+	 * <p>Determines whether the state has been initialized with a reading.
+	 */
+	private boolean seeded;
+	
+	/**
+	 * <p>The timestamp in nanoseconds of the previous reading of the sensor stream.
+	 */
+	private long timestamp;
+	
+	
+	/**
+	 * <p>Creates a new {@link KalmanFilter} which uses the default parameters
+	 * of a {@link KalmanFilter.Builder}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public KalmanFilter() {
+		
+		this(new Builder());
+	}
+	
+	/**
+	 * <p>Creates a new {@link KalmanFilter} using the validated parameters
+	 * of the given {@link KalmanFilter.Builder}.
+	 * 
+	 * @param builder
+	 * 			the {@link Builder} which configured the filter
+	 */
+	private KalmanFilter(Builder builder) {
+		
+		this.processNoise = builder.processNoise;
+		this.measurementNoise = builder.measurementNoise;
+		this.constantVelocity = builder.constantVelocity;
+		this.samplingInterval = builder.samplingInterval;
+		
+		allocate(SensorSample.AXES);
+	}
+	
+	/**
+	 * <p>Allocates the state for the given number of axes.
+	 * 
+	 * @param axes
+	 * 			the number of axes of a reading
+	 */
+	private void allocate(int axes) {
+		
+		estimates = new float[axes];
+		velocities = new float[axes];
+		variances = new float[axes];
+		covariances = new float[axes];
+		velocityVariances = new float[axes];
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>A {@link KalmanFilter} accepts no arguments; the reading is filtered
+	 * as a reading of its sensor stream.</p>
+	 */
+	@Override
+	protected float[] runAlgorithm(float[] input, float[] output, Map<Integer, ? extends Object> args)
+	throws SmoothingFilterException {
+		
+		return runAlgorithm(input, output);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The estimates are predicted over the interval since the previous reading.
+	 * A reading whose timestamp does not advance only refines the estimates.</p>
+	 */
+	@Override
+	protected float[] runAlgorithm(float[] input, float[] output, long timestamp)
+	throws SmoothingFilterException {
+		
+		float dt = (timestamp - this.timestamp) / NANOS_PER_SECOND;
+		this.timestamp = timestamp;
+		
+		return estimate(input, output, (dt > 0.0f)? dt : 0.0f);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The readings are assumed to be spaced by the configured sampling interval.</p>
+	 */
+	@Override
+	protected float[] runAlgorithm(float[] input, float[] output)
+	throws SmoothingFilterException {
+		
+		return estimate(input, output, samplingInterval);
+	}
+	
+	/**
+	 * <p>Predicts the estimate of each axis over the given interval and corrects
+	 * it with the reading. The first reading of a stream seeds the estimates.
+	 * 
+	 * @param input
+	 * 			the values of the reading which need to be filtered
+	 * 
+	 * @param output
+	 * 			the array used to populate the output values
+	 * 
+	 * @param dt
+	 * 			the interval in seconds since the previous reading
+	 * 
+	 * @return the output array, populated with the estimates
+	 */
+	private float[] estimate(float[] input, float[] output, float dt) {
+		
+		if(estimates.length != input.length) {
+			
+			allocate(input.length);
+			seeded = false;
+		}
+		
+		final float[] x = estimates, v = velocities, p = variances, c = covariances, w = velocityVariances;
+		final float q = processNoise, r = measurementNoise;
+		
+		if(!seeded) {
+			
+			for (int i = 0; i < input.length; i++) {
+				
+				x[i] = input[i];
+				v[i] = 0.0f;
+				p[i] = r;
+				c[i] = 0.0f;
+				w[i] = r;
+			}
+			
+			seeded = true;
+			System.arraycopy(x, 0, output, 0, x.length);
+			
+			return output;
+		}
+		
+		if(constantVelocity) {
+			
+			float dt2 = dt * dt;
+			float q00 = q * dt2 * dt / 3.0f, q01 = q * dt2 / 2.0f, q11 = q * dt;
+			
+			for (int i = 0; i < input.length; i++) {
+				
+				x[i] += v[i] * dt;
+				p[i] += dt * (2.0f * c[i] + dt * w[i]) + q00;
+				c[i] += dt * w[i] + q01;
+				w[i] += q11;
+				
+				float s = p[i] + r;
+				float k0 = p[i] / s, k1 = c[i] / s;
+				float residual = input[i] - x[i];
+				
+				x[i] += k0 * residual;
+				v[i] += k1 * residual;
+				
+				w[i] -= k1 * c[i];
+				p[i] *= (1.0f - k0);
+				c[i] *= (1.0f - k0);
+				
+				output[i] = x[i];
+			}
+		}
+		else {
+			
+			float qdt = q * dt;
+			
+			for (int i = 0; i < input.length; i++) {
+				
+				float variance = p[i] + qdt;
+				float k = variance / (variance + r);
+				
+				x[i] += k * (input[i] - x[i]);
+				p[i] = (1.0f - k) * variance;
+				
+				output[i] = x[i];
+			}
+		}
+		
+		return output;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset() {
+		
+		seeded = false;
+	}
+}
@@ -47,7 +47,19 @@ import java.util.Map;
  * </table>
  * </pre></font></p>
  * 
- * @version 1.0.0
+ * <p>When filtering a sensor stream, the previous output <i>y[i-1]</i> is retained by the 
+ * filter for each axis and the first reading seeds it. Via {@link #filter(float[], float[], long)}, 
+ * <i>α</i> is derived for every reading from the configured time constant and the interval since 
+ * the previous reading, hence the smoothing is consistent across sampling rates. Via 
+ * {@link #filter(float[], float[])}, the configured <i>α</i> is applied to every reading.</p>
+ * 
+ * <p>The parameters are configured and validated once using a {@link LowPassFilter.Builder}:</p>
+ * 
+ * <p><font color="#424242"><pre>
+ * SmoothingFilter filter = new LowPassFilter.Builder().setTimeConstant(0.2f).build();
+ * </pre></font></p>
+ * 
+ * @version 1.1.0
  * 
  * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
  */
@@ -58,14 +70,181 @@ public class LowPassFilter extends AbstractSmoothingFilter {
 	 * <p>The ALPHA constant over which the input values are smoothened. 
 	 * This should be <b>between 0 and 1</b>. This value is derived from 
 	 * the equation <font color="#2F2F2F">{@code α := dt / (RC + dt)}</font>.  
+	 * 
+	 * @deprecated arguments are only used by {@link #filter(float[], float[], Map)}; 
+	 * 			   use {@link Builder#setAlpha(float)} instead
 	 */
+	@Deprecated
 	public static final int ALPHA = 0;
 	
 	/**
 	 * <p>The default value of ALPHA which is used in the algorithm. 
 	 */
 	private static final float DEFAULT_APLPHA = 0.90f;
-
+	
+	
+	/**
+	 * <p>This utility class is used to configure and validate the parameters of a 
+	 * {@link LowPassFilter}, which are then fixed for the lifetime of the filter.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static class Builder {
+		
+		/**
+		 * <p>See {@link LowPassFilter#timeConstant}.
+		 */
+		private float timeConstant = DEFAULT_TIME_CONSTANT;
+		
+		/**
+		 * <p>See {@link LowPassFilter#alpha}.
+		 */
+		private float alpha = DEFAULT_APLPHA;
+		
+		
+		/**
+		 * <p>Sets the time constant <i>RC</i> which is used to derive the ALPHA of each 
+		 * reading from the interval since the previous one. Defaults to 
+		 * {@link LowPassFilter#DEFAULT_TIME_CONSTANT}.
+		 * 
+		 * @param timeConstant
+		 * 			the time constant in seconds; must be greater than zero
+		 * 
+		 * @return this instance of {@link LowPassFilter.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setTimeConstant(float timeConstant) {
+			
+			this.timeConstant = timeConstant;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the ALPHA which is applied to readings that are filtered without a 
+		 * timestamp. Defaults to <b>{@value LowPassFilter#DEFAULT_APLPHA}</b>.
+		 * 
+		 * @param alpha
+		 * 			the ALPHA; must be greater than zero and at most one
+		 * 
+		 * @return this instance of {@link LowPassFilter.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setAlpha(float alpha) {
+			
+			this.alpha = alpha;
+			return this;
+		}
+		
+		/**
+		 * <p>Creates an instance of {@link LowPassFilter} to reflect the properties 
+		 * set in this instance of {@link LowPassFilter.Builder}.
+		 * 
+		 * @return the configured instance of {@link LowPassFilter}
+		 * 
+		 * @throws IllegalArgumentException
+		 * 			if the time constant is not positive or the ALPHA is not 
+		 * 			greater than zero and at most one
+		 * 
+		 * @since 1.1.0
+		 */
+		public LowPassFilter build() {
+			
+			if(!(timeConstant > 0.0f))
+				throw new IllegalArgumentException("The time constant must be greater than zero. ");
+			
+			if(!(alpha > 0.0f && alpha <= 1.0f))
+				throw new IllegalArgumentException("The alpha must be greater than zero and at most one. ");
+			
+			return new LowPassFilter(this);
+		}
+	}
+	
+	/**
+	 * <p>The default time constant in seconds which is used for sensor streams.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final float DEFAULT_TIME_CONSTANT = 0.1f;
+	
+	/**
+	 * <p>The number of nanoseconds in a second.
+	 */
+	private static final float NANOS_PER_SECOND = 1000000000.0f;
+	
+	
+	/**
+	 * <p>The time constant <i>RC</i> in seconds which determines how quickly the 
+	 * output of a sensor stream follows its readings.
+	 */
+	private final float timeConstant;
+	
+	/**
+	 * <p>The ALPHA which is applied to readings of a sensor stream that are filtered 
+	 * without a timestamp.
+	 */
+	private final float alpha;
+	
+	/**
+	 * <p>The previous output of the sensor stream for each axis.
+	 */
+	private float[] state;
+	
+	/**
+	 * <p>The timestamp in nanoseconds of the previous reading of the sensor stream.
+	 */
+	private long timestamp;
+	
+	
+	/**
+	 * <p>Creates a new {@link LowPassFilter} which uses the default parameters 
+	 * of a {@link LowPassFilter.Builder}.
+	 */
+	public LowPassFilter() {
+		
+		this(new Builder());
+	}
+	
+	/**
+	 * <p>Creates a new {@link LowPassFilter} using the validated parameters 
+	 * of the given {@link LowPassFilter.Builder}.
+	 * 
+	 * @param builder
+	 * 			the {@link Builder} which configured the filter
+	 */
+	private LowPassFilter(Builder builder) {
+		
+		this.timeConstant = builder.timeConstant;
+		this.alpha = builder.alpha;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #timeConstant}.
+	 * 
+	 * @return the time constant in seconds
+	 * 
+	 * @since 1.1.0
+	 */
+	public float getTimeConstant() {
+		
+		return timeConstant;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #alpha}.
+	 * 
+	 * @return the ALPHA applied to readings without a timestamp
+	 * 
+	 * @since 1.1.0
+	 */
+	public float getAlpha() {
+		
+		return alpha;
+	}
+	
 	
 	/**
 	 * {@inheritDoc}
@@ -101,4 +280,75 @@ public class LowPassFilter extends AbstractSmoothingFilter {
 
 		return output;
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The ALPHA is derived from the {@link #timeConstant} and the interval since the 
+	 * previous reading. A reading whose timestamp does not advance leaves the state intact.</p>
+	 */
+	@Override
+	protected float[] runAlgorithm(float[] input, float[] output, long timestamp) 
+	throws SmoothingFilterException {
+		
+		float dt = (timestamp - this.timestamp) / NANOS_PER_SECOND;
+		this.timestamp = timestamp;
+		
+		return smooth(input, output, (dt > 0.0f)? dt / (timeConstant + dt) : 0.0f);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The {@link #alpha} which the filter was built with is applied to every reading.</p>
+	 */
+	@Override
+	protected float[] runAlgorithm(float[] input, float[] output) 
+	throws SmoothingFilterException {
+		
+		return smooth(input, output, alpha);
+	}
+	
+	/**
+	 * <p>Blends the given reading into the {@link #state} of the sensor stream and copies 
+	 * the state into the output. The first reading of a stream seeds the state.
+	 * 
+	 * @param input
+	 * 			the values of the reading which need to be filtered
+	 * 
+	 * @param output
+	 * 			the array used to populate the output values
+	 * 
+	 * @param alpha
+	 * 			the ALPHA with which the reading is blended into the state
+	 * 
+	 * @return the output array, populated with the smoothed reading
+	 */
+	private float[] smooth(float[] input, float[] output, float alpha) {
+		
+		float[] state = this.state;
+		
+		if(state == null || state.length != input.length) {
+			
+			this.state = state = input.clone();
+		}
+		else {
+			
+			for (int i = 0; i < input.length; i++)
+				state[i] = state[i] + alpha * (input[i] - state[i]);
+		}
+		
+		System.arraycopy(state, 0, output, 0, state.length);
+		
+		return output;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset() {
+		
+		state = null;
+	}
 }
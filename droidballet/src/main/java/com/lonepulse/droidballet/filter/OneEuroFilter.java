@@ -0,0 +1,434 @@
+package com.lonepulse.droidballet.filter;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.lonepulse.droidballet.sensor.SensorSample;
+
+/**
+ * <p>A realization of a {@link SmoothingFilter} which implements the
+ * <a href="http://cristal.univ-lille.fr/~casiez/1euro/">1€ Filter</a>, a low pass
+ * filter whose cutoff frequency adapts to the speed of the signal. While the device
+ * rests the cutoff is low, which removes the jitter, and as the device is tilted the
+ * cutoff rises, which removes the lag.</p>
+ * 
+ * <p><font color="#424242"><pre>
+ * α(fc, dt) := 1 / (1 + 1 / (2π * fc * dt))
+ * 
+ * dx := (x - x') / dt,   where x' is the previous reading
+ * d  := d + α(dcutoff, dt) * (dx - d)
+ * fc := mincutoff + β * |d|
+ * y  := y + α(fc, dt) * (x - y)
+ * 
+ * <table border="1">
+ * <tr><td>mincutoff: Minimum Cutoff Frequency</td></tr>
+ * <tr><td>β: Speed Coefficient</td></tr>
+ * <tr><td>dcutoff: Derivative Cutoff Frequency</td></tr>
+ * </table>
+ * </pre></font></p>
+ * 
+ * <p>The interval <i>dt</i> is taken from the timestamps of the readings. The state of every
+ * axis is held in primitive arrays which are allocated on construction, and the first reading
+ * of a stream seeds it. The parameters are configured and validated once using a
+ * {@link OneEuroFilter.Builder}:</p>
+ * 
+ * <p><font color="#424242"><pre>
+ * SmoothingFilter filter = new OneEuroFilter.Builder().setMinCutoff(0.5f).setBeta(0.1f).build();
+ * </pre></font></p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public final class OneEuroFilter extends AbstractSmoothingFilter {
+	
+	
+	/**
+	 * <p>The default minimum cutoff frequency in Hertz.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final float DEFAULT_MIN_CUTOFF = 0.5f;
+	
+	/**
+	 * <p>The default coefficient by which the cutoff frequency rises with the speed of the signal.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final float DEFAULT_BETA = 0.1f;
+	
+	/**
+	 * <p>The default cutoff frequency in Hertz of the speed of the signal.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final float DEFAULT_DERIVATIVE_CUTOFF = 1.0f;
+	
+	/**
+	 * <p>The sampling interval in seconds which is assumed by default for
+	 * readings that are filtered without a timestamp.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final float DEFAULT_SAMPLING_INTERVAL = 0.2f;
+	
+	/**
+	 * <p>The number of nanoseconds in a second.
+	 */
+	private static final float NANOS_PER_SECOND = 1000000000.0f;
+	
+	/**
+	 * <p>The number of radians in a cycle.
+	 */
+	private static final float TWO_PI = (float) (2.0 * Math.PI);
+	
+	
+	/**
+	 * <p>This utility class is used to configure and validate the parameters of a
+	 * {@link OneEuroFilter}, which are then fixed for the lifetime of the filter.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static class Builder {
+		
+		/**
+		 * <p>See {@link OneEuroFilter#minCutoff}.
+		 */
+		private float minCutoff = DEFAULT_MIN_CUTOFF;
+		
+		/**
+		 * <p>See {@link OneEuroFilter#beta}.
+		 */
+		private float beta = DEFAULT_BETA;
+		
+		/**
+		 * <p>See {@link OneEuroFilter#derivativeCutoff}.
+		 */
+		private float derivativeCutoff = DEFAULT_DERIVATIVE_CUTOFF;
+		
+		/**
+		 * <p>See {@link OneEuroFilter#samplingInterval}.
+		 */
+		private float samplingInterval = DEFAULT_SAMPLING_INTERVAL;
+		
+		
+		/**
+		 * <p>Sets the cutoff frequency while the signal rests. A lower cutoff removes more
+		 * jitter at rest. Defaults to {@link OneEuroFilter#DEFAULT_MIN_CUTOFF}.
+		 * 
+		 * @param minCutoff
+		 * 			the minimum cutoff frequency in Hertz; must be greater than zero
+		 * 
+		 * @return this instance of {@link OneEuroFilter.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setMinCutoff(float minCutoff) {
+			
+			this.minCutoff = minCutoff;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the coefficient by which the cutoff frequency rises with the speed of the
+		 * signal. A larger coefficient removes more lag during motion. Defaults to
+		 * {@link OneEuroFilter#DEFAULT_BETA}.
+		 * 
+		 * @param beta
+		 * 			the speed coefficient; must not be negative
+		 * 
+		 * @return this instance of {@link OneEuroFilter.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setBeta(float beta) {
+			
+			this.beta = beta;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the cutoff frequency with which the speed of the signal is smoothed.
+		 * Defaults to {@link OneEuroFilter#DEFAULT_DERIVATIVE_CUTOFF}.
+		 * 
+		 * @param derivativeCutoff
+		 * 			the derivative cutoff frequency in Hertz; must be greater than zero
+		 * 
+		 * @return this instance of {@link OneEuroFilter.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setDerivativeCutoff(float derivativeCutoff) {
+			
+			this.derivativeCutoff = derivativeCutoff;
+			return this;
+		}
+		
+		/**
+		 * <p>Sets the interval between readings which is assumed for readings that are
+		 * filtered without a timestamp. Defaults to {@link OneEuroFilter#DEFAULT_SAMPLING_INTERVAL}.
+		 * 
+		 * @param samplingInterval
+		 * 			the sampling interval in seconds; must be greater than zero
+		 * 
+		 * @return this instance of {@link OneEuroFilter.Builder}
+		 * 
+		 * @since 1.1.0
+		 */
+		public Builder setSamplingInterval(float samplingInterval) {
+			
+			this.samplingInterval = samplingInterval;
+			return this;
+		}
+		
+		/**
+		 * <p>Creates an instance of {@link OneEuroFilter} to reflect the properties
+		 * set in this instance of {@link OneEuroFilter.Builder}.
+		 * 
+		 * @return the configured instance of {@link OneEuroFilter}
+		 * 
+		 * @throws IllegalArgumentException
+		 * 			if a cutoff or the sampling interval is not positive,
+		 * 			or the speed coefficient is negative
+		 * 
+		 * @since 1.1.0
+		 */
+		public OneEuroFilter build() {
+			
+			if(!(minCutoff > 0.0f) || !(derivativeCutoff > 0.0f))
+				throw new IllegalArgumentException("The cutoff frequencies must be greater than zero. ");
+			
+			if(!(beta >= 0.0f))
+				throw new IllegalArgumentException("The speed coefficient must not be negative. ");
+			
+			if(!(samplingInterval > 0.0f))
+				throw new IllegalArgumentException("The sampling interval must be greater than zero. ");
+			
+			return new OneEuroFilter(this);
+		}
+	}
+	
+	
+	/**
+	 * <p>The cutoff frequency in Hertz while the signal rests.
+	 */
+	private final float minCutoff;
+	
+	/**
+	 * <p>The coefficient by which the cutoff frequency rises with the speed of the signal.
+	 */
+	private final float beta;
+	
+	/**
+	 * <p>The cutoff frequency in Hertz with which the speed of the signal is smoothed.
+	 */
+	private final float derivativeCutoff;
+	
+	/**
+	 * <p>The interval in seconds which is assumed between readings that
+	 * are filtered without a timestamp.
+	 */
+	private final float samplingInterval;
+	
+	/**
+	 * <p>The previous output of each axis.
+	 */
+	private float[] outputs;
+	
+	/**
+	 * <p>The previous unfiltered reading of each axis, from which the speed is derived.
+	 */
+	private float[] inputs;
+	
+	/**
+	 * <p>The smoothed speed of each axis.
+	 */
+	private float[] speeds;
+	
+	/**
+	 * <p>Determines whether the state has been initialized with a reading.
+	 */
+	private boolean seeded;
+	
+	/**
+	 * <p>The timestamp in nanoseconds of the previous reading of the sensor stream.
+	 */
+	private long timestamp;
+	
+	
+	/**
+	 * <p>Creates a new {@link OneEuroFilter} which uses the default parameters
+	 * of a {@link OneEuroFilter.Builder}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public OneEuroFilter() {
+		
+		this(new Builder());
+	}
+	
+	/**
+	 * <p>Creates a new {@link OneEuroFilter} using the validated parameters
+	 * of the given {@link OneEuroFilter.Builder}.
+	 * 
+	 * @param builder
+	 * 			the {@link Builder} which configured the filter
+	 */
+	private OneEuroFilter(Builder builder) {
+		
+		this.minCutoff = builder.minCutoff;
+		this.beta = builder.beta;
+		this.derivativeCutoff = builder.derivativeCutoff;
+		this.samplingInterval = builder.samplingInterval;
+		
+		this.outputs = new float[SensorSample.AXES];
+		this.inputs = new float[SensorSample.AXES];
+		this.speeds = new float[SensorSample.AXES];
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>A {@link OneEuroFilter} accepts no arguments; the reading is filtered
+	 * as a reading of its sensor stream.</p>
+	 */
+	@Override
+	protected float[] runAlgorithm(float[] input, float[] output, Map<Integer, ? extends Object> args)
+	throws SmoothingFilterException {
+		
+		return runAlgorithm(input, output);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The smoothing is derived from the interval since the previous reading.
+	 * A reading whose timestamp does not advance leaves the state intact.</p>
+	 */
+	@Override
+	protected float[] runAlgorithm(float[] input, float[] output, long timestamp)
+	throws SmoothingFilterException {
+		
+		float dt = (timestamp - this.timestamp) / NANOS_PER_SECOND;
+		this.timestamp = timestamp;
+		
+		return smooth(input, output, dt);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The readings are assumed to be spaced by the configured sampling interval.</p>
+	 */
+	@Override
+	protected float[] runAlgorithm(float[] input, float[] output)
+	throws SmoothingFilterException {
+		
+		return smooth(input, output, samplingInterval);
+	}
+	
+	/**
+	 * <p>Smooths each axis of the reading with a cutoff frequency which is adapted to its
+	 * speed. The first reading of a stream seeds the state.
+	 * 
+	 * @param input
+	 * 			the values of the reading which need to be filtered
+	 * 
+	 * @param output
+	 * 			the array used to populate the output values
+	 * 
+	 * @param dt
+	 * 			the interval in seconds since the previous reading
+	 * 
+	 * @return the output array, populated with the smoothed reading
+	 */
+	private float[] smooth(float[] input, float[] output, float dt) {
+		
+		if(outputs.length != input.length) {
+			
+			outputs = new float[input.length];
+			inputs = new float[input.length];
+			speeds = new float[input.length];
+			seeded = false;
+		}
+		
+		final float[] y = outputs, x = inputs, d = speeds;
+		
+		if(!seeded) {
+			
+			System.arraycopy(input, 0, y, 0, input.length);
+			System.arraycopy(input, 0, x, 0, input.length);
+			Arrays.fill(d, 0.0f);
+			
+			seeded = true;
+		}
+		else if(dt > 0.0f) {
+			
+			float derivativeAlpha = alpha(derivativeCutoff, dt);
+			
+			for (int i = 0; i < input.length; i++) {
+				
+				float speed = (input[i] - x[i]) / dt;
+				d[i] += derivativeAlpha * (speed - d[i]);
+				x[i] = input[i];
+				
+				float cutoff = minCutoff + beta * Math.abs(d[i]);
+				y[i] += alpha(cutoff, dt) * (input[i] - y[i]);
+			}
+		}
+		
+		System.arraycopy(y, 0, output, 0, y.length);
+		
+		return output;
+	}
+	
+	/**
+	 * <p>Derives the smoothing factor of a low pass with the given cutoff frequency.
+	 * 
+	 * @param cutoff
+	 * 			the cutoff frequency in Hertz
+	 * 
+	 * @param dt
+	 * 			the interval in seconds since the previous reading
+	 * 
+	 * @return the smoothing factor, between zero and one
+	 */
+	private static float alpha(float cutoff, float dt) {
+		
+		float rate = TWO_PI * cutoff * dt;
+		
+		return rate / (rate + 1.0f);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset() {
+		
+		seeded = false;
+	}
+}
@@ -34,7 +34,12 @@ import java.util.Map;
  * <p>All implementations should extend {@link AbstractSmoothingFilter} instead of 
  * the {@link SmoothingFilter} contract. 
  * 
- * @version 1.0.0
+ * <p>The parameters of a filter should be supplied once when it is constructed, preferably 
+ * through a typed builder which validates them, so that {@link #filter(float[], float[])} 
+ * and {@link #filter(float[], float[], long)} can run on every reading without looking up, 
+ * unboxing or validating any arguments.</p>
+ * 
+ * @version 1.1.0
  * 
  * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
  */
@@ -60,8 +65,70 @@ public interface SmoothingFilter {
 	 * @throws SmoothingFilterException
 	 * 			when the algorithm is erroneous or it cannot execute due to 
 	 * 			the supplied parameters 
+	 * 
+	 * @deprecated the arguments are looked up, unboxed and validated on every invocation; 
+	 * 			   configure the filter on construction and use {@link #filter(float[], float[])}
 	 */
+	@Deprecated
 	public float[] filter(final float[] input, final float[] output, final Map<Integer, ? extends Object> args) 
 	throws SmoothingFilterException;
+	
+	/**
+	 * <p>Filters a single reading of a <b>sensor stream</b> using the parameters which the 
+	 * filter was constructed with. The filter retains its own state between successive 
+	 * readings, which are assumed to be evenly spaced in time.
+	 * 
+	 * <p>Since the state belongs to a single stream, an instance should not be shared by streams.
+	 * 
+	 * @param input
+	 * 			the values of the reading which need to be filtered
+	 * 
+	 * @param output
+	 * 			the array used to populate the output values
+	 * 
+	 * @return the filtered (<i>smoothed</i>) array of floats
+	 * 
+	 * @throws SmoothingFilterException
+	 * 			when the input and output arrays are missing or do not match in length
+	 * 
+	 * @since 1.1.0
+	 */
+	public float[] filter(final float[] input, final float[] output) 
+	throws SmoothingFilterException;
+	
+	/**
+	 * <p>Filters a single reading of a <b>sensor stream</b>. As with {@link #filter(float[], float[])}, 
+	 * the filter retains its own state between successive readings, so that each reading is smoothed 
+	 * against the history of the stream rather than against the contents of the output array. 
+	 * The timestamp of the reading allows the algorithm to adapt to the actual sampling rate.
+	 * 
+	 * <p>Since the state belongs to a single stream, an instance should not be shared by streams.
+	 * 
+	 * @param input
+	 * 			the values of the reading which need to be filtered
+	 * 
+	 * @param output
+	 * 			the array used to populate the output values
+	 * 
+	 * @param timestamp
+	 * 			the timestamp of the reading in nanoseconds
+	 * 
+	 * @return the filtered (<i>smoothed</i>) array of floats
+	 * 
+	 * @throws SmoothingFilterException
+	 * 			when the input and output arrays are missing or do not match in length
+	 * 
+	 * @since 1.1.0
+	 */
+	public float[] filter(final float[] input, final float[] output, final long timestamp) 
+	throws SmoothingFilterException;
+	
+	/**
+	 * <p>Discards the state which was retained from previous readings, so that the 
+	 * next reading starts a new stream.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void reset();
 
 }
\ No newline at end of file
@@ -20,9 +20,12 @@ package com.lonepulse.droidballet.listener;
  * #L%
  */
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import android.hardware.SensorEvent;
 
 import com.lonepulse.droidballet.filter.SmoothingFilter;
+import com.lonepulse.droidballet.sensor.SensorSample;
 
 /**
  * <p>An abstract implementation of {@link MotionEvent} which manages the 
@@ -36,11 +39,19 @@ public abstract class AbstractMotionEvent implements MotionEvent {
 
 
 	/**
-	 * <p>The original {@link SensorEvent} whose information was used 
-	 * to generate this {@link MotionEvent}.
+	 * <p>A copy of the {@link SensorSample} whose information was used to generate 
+	 * this {@link MotionEvent}. The copy is owned by this event, since the original 
+	 * sample may be reused by the ingestion thread while the event is still being 
+	 * delivered on another thread.
 	 * 
 	 * @since 1.1.0
 	 */
+	private final SensorSample sensorSample = new SensorSample();
+	
+	/**
+	 * <p>The {@link SensorEvent} from which the {@link #sensorSample} was created, 
+	 * or {@code null} if it was not ingested directly from a {@link SensorEvent}.
+	 */
 	private SensorEvent sensorEvent;
 
 	/**
@@ -51,21 +62,28 @@ public abstract class AbstractMotionEvent implements MotionEvent {
 	 */
 	private float[] filteredOutput;
 	
+	/**
+	 * <p>The number of unreleased claims on this event. An event is created 
+	 * or obtained with a single claim.
+	 */
+	private final AtomicInteger claims = new AtomicInteger(1);
+	
 	
 	/**
 	 * <p>Default constructor which initializes the {@link AbstractMotionEvent}.
 	 * 
-	 * @param sensorEvent
-	 * 			See {@link #getSensorEvent()}
+	 * @param sensorSample
+	 * 			See {@link #getSensorSample()}
 	 * 
 	 * @param filteredOutput
 	 * 			See {@link #filteredOutput}
 	 * 
 	 * @since 1.1.1
 	 */
-	public AbstractMotionEvent(SensorEvent sensorEvent, float[] filteredOutput) {
+	public AbstractMotionEvent(SensorSample sensorSample, float[] filteredOutput) {
 		
-		this.sensorEvent = sensorEvent;
+		this.sensorSample.copyFrom(sensorSample);
+		this.sensorEvent = sensorSample.getSensorEvent();
 		this.filteredOutput = filteredOutput;
 	}
 	
@@ -73,14 +91,93 @@ public abstract class AbstractMotionEvent implements MotionEvent {
 	 * {@inheritDoc}
 	 */
 	@Override
+	@Deprecated
 	public SensorEvent getSensorEvent() {
 		
 		return this.sensorEvent;
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SensorSample getSensorSample() {
+		
+		return this.sensorSample;
+	}
+	
 	@Override
 	public float[] getFilteredOutput() {
 		
 		return this.filteredOutput;
 	}
+	
+	/**
+	 * <p>Reinitializes a pooled {@link AbstractMotionEvent}. The reading of the sample and 
+	 * the filtered output are <b>copied</b> into a sample and an array which are owned by 
+	 * this event, hence the given sample and array may be reused by the caller.
+	 * 
+	 * @param sensorSample
+	 * 			See {@link #getSensorSample()}
+	 * 
+	 * @param filteredOutput
+	 * 			See {@link #filteredOutput}
+	 * 
+	 * @since 1.1.0
+	 */
+	protected void set(SensorSample sensorSample, float[] filteredOutput) {
+		
+		this.sensorSample.copyFrom(sensorSample);
+		this.sensorEvent = sensorSample.getSensorEvent();
+		this.claims.set(1);
+		
+		if(this.filteredOutput == null || this.filteredOutput.length != filteredOutput.length)
+			this.filteredOutput = new float[filteredOutput.length];
+		
+		System.arraycopy(filteredOutput, 0, this.filteredOutput, 0, filteredOutput.length);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void retain() {
+		
+		claims.incrementAndGet();
+	}
+	
+	/**
+	 * <p>Releases a claim on this event. Implementations of {@link #recycle()} should 
+	 * only pool the event if this returns {@code true}.
+	 * 
+	 * @return {@code true} if this was the last claim on the event
+	 * 
+	 * @throws IllegalStateException
+	 * 			if every claim on the event has already been released
+	 * 
+	 * @since 1.1.0
+	 */
+	protected boolean release() {
+		
+		while(true) {
+			
+			int current = claims.get();
+			
+			if(current <= 0)
+				throw new IllegalStateException("This event cannot be recycled because it has already been recycled. ");
+			
+			if(claims.compareAndSet(current, current - 1))
+				return current == 1;
+		}
+	}
+	
+	/**
+	 * <p>Releases the {@link SensorEvent} held by this event before it is pooled.
+	 * 
+	 * @since 1.1.0
+	 */
+	protected void clear() {
+		
+		this.sensorEvent = null;
+	}
 }
@@ -0,0 +1,269 @@
+package com.lonepulse.droidballet.listener;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.lonepulse.droidballet.sensor.SensorSample;
+
+/**
+ * <p>Holds information about a single <i>gesture</i> which has been performed
+ * with the device.</p>
+ * 
+ * <p>The filtered output of a gesture is the <b>unfiltered</b> reading at which 
+ * the gesture was detected, since smoothing would suppress the rapid changes 
+ * which make up a gesture.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class GestureMotionEvent extends AbstractMotionEvent {
+	
+	
+	/**
+	 * <p>Specifies the kind of gesture of a {@link GestureMotionEvent}.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static enum GESTURE {
+		
+		/**
+		 * <p>The device is being shaken; i.e. the acceleration deviates strongly 
+		 * over the recent readings. The <i>intensity</i> is the standard deviation 
+		 * of the acceleration.</p>
+		 * 
+		 * <p>{@link MotionEvent}s of this gesture are mapped to
+		 * {@link GestureMotionListener#onShake(GestureMotionEvent)}</p>.
+		 * 
+		 * @since 1.1.0
+		 */
+		SHAKE(GestureMotionListener.INTEREST_SHAKE),
+		
+		/**
+		 * <p>The device was jerked sharply while it was at rest. The <i>intensity</i>
+		 * is the jerk of the reading.</p>
+		 * 
+		 * <p>{@link MotionEvent}s of this gesture are mapped to
+		 * {@link GestureMotionListener#onFlick(GestureMotionEvent)}</p>.
+		 * 
+		 * @since 1.1.0
+		 */
+		FLICK(GestureMotionListener.INTEREST_FLICK),
+		
+		/**
+		 * <p>The device was tilted away from its resting orientation and returned
+		 * to it. The <i>intensity</i> is the greatest deviation of the tilt.</p>
+		 * 
+		 * <p>{@link MotionEvent}s of this gesture are mapped to
+		 * {@link GestureMotionListener#onTiltAndReturn(GestureMotionEvent)}</p>.
+		 * 
+		 * @since 1.1.0
+		 */
+		TILT_AND_RETURN(GestureMotionListener.INTEREST_TILT_AND_RETURN);
+		
+		
+		/**
+		 * <p>The bit which represents this gesture in an interest mask.
+		 */
+		private final int interest;
+		
+		
+		/**
+		 * <p>Creates a gesture which is represented by the given interest mask bit.
+		 * 
+		 * @param interest
+		 * 			the {@link #interest} mask bit
+		 */
+		private GESTURE(int interest) {
+			
+			this.interest = interest;
+		}
+		
+		/**
+		 * <p>Accessor for {@link #interest}.
+		 * 
+		 * @return the interest mask bit of this gesture
+		 * 
+		 * @since 1.1.0
+		 */
+		public int getInterest() {
+			
+			return interest;
+		}
+	}
+	
+	
+	/**
+	 * <p>The kind of gesture which was performed.
+	 */
+	private GESTURE gesture;
+	
+	/**
+	 * <p>The intensity of the gesture, whose meaning depends on the {@link #gesture}.
+	 */
+	private float intensity;
+	
+	/**
+	 * <p>The next event in the {@link #pool}, while this event is recycled.
+	 */
+	private GestureMotionEvent next;
+	
+	/**
+	 * <p>The maximum number of recycled events which are retained in the {@link #pool}.
+	 */
+	private static final int MAX_POOL_SIZE = 4;
+	
+	/**
+	 * <p>The lock which guards the {@link #pool}.
+	 */
+	private static final Object POOL_LOCK = new Object();
+	
+	/**
+	 * <p>The head of a linked list of recycled events which are available for reuse.
+	 */
+	private static GestureMotionEvent pool;
+	
+	/**
+	 * <p>The number of events in the {@link #pool}.
+	 */
+	private static int poolSize;
+	
+	
+	/**
+	 * <p>Default constructor which initializes the {@link AbstractMotionEvent}.
+	 * 
+	 * @param sensorSample
+	 * 			See {@link AbstractMotionEvent#getSensorSample()}
+	 * 
+	 * @param gesture
+	 * 			the {@link #gesture} which was performed
+	 * 
+	 * @param intensity
+	 * 			the {@link #intensity} of the gesture
+	 * 
+	 * @param output
+	 * 			the sensor output at which the gesture was recognized
+	 * 
+	 * @since 1.1.0
+	 */
+	public GestureMotionEvent(SensorSample sensorSample, GESTURE gesture, float intensity, float[] output) {
+		
+		super(sensorSample, output);
+		
+		this.gesture = gesture;
+		this.intensity = intensity;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #gesture}.
+	 * 
+	 * @return {@link #gesture}
+	 * 
+	 * @since 1.1.0
+	 */
+	public GESTURE getGesture() {
+		
+		return gesture;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #intensity}.
+	 * 
+	 * @return {@link #intensity}
+	 * 
+	 * @since 1.1.0
+	 */
+	public float getIntensity() {
+		
+		return intensity;
+	}
+	
+	/**
+	 * <p>Returns a {@link GestureMotionEvent} from the global pool, or creates a new instance
+	 * if the pool is empty. The given output is copied, hence the array may be reused by the
+	 * caller. The returned event should be {@link #recycle()}d once it has been dispatched.
+	 * 
+	 * @param sensorSample
+	 * 			See {@link AbstractMotionEvent#getSensorSample()}
+	 * 
+	 * @param gesture
+	 * 			the {@link #gesture} which was performed
+	 * 
+	 * @param intensity
+	 * 			the {@link #intensity} of the gesture
+	 * 
+	 * @param output
+	 * 			the sensor output at which the gesture was recognized
+	 * 
+	 * @return a {@link GestureMotionEvent} which reflects the given properties
+	 * 
+	 * @since 1.1.0
+	 */
+	public static GestureMotionEvent obtain(SensorSample sensorSample, GESTURE gesture,
+											float intensity, float[] output) {
+		
+		GestureMotionEvent motionEvent = null;
+		
+		synchronized (POOL_LOCK) {
+			
+			if(pool != null) {
+				
+				motionEvent = pool;
+				pool = motionEvent.next;
+				motionEvent.next = null;
+				poolSize--;
+			}
+		}
+		
+		if(motionEvent == null)
+			return new GestureMotionEvent(sensorSample, gesture, intensity, output.clone());
+		
+		motionEvent.set(sensorSample, output);
+		motionEvent.gesture = gesture;
+		motionEvent.intensity = intensity;
+		
+		return motionEvent;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void recycle() {
+		
+		if(!release()) return;
+		
+		clear();
+		gesture = null;
+		
+		synchronized (POOL_LOCK) {
+			
+			if(poolSize < MAX_POOL_SIZE) {
+				
+				next = pool;
+				pool = this;
+				poolSize++;
+			}
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.lonepulse.droidballet.listener;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.lonepulse.droidballet.listener.GestureMotionEvent.GESTURE;
+
+/**
+ * <p>This contract specifies the services offered to a <b>Widget</b> or <i>View Group</i>
+ * which responds to <b>gestures</b> performed with the device, i.e. shakes, flicks and
+ * tilts which return to the original orientation.</p>
+ * 
+ * <p>Components that wish to register for {@link GestureMotionEvent}s should implement
+ * this listener and handle the necessary <i>motion</i> in the provided callback methods.
+ * Components which are only interested in some of the gestures should be registered
+ * with an interest mask of the relevant {@code INTEREST_*} constants.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public interface GestureMotionListener extends MotionListener {
+	
+	/**
+	 * <p>The interest mask bit for {@link GESTURE#SHAKE}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int INTEREST_SHAKE = 1 << 6;
+	
+	/**
+	 * <p>The interest mask bit for {@link GESTURE#FLICK}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int INTEREST_FLICK = 1 << 7;
+	
+	/**
+	 * <p>The interest mask bit for {@link GESTURE#TILT_AND_RETURN}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int INTEREST_TILT_AND_RETURN = 1 << 8;
+	
+	
+	/**
+	 * <p>Invoked when the device is recognized to be shaken. This is invoked once
+	 * per shake, however long the device is shaken.
+	 * 
+	 * @param event
+	 * 			the instance of {@link GestureMotionEvent} which can be used to discover
+	 * 			more information regarding the gesture
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract void onShake(GestureMotionEvent event);
+	
+	/**
+	 * <p>Invoked when the device is flicked, i.e. jerked sharply while at rest.
+	 * 
+	 * @param event
+	 * 			the instance of {@link GestureMotionEvent} which can be used to discover
+	 * 			more information regarding the gesture
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract void onFlick(GestureMotionEvent event);
+	
+	/**
+	 * <p>Invoked when the device is tilted away from its resting orientation and
+	 * returned to it within a short period.
+	 * 
+	 * @param event
+	 * 			the instance of {@link GestureMotionEvent} which can be used to discover
+	 * 			more information regarding the gesture
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract void onTiltAndReturn(GestureMotionEvent event);
+}
@@ -22,8 +22,8 @@ package com.lonepulse.droidballet.listener;
 
 
 import com.lonepulse.droidballet.filter.SmoothingFilter;
+import com.lonepulse.droidballet.sensor.SensorSample;
 
-import android.hardware.SensorEvent;
 import android.view.ViewGroup;
 
 /**
@@ -69,7 +69,7 @@ public class HorizontalMotionEvent extends AbstractMotionEvent {
 		 * 
 		 * @since 1.1.0
 		 */
-		NONE,
+		NONE(HorizontalMotionListener.INTEREST_HORIZONTAL_REST),
 		
 		/**
 		 * <p>The device orientation is such that the deduced direction 
@@ -85,7 +85,7 @@ public class HorizontalMotionEvent extends AbstractMotionEvent {
 		 * 
 		 * @since 1.1.0
 		 */
-		LEFT,
+		LEFT(HorizontalMotionListener.INTEREST_LEFT),
 		
 		/**
 		 * <p>The device orientation is such that the deduced direction 
@@ -101,7 +101,37 @@ public class HorizontalMotionEvent extends AbstractMotionEvent {
 		 * 
 		 * @since 1.1.0
 		 */
-		RIGHT;
+		RIGHT(HorizontalMotionListener.INTEREST_RIGHT);
+		
+		
+		/**
+		 * <p>The bit which represents this direction in an interest mask.
+		 */
+		private final int interest;
+		
+		
+		/**
+		 * <p>Creates a direction which is represented by the given interest mask bit.
+		 * 
+		 * @param interest
+		 * 			the {@link #interest} mask bit
+		 */
+		private HORIZONTAL_DIRECTION(int interest) {
+			
+			this.interest = interest;
+		}
+		
+		/**
+		 * <p>Accessor for {@link #interest}.
+		 * 
+		 * @return the interest mask bit of this direction
+		 * 
+		 * @since 1.1.0
+		 */
+		public int getInterest() {
+			
+			return interest;
+		}
 	}
 
 	
@@ -110,13 +140,38 @@ public class HorizontalMotionEvent extends AbstractMotionEvent {
 	 * the sensor coordinate system.
 	 */
 	private HORIZONTAL_DIRECTION direction;
+	
+	/**
+	 * <p>The next event in the {@link #pool}, while this event is recycled.
+	 */
+	private HorizontalMotionEvent next;
+	
+	/**
+	 * <p>The maximum number of recycled events which are retained in the {@link #pool}.
+	 */
+	private static final int MAX_POOL_SIZE = 8;
+	
+	/**
+	 * <p>The lock which guards the {@link #pool}.
+	 */
+	private static final Object POOL_LOCK = new Object();
+	
+	/**
+	 * <p>The head of a linked list of recycled events which are available for reuse.
+	 */
+	private static HorizontalMotionEvent pool;
+	
+	/**
+	 * <p>The number of events in the {@link #pool}.
+	 */
+	private static int poolSize;
 
 	
 	/**
 	 * <p>Default constructor which initializes the {@link AbstractMotionEvent}.
 	 * 
-	 * @param sensorEvent
-	 * 			See {@link AbstractMotionEvent#getSensorEvent()}
+	 * @param sensorSample
+	 * 			See {@link AbstractMotionEvent#getSensorSample()}
 	 * 
 	 * @param direction
 	 * 			the {@link #direction} of the vertical motion
@@ -127,11 +182,11 @@ public class HorizontalMotionEvent extends AbstractMotionEvent {
 	 * 
 	 * @since 1.1.0
 	 */
-	public HorizontalMotionEvent(SensorEvent sensorEvent, 
+	public HorizontalMotionEvent(SensorSample sensorSample, 
 								 HORIZONTAL_DIRECTION direction, 
 								 float[] filteredOutput) {
 		
-		super(sensorEvent, filteredOutput);
+		super(sensorSample, filteredOutput);
 		
 		this.direction = direction;
 	}
@@ -147,4 +202,72 @@ public class HorizontalMotionEvent extends AbstractMotionEvent {
 		
 		return direction;
 	}
+	
+	/**
+	 * <p>Returns a {@link HorizontalMotionEvent} from the global pool, or creates a new instance 
+	 * if the pool is empty. The given filtered output is copied, hence the array may be 
+	 * reused by the caller. The returned event should be {@link #recycle()}d once it has 
+	 * been dispatched.
+	 * 
+	 * @param sensorSample
+	 * 			See {@link AbstractMotionEvent#getSensorSample()}
+	 * 
+	 * @param direction
+	 * 			the {@link #direction} of the horizontal motion
+	 * 
+	 * @param filteredOutput
+	 * 			the sensor output values which have been filtered 
+	 * 			through a {@link SmoothingFilter}
+	 * 
+	 * @return a {@link HorizontalMotionEvent} which reflects the given properties
+	 * 
+	 * @since 1.1.0
+	 */
+	public static HorizontalMotionEvent obtain(SensorSample sensorSample, 
+											   HORIZONTAL_DIRECTION direction, 
+											   float[] filteredOutput) {
+		
+		HorizontalMotionEvent motionEvent = null;
+		
+		synchronized (POOL_LOCK) {
+			
+			if(pool != null) {
+				
+				motionEvent = pool;
+				pool = motionEvent.next;
+				motionEvent.next = null;
+				poolSize--;
+			}
+		}
+		
+		if(motionEvent == null)
+			return new HorizontalMotionEvent(sensorSample, direction, filteredOutput.clone());
+		
+		motionEvent.set(sensorSample, filteredOutput);
+		motionEvent.direction = direction;
+		
+		return motionEvent;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void recycle() {
+		
+		if(!release()) return;
+		
+		clear();
+		direction = null;
+		
+		synchronized (POOL_LOCK) {
+			
+			if(poolSize < MAX_POOL_SIZE) {
+				
+				next = pool;
+				pool = this;
+				poolSize++;
+			}
+		}
+	}
 }
@@ -40,6 +40,28 @@ import com.lonepulse.droidballet.listener.HorizontalMotionEvent.HORIZONTAL_DIREC
  */
 public interface HorizontalMotionListener extends MotionListener {
 
+	/**
+	 * <p>The interest mask bit for {@link HORIZONTAL_DIRECTION#LEFT}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int INTEREST_LEFT = 1 << 3;
+	
+	/**
+	 * <p>The interest mask bit for {@link HORIZONTAL_DIRECTION#RIGHT}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int INTEREST_RIGHT = 1 << 4;
+	
+	/**
+	 * <p>The interest mask bit for {@link HORIZONTAL_DIRECTION#NONE}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int INTEREST_HORIZONTAL_REST = 1 << 5;
+	
+	
 	/**
 	 * <p>Invoked when the device orientation reaches a position which assumes 
 	 * {@link HORIZONTAL_DIRECTION#LEFT}. 
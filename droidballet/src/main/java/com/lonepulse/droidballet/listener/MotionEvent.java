@@ -24,6 +24,7 @@ import android.hardware.Sensor;
 import android.hardware.SensorEvent;
 
 import com.lonepulse.droidballet.filter.SmoothingFilter;
+import com.lonepulse.droidballet.sensor.SensorSample;
 
 /**
  * <p>Specifies the contract offered by an <i>event</i> generated due 
@@ -40,12 +41,29 @@ public interface MotionEvent {
 	 * {@link Sensor} from which this {@link MotionEvent} is generated.
 	 * 
 	 * @return the {@link SensorEvent} from which this {@link MotionEvent} 
-	 * 			is generated
+	 * 			is generated, or {@code null} if the reading was not ingested 
+	 * 			directly from a {@link SensorEvent}
 	 * 
 	 * @since 1.1.0
+	 * 
+	 * @deprecated readings are copied out of each {@link SensorEvent} on ingestion 
+	 * 			   since the platform recycles them; use {@link #getSensorSample()}
 	 */
+	@Deprecated
 	public abstract SensorEvent getSensorEvent();
 	
+	/**
+	 * <p>Accessor for a copy of the {@link SensorSample} from which this {@link MotionEvent} 
+	 * is generated. The copy belongs to the event, hence it may be reused once the event 
+	 * has been recycled and should not be retained beyond the scope of the callback.
+	 * 
+	 * @return the {@link SensorSample} from which this {@link MotionEvent} 
+	 * 			is generated
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract SensorSample getSensorSample();
+	
 	/**
 	 * <p>Accessor the sensor output values which have been processed 
 	 * by a {@link SmoothingFilter}.
@@ -56,4 +74,28 @@ public interface MotionEvent {
 	 * @since 1.1.0
 	 */
 	public float[] getFilteredOutput();
+	
+	/**
+	 * <p>Returns this event to the pool of its type so that it can be reused for 
+	 * a subsequent motion. Events are owned by the resolver which generated them 
+	 * and are recycled once they have been dispatched; hence a {@link MotionListener} 
+	 * must never retain an event beyond the scope of the callback.</p>
+	 * 
+	 * <p>If additional claims were made via {@link #retain()}, the event is only 
+	 * returned to the pool once each of them has been released.</p>
+	 * 
+	 * @throws IllegalStateException
+	 * 			if the event has already been recycled
+	 * 
+	 * @since 1.1.0
+	 */
+	public void recycle();
+	
+	/**
+	 * <p>Adds a claim on this event which must be balanced by a subsequent {@link #recycle()}. 
+	 * This is used by resolvers which dispatch the same event on more than one thread.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void retain();
 }
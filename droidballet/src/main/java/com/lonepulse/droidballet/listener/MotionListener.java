@@ -20,6 +20,7 @@ package com.lonepulse.droidballet.listener;
  * #L%
  */
 
+import com.lonepulse.droidballet.sensor.SensorSample;
 
 /**
  * <p>A <b>marker interface</b> which all motion listener <i>contracts</i> 
@@ -30,4 +31,67 @@ package com.lonepulse.droidballet.listener;
  * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
  */
 public interface MotionListener {
+	
+	/**
+	 * <p>Specifies the thread on which the callbacks of a {@link MotionListener} 
+	 * are invoked.</p>
+	 * 
+	 * <p>Events delivered to {@link #MAIN} or {@link #BACKGROUND} listeners carry the same 
+	 * filtered output and {@link SensorSample} as those delivered to {@link #CALLING} listeners, 
+	 * since each event holds its own copy of the reading from which it was generated.</p>
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static enum THREAD_AFFINITY {
+		
+		/**
+		 * <p>Callbacks are invoked on the thread which resolves the motion event. 
+		 * This thread is determined by the configured ingestion mode and dispatch 
+		 * strategy.
+		 * 
+		 * @since 1.1.0
+		 */
+		CALLING,
+		
+		/**
+		 * <p>Callbacks are invoked on the <b>main</b> thread. All pending callbacks 
+		 * are delivered together in a single post to the main thread. This should be 
+		 * used by listeners which manipulate views.
+		 * 
+		 * @since 1.1.0
+		 */
+		MAIN,
+		
+		/**
+		 * <p>Callbacks are invoked on a single, shared <b>background</b> thread, 
+		 * away from both the main thread and the thread which resolves motion.
+		 * 
+		 * @since 1.1.0
+		 */
+		BACKGROUND;
+	}
+	
+	
+	/**
+	 * <p>An <i>interest mask</i> which covers every direction of every motion type. 
+	 * This is assumed when a listener is registered without an interest mask.</p>
+	 * 
+	 * <p>Narrower masks are formed by combining the {@code INTEREST_*} constants of 
+	 * the specific listener contracts, e.g. 
+	 * {@code VerticalMotionListener.INTEREST_UP | VerticalMotionListener.INTEREST_DOWN}.</p>
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int INTEREST_ALL = 0xFFFFFFFF;
+	
+	/**
+	 * <p>A maximum delivery rate which indicates that a listener should receive motion 
+	 * events at the full rate of the sensor. This is assumed when a listener is 
+	 * registered without a maximum delivery rate.</p>
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int RATE_UNLIMITED = 0;
 }
@@ -40,6 +40,28 @@ import com.lonepulse.droidballet.listener.VerticalMotionEvent.VERTICAL_DIRECTION
  * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
  */
 public interface VerticalMotionListener extends MotionListener {
+	
+	/**
+	 * <p>The interest mask bit for {@link VERTICAL_DIRECTION#UP}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int INTEREST_UP = 1 << 0;
+	
+	/**
+	 * <p>The interest mask bit for {@link VERTICAL_DIRECTION#DOWN}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int INTEREST_DOWN = 1 << 1;
+	
+	/**
+	 * <p>The interest mask bit for {@link VERTICAL_DIRECTION#NONE}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int INTEREST_VERTICAL_REST = 1 << 2;
+	
 
 	/**
 	 * <p>Invoked when the device orientation reaches a position which assumes 
@@ -22,14 +22,22 @@ package com.lonepulse.droidballet.queue;
 
 
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 import android.util.Log;
 
+import com.lonepulse.droidballet.resolver.MotionEventResolver;
+
 /**
  * <p>The implementation of {@link QueueController} which handles the 
  * queuing and dequeuing of {@link MotionEventResolutionJob}s and their 
@@ -51,6 +59,14 @@ public enum EventQueue implements QueueController {
 	INSTANCE;
 
 	
+	/**
+	 * <p>The default number of jobs which can be pending before 
+	 * the {@link #backpressurePolicy} is applied.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int DEFAULT_CAPACITY = 64;
+	
 	/**
 	 * <p>A reentrant lock which must be acquired before consuming 
 	 * {@link MotionEventResolutionJob}s. 
@@ -60,9 +76,25 @@ public enum EventQueue implements QueueController {
 	/**
 	 * <p>A condition which signals if new {@link MotionEventResolutionJob}s 
 	 * have been enqueued on an already empty queue.
+	 * 
+	 * @deprecated the consumer parks on its own until a job is enqueued, 
+	 * 			   hence this condition is no longer signalled
 	 */
+	@Deprecated
 	public static final Condition ENQUEUED = CONSUMER_LOCK.newCondition();
 	
+	/**
+	 * <p>The consumer {@link Thread} which is currently parked on an empty queue, 
+	 * or {@code null} if the consumer is active.
+	 */
+	private static volatile Thread parkedConsumer;
+	
+	/**
+	 * <p>The duration for which a producer parks between attempts to add a job 
+	 * to a full queue when using {@link BACKPRESSURE_POLICY#BLOCK}.
+	 */
+	private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+	
 	/**
 	 * <p>A flag which determines if the {@link MotionEventResolutionJob}s 
 	 * continue to be dequeued and consumed.
@@ -93,18 +125,13 @@ public enum EventQueue implements QueueController {
 					if(merj != null) {
 					
 						merj.getMotionEventResolver()
-								.resolve(merj.getSensorEvent(), merj.getMotionListeners());
+								.resolve(merj.getSensorSample(), merj.getMotionListeners());
+						
+						merj.recycle();
 					}
 					else {
 						
-						try {
-							
-							ENQUEUED.await();
-						} 
-						catch (InterruptedException e) {
-						
-							Log.w(getClass().getSimpleName(), e);
-						}
+						park();
 					}
 				}
 			}
@@ -113,6 +140,29 @@ public enum EventQueue implements QueueController {
 				CONSUMER_LOCK.unlock();
 			}
 		}
+		
+		/**
+		 * <p>Parks the consumer until a job is enqueued or consumption is stopped. There is 
+		 * no timeout, hence an idle consumer is never woken; a job which is enqueued meanwhile 
+		 * is not missed, since the consumer is registered before the queue is re-examined.</p>
+		 */
+		private void park() {
+			
+			parkedConsumer = Thread.currentThread();
+			
+			try {
+				
+				if(consume.get() && queue.isEmpty() && pendingResolvers.isEmpty())
+					LockSupport.park(EventQueue.INSTANCE);
+				
+				if(Thread.interrupted())
+					Log.w(getClass().getSimpleName(), "The consumer was interrupted while idle. ");
+			}
+			finally {
+				
+				parkedConsumer = null;
+			}
+		}
 	}
 	
 	/**
@@ -126,29 +176,208 @@ public enum EventQueue implements QueueController {
 	 */
 	private static final Queue<MotionEventResolutionJob> queue;
 	
+	/**
+	 * <p>The latest pending {@link MotionEventResolutionJob} of each {@link MotionEventResolver} 
+	 * when using {@link BACKPRESSURE_POLICY#COALESCE}. A newer job for the same resolver replaces 
+	 * the pending one.
+	 */
+	private static final ConcurrentMap<MotionEventResolver, MotionEventResolutionJob> pendingJobs;
+	
+	/**
+	 * <p>The {@link MotionEventResolver}s which have a job in {@link #pendingJobs}, in the 
+	 * order in which their first pending job was enqueued.
+	 */
+	private static final Queue<MotionEventResolver> pendingResolvers;
+	
+	/**
+	 * <p>The {@link BACKPRESSURE_POLICY} which is applied when the {@link #queue} is full.
+	 */
+	private static volatile BACKPRESSURE_POLICY backpressurePolicy;
+	
+	/**
+	 * <p>The maximum duration in milliseconds for which a producer is blocked 
+	 * when using {@link BACKPRESSURE_POLICY#BLOCK}.
+	 */
+	private static volatile long blockTimeout;
+	
+	/**
+	 * <p>The number of jobs which can be in the {@link #queue} before the 
+	 * {@link #backpressurePolicy} is applied.
+	 */
+	private static volatile int capacity;
+	
+	/**
+	 * <p>The number of jobs in the {@link #queue}, including those which are about to be 
+	 * added. This is incremented when room is reserved for a job and decremented when a 
+	 * job is removed, and is checked against the {@link #capacity}.
+	 */
+	private static final AtomicInteger pendingCount;
+	
+	/**
+	 * <p>The number of jobs which were discarded or replaced under the 
+	 * current {@link #backpressurePolicy}.
+	 */
+	private static final AtomicLong droppedCount;
+	
 	static
 	{
 		queue = new ConcurrentLinkedQueue<MotionEventResolutionJob>();
+		pendingJobs = new ConcurrentHashMap<MotionEventResolver, MotionEventResolutionJob>();
+		pendingResolvers = new ConcurrentLinkedQueue<MotionEventResolver>();
 		consume = new AtomicBoolean(false);
+		backpressurePolicy = BACKPRESSURE_POLICY.DROP_NEWEST;
+		blockTimeout = DEFAULT_BLOCK_TIMEOUT;
+		capacity = DEFAULT_CAPACITY;
+		pendingCount = new AtomicInteger(0);
+		droppedCount = new AtomicLong(0);
 	}
 	
 	
 	/**
 	 * {@inheritDoc}
+	 * 
+	 * <p>If the consumer is parked, it is woken once the job has been added.</p>
 	 */
 	@Override
 	public void enqueue(MotionEventResolutionJob merj) {
 		
-		queue.offer(merj);
+		if(!offer(merj)) {
+			
+			droppedCount.incrementAndGet();
+			merj.recycle();
+			
+			return;
+		}
+		
+		unparkConsumer();
+	}
+	
+	/**
+	 * <p>Wakes the consumer if it is parked on an empty queue.
+	 */
+	private static void unparkConsumer() {
+		
+		Thread consumer = parkedConsumer;
+		
+		if(consumer != null)
+			LockSupport.unpark(consumer);
 	}
 
+	/**
+	 * <p>Adds the given {@link MotionEventResolutionJob} according to the 
+	 * {@link #backpressurePolicy}. Any job which is replaced or discarded to 
+	 * make room is accounted for in {@link #droppedCount}.
+	 * 
+	 * @param merj
+	 * 			the {@link MotionEventResolutionJob} to add
+	 * 
+	 * @return {@code true} if the given job was added, else {@code false} if 
+	 * 		   it was discarded
+	 */
+	private boolean offer(MotionEventResolutionJob merj) {
+		
+		switch (backpressurePolicy) {
+			
+			case COALESCE: {
+				
+				MotionEventResolver motionEventResolver = merj.getMotionEventResolver();
+				
+				MotionEventResolutionJob replaced = pendingJobs.put(motionEventResolver, merj);
+				
+				if(replaced == null) {
+					
+					pendingResolvers.offer(motionEventResolver);
+				}
+				else {
+					
+					droppedCount.incrementAndGet();
+					replaced.recycle();
+				}
+				
+				return true;
+			}
+			case DROP_OLDEST: {
+				
+				if(!reserve()) {
+					
+					MotionEventResolutionJob oldest = queue.poll();
+					
+					//the queue is momentarily empty while other producers are yet to add their 
+					//reserved jobs, hence the new job is discarded rather than spinning
+					if(oldest == null)
+						return false;
+					
+					droppedCount.incrementAndGet();
+					oldest.recycle();
+					
+					//the room of the discarded job is handed over
+				}
+				
+				break;
+			}
+			case BLOCK: {
+				
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeout);
+				
+				while(!reserve()) {
+					
+					if(System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted())
+						return false;
+					
+					LockSupport.parkNanos(EventQueue.INSTANCE, BLOCK_PARK_NANOS);
+				}
+				
+				break;
+			}
+			default: {
+				
+				if(!reserve())
+					return false;
+			}
+		}
+		
+		queue.offer(merj);
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Reserves room for a single job in the {@link #queue} unless it already 
+	 * holds as many jobs as its {@link #capacity}.
+	 * 
+	 * @return {@code true} if room was reserved, else {@code false} if the queue is full
+	 */
+	private static boolean reserve() {
+		
+		while(true) {
+			
+			int pending = pendingCount.get();
+			
+			if(pending >= capacity)
+				return false;
+			
+			if(pendingCount.compareAndSet(pending, pending + 1))
+				return true;
+		}
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public MotionEventResolutionJob dequeue() {
 		
-		return queue.poll();
+		MotionEventResolutionJob merj = queue.poll();
+		
+		if(merj != null) {
+			
+			pendingCount.decrementAndGet();
+			return merj;
+		}
+		
+		MotionEventResolver motionEventResolver = pendingResolvers.poll();
+		
+		return (motionEventResolver == null)? null : pendingJobs.remove(motionEventResolver);
 	}
 	
 	/**
@@ -173,6 +402,71 @@ public enum EventQueue implements QueueController {
 		if(consume.get()) {
 
 			consume.set(false);
+			unparkConsumer();
 		}
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>Jobs which were enqueued before a change of policy remain pending and 
+	 * are dequeued as usual.</p>
+	 */
+	@Override
+	public void setBackpressurePolicy(BACKPRESSURE_POLICY backpressurePolicy) {
+		
+		EventQueue.backpressurePolicy = backpressurePolicy;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public BACKPRESSURE_POLICY getBackpressurePolicy() {
+		
+		return backpressurePolicy;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setBlockTimeout(long blockTimeout) {
+		
+		EventQueue.blockTimeout = blockTimeout;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getDroppedCount() {
+		
+		return droppedCount.get();
+	}
+	
+	/**
+	 * <p>Sets the number of jobs which can be pending before the {@link #backpressurePolicy} 
+	 * is applied. This does not affect {@link BACKPRESSURE_POLICY#COALESCE}, which retains 
+	 * at most one job per resolver. Defaults to {@link #DEFAULT_CAPACITY}.</p>
+	 * 
+	 * <p>The capacity may be changed while jobs are pending. If it is reduced below the number 
+	 * of pending jobs, none of them is discarded, but no job is added until the consumer has 
+	 * drained the queue below the new capacity.</p>
+	 * 
+	 * @param capacity
+	 * 			the maximum number of pending jobs; must be greater than zero
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			if the given capacity is less than one
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setCapacity(int capacity) {
+		
+		if(capacity < 1)
+			throw new IllegalArgumentException("The capacity of an event queue must be greater than zero. ");
+		
+		EventQueue.capacity = capacity;
+	}
 }
@@ -21,23 +21,53 @@ package com.lonepulse.droidballet.queue;
  */
 
 
-import java.util.Set;
-
-import android.hardware.SensorEvent;
 import android.view.MotionEvent;
 
 import com.lonepulse.droidballet.listener.MotionListener;
+import com.lonepulse.droidballet.registry.MotionListenerReference;
 import com.lonepulse.droidballet.resolver.MotionEventResolver;
+import com.lonepulse.droidballet.sensor.SensorSample;
 
 /**
  * <p>Represents a motion event which is to be translated to a motion 
- * event and despatched to targeted motion listeners. 
+ * event and despatched to targeted motion listeners.</p>
+ * 
+ * <p>Instances are best obtained using {@link #obtain(SensorSample, MotionListenerReference[], MotionEventResolver)}, 
+ * which reuses jobs from a global pool. A job is owned by the {@link QueueController} it is 
+ * enqueued on; the queue {@link #recycle()}s each job once it has been resolved or discarded, 
+ * after which the job must no longer be accessed.</p>
+ * 
+ * <p>A job {@link SensorSample#retain()}s its sample and {@link SensorSample#recycle()}s it 
+ * along with the job, hence a pooled sample which is shared by several jobs is returned to 
+ * its pool once the last of them is done.</p>
  * 
  * @version 1.1.0
  * <br><br>
  * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
  */
 public class MotionEventResolutionJob {
+	
+	
+	/**
+	 * <p>The maximum number of recycled jobs which are retained in the {@link #pool}.
+	 */
+	private static final int MAX_POOL_SIZE = 32;
+	
+	/**
+	 * <p>The lock which guards the {@link #pool}.
+	 */
+	private static final Object POOL_LOCK = new Object();
+	
+	/**
+	 * <p>The head of a linked list of recycled jobs which are available for reuse.
+	 */
+	private static MotionEventResolutionJob pool;
+	
+	/**
+	 * <p>The number of jobs in the {@link #pool}.
+	 */
+	private static int poolSize;
+	
 
 	
 	/**
@@ -52,14 +82,14 @@ public class MotionEventResolutionJob {
 		
 		
 		/**
-		 * <p>See {@link MotionEventResolutionJob#sensorEvent}.
+		 * <p>See {@link MotionEventResolutionJob#sensorSample}.
 		 */
-		private SensorEvent sensorEvent;
+		private SensorSample sensorSample;
 		
 		/**
 		 * <p>See {@link MotionEventResolutionJob#motionListeners}.
 		 */
-		private Set<MotionListener> motionListeners;
+		private MotionListenerReference[] motionListeners;
 		
 		/**
 		 * <p>See {@link MotionEventResolutionJob#motionEventResolver}.
@@ -71,8 +101,8 @@ public class MotionEventResolutionJob {
 		 * <p>Creates an instance of {@link MotionEventResolutionJob} to reflect the 
 		 * properties set in this instance of {@link MotionEventResolutionJob.Builder}.
 		 * 
-		 * @param sensorEvent
-		 * 			see {@link MotionEventResolutionJob#sensorEvent}
+		 * @param sensorSample
+		 * 			see {@link MotionEventResolutionJob#sensorSample}
 		 * 
 		 * @param motionListeners
 		 * 			see {@link MotionEventResolutionJob#motionListeners}
@@ -82,24 +112,24 @@ public class MotionEventResolutionJob {
 		 * 
 		 * @since 1.1.0
 		 */
-		public Builder(SensorEvent sensorEvent, 
-					   Set<MotionListener> motionListeners, 
+		public Builder(SensorSample sensorSample, 
+					   MotionListenerReference[] motionListeners, 
 					   MotionEventResolver motionEventResolver) {
 			
-			this.sensorEvent = sensorEvent;
+			this.sensorSample = sensorSample;
 			this.motionListeners = motionListeners;
 			this.motionEventResolver = motionEventResolver;
 		}
 
 		/**
-		 * <p>Mutator for {@link #sensorEvent}.
+		 * <p>Mutator for {@link #sensorSample}.
 		 *
-		 * @param sensorEvent 
-		 *			sets {@link #sensorEvent}
+		 * @param sensorSample 
+		 *			sets {@link #sensorSample}
 		 */
-		public void setSensorEvent(SensorEvent sensorEvent) {
+		public void setSensorSample(SensorSample sensorSample) {
 			
-			this.sensorEvent = sensorEvent;
+			this.sensorSample = sensorSample;
 		}
 
 		/**
@@ -108,7 +138,7 @@ public class MotionEventResolutionJob {
 		 * @param motionListeners 
 		 *			sets {@link #motionListeners}
 		 */
-		public void setMotionListeners(Set<MotionListener> motionListeners) {
+		public void setMotionListeners(MotionListenerReference[] motionListeners) {
 			
 			this.motionListeners = motionListeners;
 		}
@@ -140,35 +170,47 @@ public class MotionEventResolutionJob {
 
 	
 	/**
-	 * <p>The motion {@link SensorEvent} which is to be processed 
+	 * <p>The motion {@link SensorSample} which is to be processed 
 	 * and translated to an action on a {@link MotionListener}.
 	 */
-	private final SensorEvent sensorEvent;
+	private SensorSample sensorSample;
 	
 	/**
-	 * <p>The set of {@link MotionListener}s on which the motion 
-	 * event is despatched.  
+	 * <p>The references to the {@link MotionListener}s on which 
+	 * the motion event is despatched.  
 	 */
-	private final Set<MotionListener> motionListeners;
+	private MotionListenerReference[] motionListeners;
 	
 	/**
 	 * <p>The {@link MotionEventResolver} which is to be used for 
-	 * translating the {@link #sensorEvent} to a {@link MotionEvent} 
-	 * on the set of {@link #motionListeners}
+	 * translating the {@link #sensorSample} to a {@link MotionEvent} 
+	 * on the {@link #motionListeners}
+	 */
+	private MotionEventResolver motionEventResolver;
+	
+	/**
+	 * <p>The next job in the {@link #pool}, while this job is recycled.
 	 */
-	private final MotionEventResolver motionEventResolver;
+	private MotionEventResolutionJob next;
+	
+	/**
+	 * <p>Determines whether this job is in use, i.e. whether it has been created or 
+	 * {@link #obtain(SensorSample, MotionListenerReference[], MotionEventResolver)}ed 
+	 * and not yet {@link #recycle()}d. Guarded by the {@link #POOL_LOCK}.
+	 */
+	private boolean inUse;
 
 	
 	/**
-	 * <p>Accessor for {@link #sensorEvent}.
+	 * <p>Accessor for {@link #sensorSample}.
 	 *
-	 * @return the {@link #sensorEvent}
+	 * @return the {@link #sensorSample}
 	 * 
 	 * @since 1.1.0
 	 */
-	public SensorEvent getSensorEvent() {
+	public SensorSample getSensorSample() {
 		
-		return sensorEvent;
+		return sensorSample;
 	}
 
 	/**
@@ -178,7 +220,7 @@ public class MotionEventResolutionJob {
 	 * 
 	 * @since 1.1.0
 	 */
-	public Set<MotionListener> getMotionListeners() {
+	public MotionListenerReference[] getMotionListeners() {
 		
 		return motionListeners;
 	}
@@ -207,8 +249,103 @@ public class MotionEventResolutionJob {
 	 */
 	public MotionEventResolutionJob(MotionEventResolutionJob.Builder builder) {
 	
-		this.sensorEvent = builder.sensorEvent;
+		this.sensorSample = builder.sensorSample;
 		this.motionListeners = builder.motionListeners;
 		this.motionEventResolver = builder.motionEventResolver;
+		this.inUse = true;
+		
+		if(sensorSample != null)
+			sensorSample.retain();
+	}
+	
+	/**
+	 * <p>Creates an empty {@link MotionEventResolutionJob} for the {@link #pool}.
+	 */
+	private MotionEventResolutionJob() {}
+	
+	/**
+	 * <p>Returns a {@link MotionEventResolutionJob} from the global pool, or creates a new 
+	 * instance if the pool is empty. This avoids allocating a job for each sample.
+	 * 
+	 * @param sensorSample
+	 * 			see {@link MotionEventResolutionJob#sensorSample}
+	 * 
+	 * @param motionListeners
+	 * 			see {@link MotionEventResolutionJob#motionListeners}
+	 * 
+	 * @param motionEventResolver
+	 * 			see {@link MotionEventResolutionJob#motionEventResolver}
+	 * 
+	 * @return a {@link MotionEventResolutionJob} which reflects the given properties
+	 * 
+	 * @since 1.1.0
+	 */
+	public static MotionEventResolutionJob obtain(SensorSample sensorSample, 
+												  MotionListenerReference[] motionListeners, 
+												  MotionEventResolver motionEventResolver) {
+		
+		MotionEventResolutionJob merj = null;
+		
+		synchronized (POOL_LOCK) {
+			
+			if(pool != null) {
+				
+				merj = pool;
+				pool = merj.next;
+				merj.next = null;
+				poolSize--;
+			}
+			
+			if(merj == null)
+				merj = new MotionEventResolutionJob();
+			
+			merj.inUse = true;
+		}
+		
+		merj.sensorSample = sensorSample;
+		merj.motionListeners = motionListeners;
+		merj.motionEventResolver = motionEventResolver;
+		
+		if(sensorSample != null)
+			sensorSample.retain();
+		
+		return merj;
+	}
+	
+	/**
+	 * <p>Returns this job to the global pool and releases its claim on the {@link #sensorSample}. 
+	 * This must only be invoked by the owner of the job, after which the job must no longer be 
+	 * accessed.
+	 * 
+	 * @throws IllegalStateException
+	 * 			if the job has already been recycled
+	 * 
+	 * @since 1.1.0
+	 */
+	public void recycle() {
+		
+		SensorSample sensorSample = this.sensorSample;
+		
+		synchronized (POOL_LOCK) {
+			
+			if(!inUse)
+				throw new IllegalStateException("This job cannot be recycled because it has already been recycled. ");
+			
+			inUse = false;
+			
+			this.sensorSample = null;
+			motionListeners = null;
+			motionEventResolver = null;
+			
+			if(poolSize < MAX_POOL_SIZE) {
+				
+				next = pool;
+				pool = this;
+				poolSize++;
+			}
+		}
+		
+		if(sensorSample != null)
+			sensorSample.recycle();
 	}
 }
@@ -21,6 +21,7 @@ package com.lonepulse.droidballet.queue;
  */
 
 
+import com.lonepulse.droidballet.resolver.MotionEventResolver;
 
 /**
  * <p>This contract specifies the services offered on a queue which 
@@ -31,6 +32,58 @@ package com.lonepulse.droidballet.queue;
  * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
  */
 public interface QueueController {
+	
+	/**
+	 * <p>Identifies the action taken when a {@link MotionEventResolutionJob} is 
+	 * enqueued on a queue which is full.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static enum BACKPRESSURE_POLICY {
+		
+		/**
+		 * <p>The oldest pending job is discarded to make room for the new job. 
+		 * This favours the latest readings.
+		 * 
+		 * @since 1.1.0
+		 */
+		DROP_OLDEST,
+		
+		/**
+		 * <p>The new job is discarded. This favours the readings which 
+		 * are already pending.
+		 * 
+		 * @since 1.1.0
+		 */
+		DROP_NEWEST,
+		
+		/**
+		 * <p>Only the newest pending job of each {@link MotionEventResolver} is 
+		 * retained; a new job replaces the pending job of its resolver in place.
+		 * 
+		 * @since 1.1.0
+		 */
+		COALESCE,
+		
+		/**
+		 * <p>The producer is blocked until room is available, or until the 
+		 * block timeout elapses, upon which the new job is discarded. 
+		 * 
+		 * @since 1.1.0
+		 */
+		BLOCK;
+	}
+	
+	/**
+	 * <p>The default block timeout in milliseconds used with 
+	 * {@link BACKPRESSURE_POLICY#BLOCK}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final long DEFAULT_BLOCK_TIMEOUT = 10;
+	
 
 	/**
 	 * <p>Adds a {@link MotionEventResolutionJob} to an FIFO queue.
@@ -68,4 +121,45 @@ public interface QueueController {
 	 * @since 1.1.0
 	 */
 	public void stopConsuming();
+	
+	/**
+	 * <p>Sets the {@link BACKPRESSURE_POLICY} which is applied when jobs are enqueued 
+	 * faster than they are consumed and the queue is full.
+	 * 
+	 * @param backpressurePolicy
+	 * 			the {@link BACKPRESSURE_POLICY} to apply; <b>cannot be null</b>
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setBackpressurePolicy(BACKPRESSURE_POLICY backpressurePolicy);
+	
+	/**
+	 * <p>Returns the {@link BACKPRESSURE_POLICY} which is currently applied.
+	 * 
+	 * @return the current {@link BACKPRESSURE_POLICY}
+	 * 
+	 * @since 1.1.0
+	 */
+	public BACKPRESSURE_POLICY getBackpressurePolicy();
+	
+	/**
+	 * <p>Sets the maximum duration for which a producer is blocked on a full queue 
+	 * when using {@link BACKPRESSURE_POLICY#BLOCK}.
+	 * 
+	 * @param blockTimeout
+	 * 			the timeout in milliseconds, after which the job is discarded
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setBlockTimeout(long blockTimeout);
+	
+	/**
+	 * <p>Returns the number of {@link MotionEventResolutionJob}s which were discarded, 
+	 * or replaced by a newer job, under the {@link BACKPRESSURE_POLICY}.
+	 * 
+	 * @return the number of dropped jobs
+	 * 
+	 * @since 1.1.0
+	 */
+	public long getDroppedCount();
 }
@@ -0,0 +1,597 @@
+package com.lonepulse.droidballet.queue;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import android.util.Log;
+
+import com.lonepulse.droidballet.resolver.MotionEventResolver;
+
+/**
+ * <p>An implementation of {@link QueueController} which buffers {@link MotionEventResolutionJob}s
+ * in a bounded, <b>multi-producer/single-consumer</b> ring buffer. Unlike {@link EventQueue},
+ * handing off a job acquires no lock; the consumer <i>spins</i> for a short while when the
+ * buffer runs empty and then <i>parks</i> until a producer publishes the next job.</p>
+ * 
+ * <p>Producers claim a slot by advancing the tail with a CAS and publish it by advancing the 
+ * sequence of the slot. Hence jobs may be enqueued by any thread, including a former producer 
+ * which is still running after its successor has started. If the consumer falls behind and 
+ * the buffer is full, the configured {@link BACKPRESSURE_POLICY} is applied.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class RingBufferEventQueue implements QueueController {
+	
+	
+	/**
+	 * <p>The default number of slots used when a capacity is not specified.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int DEFAULT_CAPACITY = 64;
+	
+	/**
+	 * <p>The number of times the consumer re-examines an empty buffer
+	 * before it parks.
+	 */
+	private static final int SPIN_LIMIT = 128;
+	
+	/**
+	 * <p>The duration for which a producer parks between attempts to 
+	 * publish on a full buffer when using {@link BACKPRESSURE_POLICY#BLOCK}.
+	 */
+	private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+	
+	
+	/**
+	 * <p>A {@link Runnable} which dequeues {@link MotionEventResolutionJob}s from
+	 * the {@link RingBufferEventQueue} and executes them until interrupted.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	private final class CONSUMER implements Runnable {
+		
+		@Override
+		public void run() {
+			
+			int spins = 0;
+			
+			while(!Thread.currentThread().isInterrupted()) {
+				
+				MotionEventResolutionJob merj = dequeue();
+				
+				if(merj != null) {
+					
+					spins = 0;
+					
+					merj.getMotionEventResolver()
+							.resolve(merj.getSensorSample(), merj.getMotionListeners());
+					
+					merj.recycle();
+				}
+				else if(spins < SPIN_LIMIT) {
+					
+					spins++;
+				}
+				else {
+					
+					park();
+				}
+			}
+		}
+	}
+	
+	
+	/**
+	 * <p>The mask applied to a sequence to obtain its slot index; this is
+	 * always one less than the (power-of-two) capacity.
+	 */
+	private final int mask;
+	
+	/**
+	 * <p>The slots which hold the published {@link MotionEventResolutionJob}s.
+	 */
+	private final MotionEventResolutionJob[] jobs;
+	
+	/**
+	 * <p>The sequence of each slot. A slot is free for the sequence {@code s} while this 
+	 * is {@code s}, and holds the job of {@code s} once this is {@code s + 1}.
+	 */
+	private final AtomicLongArray sequences;
+	
+	/**
+	 * <p>The sequence of the next slot to be read. This is advanced by the consumer, 
+	 * and by producers which discard the oldest job under {@link BACKPRESSURE_POLICY#DROP_OLDEST}.
+	 */
+	private final AtomicLong head = new AtomicLong(0);
+	
+	/**
+	 * <p>The sequence of the next slot to be claimed by a producer.
+	 */
+	private final AtomicLong tail = new AtomicLong(0);
+	
+	/**
+	 * <p>The latest pending {@link MotionEventResolutionJob} of each {@link MotionEventResolver}
+	 * when using {@link BACKPRESSURE_POLICY#COALESCE}. These jobs never occupy a slot; the 
+	 * slot of each resolver is held by its {@link #placeholders} job instead.
+	 */
+	private final ConcurrentMap<MotionEventResolver, MotionEventResolutionJob> pendingJobs;
+	
+	/**
+	 * <p>The job which occupies a slot on behalf of the pending job of each {@link MotionEventResolver}. 
+	 * A placeholder is published by the producer which finds no pending job for its resolver, and is 
+	 * never recycled; the jobs in {@link #pendingJobs} are only ever replaced or removed atomically, 
+	 * hence each of them is recycled by exactly one party.
+	 */
+	private final ConcurrentMap<MotionEventResolver, MotionEventResolutionJob> placeholders;
+	
+	/**
+	 * <p>The {@link BACKPRESSURE_POLICY} which is applied when the buffer is full.
+	 */
+	private volatile BACKPRESSURE_POLICY backpressurePolicy = BACKPRESSURE_POLICY.DROP_NEWEST;
+	
+	/**
+	 * <p>The maximum duration in milliseconds for which the producer is blocked 
+	 * when using {@link BACKPRESSURE_POLICY#BLOCK}.
+	 */
+	private volatile long blockTimeout = DEFAULT_BLOCK_TIMEOUT;
+	
+	/**
+	 * <p>The number of jobs which were discarded or replaced under the 
+	 * {@link #backpressurePolicy}.
+	 */
+	private final AtomicLong droppedCount = new AtomicLong(0);
+	
+	/**
+	 * <p>The {@link Thread} which runs the {@link CONSUMER}, or {@code null} if
+	 * consumption was never started.
+	 */
+	private Thread consumerThread;
+	
+	/**
+	 * <p>The consumer {@link Thread} which is currently parked, or {@code null}
+	 * if the consumer is active.
+	 */
+	private volatile Thread parkedConsumer;
+	
+	
+	/**
+	 * <p>Creates a {@link RingBufferEventQueue} with {@link #DEFAULT_CAPACITY} slots.
+	 * 
+	 * @since 1.1.0
+	 */
+	public RingBufferEventQueue() {
+		
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * <p>Creates a {@link RingBufferEventQueue} with <b>at least</b> the given number of
+	 * slots. The capacity is rounded up to the next power of two.
+	 * 
+	 * @param capacity
+	 * 			the minimum number of slots; must be greater than zero
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			if the given capacity is less than one
+	 * 
+	 * @since 1.1.0
+	 */
+	public RingBufferEventQueue(int capacity) {
+		
+		if(capacity < 1)
+			throw new IllegalArgumentException("The capacity of an event queue must be greater than zero. ");
+		
+		int slots = Integer.highestOneBit(capacity);
+		slots = (slots < capacity)? slots << 1 : slots;
+		
+		this.mask = slots - 1;
+		this.jobs = new MotionEventResolutionJob[slots];
+		this.sequences = new AtomicLongArray(slots);
+		this.pendingJobs = new ConcurrentHashMap<MotionEventResolver, MotionEventResolutionJob>();
+		this.placeholders = new ConcurrentHashMap<MotionEventResolver, MotionEventResolutionJob>();
+		
+		for (int i = 0; i < slots; i++)
+			sequences.set(i, i);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>This may be invoked by several producers concurrently.</p>
+	 */
+	@Override
+	public void enqueue(MotionEventResolutionJob merj) {
+		
+		switch (backpressurePolicy) {
+			
+			case COALESCE: {
+				
+				MotionEventResolver motionEventResolver = merj.getMotionEventResolver();
+				
+				MotionEventResolutionJob replaced = pendingJobs.put(motionEventResolver, merj);
+				
+				if(replaced != null) {
+					
+					droppedCount.incrementAndGet();
+					replaced.recycle();
+				}
+				else if(!offer(getPlaceholder(motionEventResolver))) {
+					
+					//another producer may have replaced the job meanwhile, hence whichever is pending is discarded
+					MotionEventResolutionJob discarded = pendingJobs.remove(motionEventResolver);
+					
+					if(discarded != null) {
+						
+						droppedCount.incrementAndGet();
+						discarded.recycle();
+					}
+				}
+				
+				break;
+			}
+			case DROP_OLDEST: {
+				
+				while(!offer(merj)) {
+					
+					MotionEventResolutionJob oldest = poll();
+					
+					if(oldest != null) {
+						
+						droppedCount.incrementAndGet();
+						discard(oldest);
+					}
+					else {
+						
+						//the oldest slot is being published or freed by another thread
+						Thread.yield();
+					}
+				}
+				
+				break;
+			}
+			case BLOCK: {
+				
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeout);
+				
+				while(!offer(merj)) {
+					
+					if(System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+						
+						droppedCount.incrementAndGet();
+						merj.recycle();
+						
+						break;
+					}
+					
+					LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+				}
+				
+				break;
+			}
+			default: {
+				
+				if(!offer(merj)) {
+					
+					droppedCount.incrementAndGet();
+					merj.recycle();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * <p>Claims the next free slot, publishes the given {@link MotionEventResolutionJob} 
+	 * in it and wakes the consumer if it is parked.
+	 * 
+	 * @param merj
+	 * 			the {@link MotionEventResolutionJob} to publish
+	 * 
+	 * @return {@code true} if the job was published, else {@code false} if
+	 * 		   the buffer is full
+	 */
+	private boolean offer(MotionEventResolutionJob merj) {
+		
+		long sequence = tail.get();
+		int slot;
+		
+		while(true) {
+			
+			slot = (int) sequence & mask;
+			long available = sequences.get(slot) - sequence;
+			
+			if(available == 0) {
+				
+				if(tail.compareAndSet(sequence, sequence + 1))
+					break;
+				
+				sequence = tail.get();
+			}
+			else if(available < 0) {
+				
+				return false;
+			}
+			else {
+				
+				sequence = tail.get();
+			}
+		}
+		
+		jobs[slot] = merj;
+		sequences.set(slot, sequence + 1);
+		
+		Thread consumer = parkedConsumer;
+		
+		if(consumer != null)
+			LockSupport.unpark(consumer);
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Takes the oldest published {@link MotionEventResolutionJob} and frees its slot. 
+	 * This is contended by the consumer and by producers which discard the oldest job.
+	 * 
+	 * @return the oldest {@link MotionEventResolutionJob}, or {@code null} if the slot 
+	 * 		   at the {@link #head} is yet to be published
+	 */
+	private MotionEventResolutionJob poll() {
+		
+		long sequence = head.get();
+		
+		while(true) {
+			
+			int slot = (int) sequence & mask;
+			long available = sequences.get(slot) - (sequence + 1);
+			
+			if(available == 0) {
+				
+				if(head.compareAndSet(sequence, sequence + 1)) {
+					
+					MotionEventResolutionJob merj = jobs[slot];
+					
+					jobs[slot] = null;
+					sequences.set(slot, sequence + mask + 1);
+					
+					return merj;
+				}
+				
+				sequence = head.get();
+			}
+			else if(available < 0) {
+				
+				return null;
+			}
+			else {
+				
+				sequence = head.get();
+			}
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>This must only be invoked by the <b>single consumer</b>.</p>
+	 */
+	@Override
+	public MotionEventResolutionJob dequeue() {
+		
+		while(true) {
+			
+			MotionEventResolutionJob merj = poll();
+			
+			if(merj == null)
+				return null;
+			
+			if(!isPlaceholder(merj))
+				return merj;
+			
+			MotionEventResolutionJob latest = pendingJobs.remove(merj.getMotionEventResolver());
+			
+			if(latest != null)
+				return latest;
+		}
+	}
+	
+	/**
+	 * <p>Returns the placeholder of the given {@link MotionEventResolver}, creating it if necessary.
+	 * 
+	 * @param motionEventResolver
+	 * 			the {@link MotionEventResolver} whose placeholder is to be returned
+	 * 
+	 * @return the job which occupies a slot on behalf of the resolver
+	 */
+	private MotionEventResolutionJob getPlaceholder(MotionEventResolver motionEventResolver) {
+		
+		MotionEventResolutionJob placeholder = placeholders.get(motionEventResolver);
+		
+		if(placeholder == null) {
+			
+			placeholder = new MotionEventResolutionJob.Builder(null, null, motionEventResolver).build();
+			
+			MotionEventResolutionJob existing = placeholders.putIfAbsent(motionEventResolver, placeholder);
+			
+			if(existing != null)
+				placeholder = existing;
+		}
+		
+		return placeholder;
+	}
+	
+	/**
+	 * <p>Determines whether the given job is the placeholder of its {@link MotionEventResolver}.
+	 * 
+	 * @param merj
+	 * 			the {@link MotionEventResolutionJob} which was taken from a slot
+	 * 
+	 * @return {@code true} if the job stands in for a job in {@link #pendingJobs}
+	 */
+	private boolean isPlaceholder(MotionEventResolutionJob merj) {
+		
+		return placeholders.get(merj.getMotionEventResolver()) == merj;
+	}
+	
+	/**
+	 * <p>Recycles a job which was taken from a slot without being resolved. For a 
+	 * placeholder, the pending job of its resolver is recycled instead.
+	 * 
+	 * @param merj
+	 * 			the {@link MotionEventResolutionJob} which was taken from a slot
+	 */
+	private void discard(MotionEventResolutionJob merj) {
+		
+		if(!isPlaceholder(merj)) {
+			
+			merj.recycle();
+			return;
+		}
+		
+		MotionEventResolutionJob pending = pendingJobs.remove(merj.getMotionEventResolver());
+		
+		if(pending != null)
+			pending.recycle();
+	}
+	
+	/**
+	 * <p>Parks the consumer until a job is published or the consumer is interrupted. 
+	 * There is no timeout, hence an idle consumer is never woken; a job which is 
+	 * published meanwhile is not missed, since the consumer is registered before 
+	 * the buffer is re-examined.
+	 */
+	private void park() {
+		
+		parkedConsumer = Thread.currentThread();
+		
+		try {
+			
+			long sequence = head.get();
+			
+			if(sequences.get((int) sequence & mask) != sequence + 1)
+				LockSupport.park(this);
+		}
+		finally {
+			
+			parkedConsumer = null;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>A consumer which was stopped earlier is allowed to finish its current job
+	 * before the new consumer is started, so that the buffer is never drained by
+	 * more than one consumer.</p>
+	 */
+	@Override
+	public synchronized void startConsuming() {
+		
+		if(consumerThread != null && consumerThread.isAlive()) {
+			
+			if(!consumerThread.isInterrupted())
+				return;
+			
+			try {
+				
+				consumerThread.join();
+			}
+			catch (InterruptedException ie) {
+				
+				Log.w(getClass().getSimpleName(), ie);
+				Thread.currentThread().interrupt();
+				
+				return;
+			}
+		}
+		
+		consumerThread = new Thread(new CONSUMER(), "DroidBallet-EventQueue");
+		consumerThread.start();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void stopConsuming() {
+		
+		if(consumerThread != null)
+			consumerThread.interrupt();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setBackpressurePolicy(BACKPRESSURE_POLICY backpressurePolicy) {
+		
+		this.backpressurePolicy = backpressurePolicy;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public BACKPRESSURE_POLICY getBackpressurePolicy() {
+		
+		return backpressurePolicy;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setBlockTimeout(long blockTimeout) {
+		
+		this.blockTimeout = blockTimeout;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getDroppedCount() {
+		
+		return droppedCount.get();
+	}
+	
+	/**
+	 * <p>Returns the number of slots in this queue.
+	 * 
+	 * @return the capacity, which is always a power of two
+	 * 
+	 * @since 1.1.0
+	 */
+	public int getCapacity() {
+		
+		return mask + 1;
+	}
+}
@@ -0,0 +1,54 @@
+package com.lonepulse.droidballet.registry;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.lonepulse.droidballet.listener.MotionListener;
+import com.lonepulse.droidballet.resolver.MotionEventResolver;
+
+/**
+ * <p>This contract is used by the {@link MotionViewRegistry} to report a change in 
+ * <i>motion demand</i>. There is demand whenever at least one registered 
+ * {@link MotionEventResolver} has a {@link MotionListener} of its handled type. The 
+ * demand also includes the highest maximum delivery rate declared by those listeners and 
+ * the lowest sampling rate at which their resolvers detect motion reliably.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public interface MotionDemandListener {
+	
+	/**
+	 * <p>Invoked when the demand reported by {@link MotionViewRegistry#hasMotionDemand()} 
+	 * or the rates reported by {@link MotionViewRegistry#getMaxDeliveryRate()} and 
+	 * {@link MotionViewRegistry#getMinSamplingRate()} change. This may be invoked on any 
+	 * thread, including a dispatching thread, while 
+	 * the lock on {@link MotionViewRegistry#INSTANCE} is held; implementations should 
+	 * not block.</p>
+	 * 
+	 * @param demanded
+	 * 			{@code true} if there is demand for motion events, else {@code false}
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract void onMotionDemandChanged(boolean demanded);
+}
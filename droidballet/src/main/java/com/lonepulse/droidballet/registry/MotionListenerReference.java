@@ -0,0 +1,191 @@
+package com.lonepulse.droidballet.registry;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+
+import com.lonepulse.droidballet.listener.MotionListener;
+import com.lonepulse.droidballet.listener.MotionListener.THREAD_AFFINITY;
+
+/**
+ * <p>A {@link WeakReference} to a {@link MotionListener} which was registered on the
+ * {@link MotionViewRegistry}. A registration does not prevent its listener from being
+ * garbage collected; once the listener is collected, {@link #get()} returns {@code null}
+ * and the reference is enqueued so that the registry can purge it.</p>
+ * 
+ * <p>Each reference carries the <i>interest mask</i>, the <i>maximum delivery rate</i> and 
+ * the {@link THREAD_AFFINITY} with which its listener was registered, and throttles 
+ * deliveries to that rate.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public final class MotionListenerReference extends WeakReference<MotionListener> {
+	
+	
+	/**
+	 * <p>The interest mask which determines the directions dispatched to the listener.
+	 */
+	private final int interest;
+	
+	/**
+	 * <p>The maximum number of motion events per second, or {@link MotionListener#RATE_UNLIMITED}.
+	 */
+	private final int maxRate;
+	
+	/**
+	 * <p>The minimum time in nanoseconds between the timestamps of two delivered samples. 
+	 * This is a tenth short of the period of the {@link #maxRate}, so that jitter in the 
+	 * sensor timestamps does not halve the delivery rate.
+	 */
+	private final long minimumInterval;
+	
+	/**
+	 * <p>The {@link THREAD_AFFINITY} which determines the thread on which the listener is invoked.
+	 */
+	private final THREAD_AFFINITY threadAffinity;
+	
+	/**
+	 * <p>The timestamp of the last sample which was delivered to the listener.
+	 */
+	private volatile long lastDelivery;
+	
+	/**
+	 * <p>Indicates whether any sample has been delivered to the listener.
+	 */
+	private volatile boolean delivered;
+	
+	
+	/**
+	 * <p>Creates a {@link MotionListenerReference} to the given {@link MotionListener}.
+	 * 
+	 * @param motionListener
+	 * 			the registered {@link MotionListener}
+	 * 
+	 * @param interest
+	 * 			the {@link #interest} mask of the listener
+	 * 
+	 * @param maxRate
+	 * 			the {@link #maxRate} of the listener
+	 * 
+	 * @param threadAffinity
+	 * 			the {@link #threadAffinity} of the listener
+	 * 
+	 * @param referenceQueue
+	 * 			the {@link ReferenceQueue} on which this reference is enqueued
+	 * 			once the listener has been collected
+	 */
+	MotionListenerReference(MotionListener motionListener, int interest, int maxRate, 
+							THREAD_AFFINITY threadAffinity, 
+							ReferenceQueue<? super MotionListener> referenceQueue) {
+		
+		super(motionListener, referenceQueue);
+		
+		this.interest = interest;
+		this.threadAffinity = threadAffinity;
+		this.maxRate = Math.max(maxRate, MotionListener.RATE_UNLIMITED);
+		this.minimumInterval = (this.maxRate == MotionListener.RATE_UNLIMITED)? 
+				0 : TimeUnit.SECONDS.toNanos(1) * 9 / (10L * this.maxRate);
+	}
+	
+	/**
+	 * <p>Determines whether the listener is interested in the direction 
+	 * represented by the given interest mask bit.
+	 * 
+	 * @param direction
+	 * 			the interest mask bit of a direction
+	 * 
+	 * @return {@code true} if the direction is dispatched to the listener
+	 * 
+	 * @since 1.1.0
+	 */
+	public boolean isInterested(int direction) {
+		
+		return (interest & direction) != 0;
+	}
+	
+	/**
+	 * <p>Determines whether the sample with the given timestamp may be delivered to the 
+	 * listener without exceeding its {@link #maxRate}. Admitting a sample records it as 
+	 * delivered; the same sample is admitted again for each motion type of the listener.
+	 * 
+	 * @param timestamp
+	 * 			the timestamp of the sample in nanoseconds
+	 * 
+	 * @return {@code true} if the sample should be delivered
+	 * 
+	 * @since 1.1.0
+	 */
+	public boolean admit(long timestamp) {
+		
+		if(minimumInterval == 0) return true;
+		
+		long last = lastDelivery;
+		
+		if(delivered && timestamp != last && timestamp - last < minimumInterval)
+			return false;
+		
+		lastDelivery = timestamp;
+		delivered = true;
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #interest}.
+	 * 
+	 * @return the {@link #interest} mask
+	 * 
+	 * @since 1.1.0
+	 */
+	public int getInterest() {
+		
+		return interest;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #maxRate}.
+	 * 
+	 * @return the {@link #maxRate}
+	 * 
+	 * @since 1.1.0
+	 */
+	public int getMaxRate() {
+		
+		return maxRate;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #threadAffinity}.
+	 * 
+	 * @return the {@link #threadAffinity}
+	 * 
+	 * @since 1.1.0
+	 */
+	public THREAD_AFFINITY getThreadAffinity() {
+		
+		return threadAffinity;
+	}
+}
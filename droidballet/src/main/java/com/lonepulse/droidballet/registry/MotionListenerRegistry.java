@@ -26,6 +26,7 @@ import android.view.ViewGroup;
 import com.lonepulse.droidballet.core.HiggsFieldConfiguration;
 import com.lonepulse.droidballet.listener.MotionEvent;
 import com.lonepulse.droidballet.listener.MotionListener;
+import com.lonepulse.droidballet.listener.MotionListener.THREAD_AFFINITY;
 
 /**
   * <p>This contract specifies how {@link MotionListener}s can register 
@@ -49,6 +50,69 @@ public interface MotionListenerRegistry {
 	 */
 	public abstract <T extends MotionListener> void register(T motionListener);
 	
+	/**
+	 * <p>Registers a {@link View} with the {@link HiggsFieldConfiguration} so that it may 
+	 * receive callbacks <b>only</b> for the directions in the given <i>interest mask</i>. 
+	 * Motion events of any other direction are not dispatched to the listener.</p>
+	 * 
+	 * @param motionListener
+	 * 			the {@link MotionListener} (Widget or {@link ViewGroup}) to be registered
+	 * 
+	 * @param interest
+	 * 			a combination of the {@code INTEREST_*} constants of the listener contracts, 
+	 * 			or {@link MotionListener#INTEREST_ALL}
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract <T extends MotionListener> void register(T motionListener, int interest);
+	
+	/**
+	 * <p>Registers a {@link View} with the {@link HiggsFieldConfiguration} so that it may 
+	 * receive callbacks for the directions in the given <i>interest mask</i>, at no more 
+	 * than the given <i>maximum delivery rate</i>. Motion events which arrive sooner are 
+	 * not dispatched to the listener.</p>
+	 * 
+	 * @param motionListener
+	 * 			the {@link MotionListener} (Widget or {@link ViewGroup}) to be registered
+	 * 
+	 * @param interest
+	 * 			a combination of the {@code INTEREST_*} constants of the listener contracts, 
+	 * 			or {@link MotionListener#INTEREST_ALL}
+	 * 
+	 * @param maxRate
+	 * 			the maximum number of motion events per second, or 
+	 * 			{@link MotionListener#RATE_UNLIMITED}
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract <T extends MotionListener> void register(T motionListener, int interest, int maxRate);
+	
+	/**
+	 * <p>Registers a {@link View} with the {@link HiggsFieldConfiguration} so that it may 
+	 * receive callbacks for the directions in the given <i>interest mask</i>, at no more 
+	 * than the given <i>maximum delivery rate</i>, on the thread specified by the given 
+	 * {@link THREAD_AFFINITY}.</p>
+	 * 
+	 * @param motionListener
+	 * 			the {@link MotionListener} (Widget or {@link ViewGroup}) to be registered
+	 * 
+	 * @param interest
+	 * 			a combination of the {@code INTEREST_*} constants of the listener contracts, 
+	 * 			or {@link MotionListener#INTEREST_ALL}
+	 * 
+	 * @param maxRate
+	 * 			the maximum number of motion events per second, or 
+	 * 			{@link MotionListener#RATE_UNLIMITED}
+	 * 
+	 * @param threadAffinity
+	 * 			the {@link THREAD_AFFINITY} which determines the thread on which 
+	 * 			callbacks are invoked
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract <T extends MotionListener> void register(T motionListener, int interest, int maxRate, 
+															 THREAD_AFFINITY threadAffinity);
+	
 	/**
 	 * <p>Unregisters a {@link View} which has be registered to receive 
 	 * motion callbacks.</p> 
@@ -20,21 +20,34 @@ package com.lonepulse.droidballet.registry;
  * #L%
  */
 
-import java.lang.ref.PhantomReference;
 import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import android.hardware.SensorEvent;
+import android.os.Handler;
+import android.os.Looper;
 
+import com.lonepulse.droidballet.detector.DirectionHysteresis;
+import com.lonepulse.droidballet.detector.FusedMotionDetector;
 import com.lonepulse.droidballet.detector.MotionDetector;
+import com.lonepulse.droidballet.filter.SmoothingFilter;
 import com.lonepulse.droidballet.listener.MotionEvent;
 import com.lonepulse.droidballet.listener.MotionListener;
+import com.lonepulse.droidballet.listener.MotionListener.THREAD_AFFINITY;
 import com.lonepulse.droidballet.queue.EventQueue;
 import com.lonepulse.droidballet.queue.MotionEventResolutionJob;
+import com.lonepulse.droidballet.queue.QueueController;
+import com.lonepulse.droidballet.resolver.AbstractMotionEventResolver;
+import com.lonepulse.droidballet.resolver.GestureMotionEventResolver;
 import com.lonepulse.droidballet.resolver.HorizontalMotionEventResolver;
 import com.lonepulse.droidballet.resolver.MotionEventResolver;
 import com.lonepulse.droidballet.resolver.VerticalMotionEventResolver;
+import com.lonepulse.droidballet.sensor.SensorSample;
 
 /**
  * <p>A basic implementation of {@link MotionListenerRegistry} which maintains 
@@ -55,36 +68,337 @@ public enum MotionViewRegistry implements MotionListenerRegistry, MotionEventRes
 
 	
 	/**
-	 * <p>Maintains the {@link Set} of {@link MotionListener}s. 
+	 * <p>The maximum number of samples which may await resolution on the main thread 
+	 * with {@link DISPATCH_STRATEGY#MAIN_THREAD}.
 	 */
-	private volatile Set<MotionListener> motionListeners; 
+	private static final int MAX_MAIN_THREAD_BATCH = 64;
+	
+	/**
+	 * <p>Identifies the thread on which a {@link SensorSample} which is passed to 
+	 * {@link MotionViewRegistry#notify(SensorSample)} is resolved. Each sample is 
+	 * resolved <b>exactly once</b> regardless of the strategy.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static enum DISPATCH_STRATEGY {
+		
+		/**
+		 * <p>The sample is resolved on the thread which invokes {@link MotionViewRegistry#notify(SensorSample)}; 
+		 * this is the sensor thread itself when the readings are ingested directly.
+		 * 
+		 * @since 1.1.0
+		 */
+		INLINE,
+		
+		/**
+		 * <p>A {@link MotionEventResolutionJob} is enqueued on the {@link QueueController} for 
+		 * each {@link MotionEventResolver} and resolved on the consumer thread of the queue.
+		 * 
+		 * @since 1.1.0
+		 */
+		QUEUED,
+		
+		/**
+		 * <p>The sample is posted to the main thread and resolved there, which allows 
+		 * listeners to update their views without further hand-offs.
+		 * 
+		 * @since 1.1.0
+		 */
+		MAIN_THREAD;
+	}
+	
+	
+	/**
+	 * <p>An immutable snapshot of the registered {@link MotionEventResolver}s along with 
+	 * the {@link MotionListener}s of the type handled by each resolver. A new snapshot is 
+	 * published whenever a listener or resolver is registered or unregistered, so that 
+	 * dispatching is a plain array loop without any locking, filtering or allocation.</p>
+	 * 
+	 * <p>Resolvers which have no listeners of their handled type are left out, so that 
+	 * no motion detection is performed for events which nobody observes.</p>
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	private static final class DispatchTable {
+		
+		/**
+		 * <p>The registered {@link MotionEventResolver}s.
+		 */
+		private final MotionEventResolver[] motionEventResolvers;
+		
+		/**
+		 * <p>The references to the listeners of each resolver at the same index in 
+		 * {@link #motionEventResolvers}.
+		 */
+		private final MotionListenerReference[][] motionListeners;
+		
+		/**
+		 * <p>The highest maximum delivery rate among the listeners in {@link #motionListeners}, 
+		 * or {@link MotionListener#RATE_UNLIMITED} if any of them is unlimited.
+		 */
+		private final int maxRate;
+		
+		/**
+		 * <p>The highest {@link AbstractMotionEventResolver#getMinSamplingRate()} among the 
+		 * resolvers in {@link #motionEventResolvers}, or {@code 0} if none demands a rate.
+		 */
+		private final int minSamplingRate;
+		
+		
+		/**
+		 * <p>Buckets the given listeners by the listener type of each of the given resolvers. 
+		 * Resolvers which share a listener type share the same array, and resolvers without 
+		 * any listeners are omitted. So are the instances of {@link AbstractMotionEventResolver} 
+		 * whose listeners are not interested in any of the directions they dispatch.
+		 * 
+		 * @param motionEventResolvers
+		 * 			the registered {@link MotionEventResolver}s
+		 * 
+		 * @param motionListeners
+		 * 			the references to the registered {@link MotionListener}s
+		 */
+		private DispatchTable(Set<MotionEventResolver> motionEventResolvers, 
+							  List<MotionListenerReference> motionListeners) {
+			
+			List<MotionEventResolver> demandedResolvers = new ArrayList<MotionEventResolver>();
+			List<MotionListenerReference[]> demandedListeners = new ArrayList<MotionListenerReference[]>();
+			
+			Map<Class<?>, MotionListenerReference[]> buckets = new HashMap<Class<?>, MotionListenerReference[]>();
+			
+			for (MotionEventResolver motionEventResolver : motionEventResolvers) {
+				
+				Class<? extends MotionListener> motionListenerClass = motionEventResolver.getMotionListenerClass();
+				MotionListenerReference[] bucket = buckets.get(motionListenerClass);
+				
+				if(bucket == null) {
+					
+					List<MotionListenerReference> matches = new ArrayList<MotionListenerReference>();
+					
+					for (MotionListenerReference motionListenerReference : motionListeners) {
+						
+						if(motionListenerClass.isInstance(motionListenerReference.get()))
+							matches.add(motionListenerReference);
+					}
+					
+					bucket = matches.toArray(new MotionListenerReference[matches.size()]);
+					buckets.put(motionListenerClass, bucket);
+				}
+				
+				if(bucket.length > 0 && (interest(bucket) & interestMask(motionEventResolver)) != 0) {
+					
+					demandedResolvers.add(motionEventResolver);
+					demandedListeners.add(bucket);
+				}
+			}
+			
+			this.motionEventResolvers = demandedResolvers.toArray(new MotionEventResolver[demandedResolvers.size()]);
+			this.motionListeners = demandedListeners.toArray(new MotionListenerReference[demandedListeners.size()][]);
+			this.maxRate = maxRate(this.motionListeners);
+			this.minSamplingRate = minSamplingRate(this.motionEventResolvers);
+		}
+		
+		/**
+		 * <p>Combines the interest masks of the given listeners.
+		 * 
+		 * @param bucket
+		 * 			the references to the {@link MotionListener}s of a single type
+		 * 
+		 * @return the union of the interest masks of the listeners
+		 */
+		private static int interest(MotionListenerReference[] bucket) {
+			
+			int interest = 0;
+			
+			for (MotionListenerReference motionListenerReference : bucket)
+				interest |= motionListenerReference.getInterest();
+			
+			return interest;
+		}
+		
+		/**
+		 * <p>Determines the interest mask bits of the directions dispatched by the given resolver.
+		 * 
+		 * @param motionEventResolver
+		 * 			the {@link MotionEventResolver} whose directions are determined
+		 * 
+		 * @return the {@link AbstractMotionEventResolver#getInterestMask()} of the resolver, 
+		 * 		   else {@link MotionListener#INTEREST_ALL} if it is unknown
+		 */
+		private static int interestMask(MotionEventResolver motionEventResolver) {
+			
+			if(motionEventResolver instanceof AbstractMotionEventResolver)
+				return ((AbstractMotionEventResolver<?, ?, ?>) motionEventResolver).getInterestMask();
+			
+			return MotionListener.INTEREST_ALL;
+		}
+		
+		/**
+		 * <p>Finds the highest minimum sampling rate among the given resolvers.
+		 * 
+		 * @param motionEventResolvers
+		 * 			the demanded {@link MotionEventResolver}s
+		 * 
+		 * @return the highest {@link AbstractMotionEventResolver#getMinSamplingRate()}, 
+		 * 		   or {@code 0} if none of the resolvers demands a rate
+		 */
+		private static int minSamplingRate(MotionEventResolver[] motionEventResolvers) {
+			
+			int minSamplingRate = 0;
+			
+			for (MotionEventResolver motionEventResolver : motionEventResolvers) {
+				
+				if(motionEventResolver instanceof AbstractMotionEventResolver) {
+					
+					minSamplingRate = Math.max(minSamplingRate, 
+							((AbstractMotionEventResolver<?, ?, ?>) motionEventResolver).getMinSamplingRate());
+				}
+			}
+			
+			return minSamplingRate;
+		}
+		
+		/**
+		 * <p>Finds the highest maximum delivery rate among the given listeners.
+		 * 
+		 * @param motionListeners
+		 * 			the bucketed references to the demanding {@link MotionListener}s
+		 * 
+		 * @return the highest maximum delivery rate, or {@link MotionListener#RATE_UNLIMITED} 
+		 * 		   if any listener is unlimited or if there are no listeners
+		 */
+		private static int maxRate(MotionListenerReference[][] motionListeners) {
+			
+			int maxRate = MotionListener.RATE_UNLIMITED;
+			
+			for (MotionListenerReference[] bucket : motionListeners) {
+				
+				for (MotionListenerReference motionListenerReference : bucket) {
+					
+					int rate = motionListenerReference.getMaxRate();
+					
+					if(rate == MotionListener.RATE_UNLIMITED)
+						return MotionListener.RATE_UNLIMITED;
+					
+					maxRate = Math.max(maxRate, rate);
+				}
+			}
+			
+			return maxRate;
+		}
+	}
+	
+	
+	/**
+	 * <p>Maintains the {@link MotionListenerReference}s of all registered {@link MotionListener}s. 
+	 * Listeners are only <i>weakly</i> reachable from the registry.
+	 */
+	private volatile List<MotionListenerReference> motionListeners; 
 	{
-		motionListeners = new HashSet<MotionListener>();
+		motionListeners = new ArrayList<MotionListenerReference>();
 	}
 	
 	/**
-	 * <p>Maintains the {@link Set} of {@link MotionEventResolver}s.
+	 * <p>The {@link FusedMotionDetector} which is shared by the default resolvers, 
+	 * so that each sample is filtered only once.
+	 */
+	private final FusedMotionDetector fusedMotionDetector = FusedMotionDetector.newInstance();
+	
+	/**
+	 * <p>Maintains the {@link Set} of {@link MotionEventResolver}s. The default resolvers 
+	 * share the {@link #fusedMotionDetector}.
 	 */
 	private volatile Set<MotionEventResolver> motionEventResolvers; 
 	{
 		
 		motionEventResolvers = new HashSet<MotionEventResolver>();
 		
-		motionEventResolvers.add(new VerticalMotionEventResolver());
-		motionEventResolvers.add(new HorizontalMotionEventResolver());
+		motionEventResolvers.add(new VerticalMotionEventResolver(fusedMotionDetector));
+		motionEventResolvers.add(new HorizontalMotionEventResolver(fusedMotionDetector));
+		motionEventResolvers.add(new GestureMotionEventResolver());
 	}
 	
 	/**
-	 * <p>This is a {@link ReferenceQueue} with {@link PhantomReference}s 
-	 * of all registered {@link MotionListener}s. 
-     *
-	 * TODO complete this reference queue implementation
+	 * <p>This is a {@link ReferenceQueue} on which the {@link MotionListenerReference}s 
+	 * of registered {@link MotionListener}s are enqueued once the listeners have been 
+	 * garbage collected. It is polled on the dispatch path to {@link #purge()} them.
 	 */
-	@SuppressWarnings("unused")
 	private ReferenceQueue<MotionListener> referenceQueue; 
 	{
 		referenceQueue = new ReferenceQueue<MotionListener>();	
 	}
+	
+	/**
+	 * <p>The {@link QueueController} on which {@link MotionEventResolutionJob}s 
+	 * are enqueued; this defaults to the {@link EventQueue}.
+	 */
+	private volatile QueueController queueController = EventQueue.INSTANCE;
+	
+	/**
+	 * <p>The {@link DISPATCH_STRATEGY} used by {@link #notify(SensorSample)}.
+	 */
+	private volatile DISPATCH_STRATEGY dispatchStrategy = DISPATCH_STRATEGY.QUEUED;
+	
+	/**
+	 * <p>A {@link Handler} on the main {@link Looper} which is used with 
+	 * {@link DISPATCH_STRATEGY#MAIN_THREAD}. This is created on demand.
+	 */
+	private volatile Handler mainHandler;
+	
+	/**
+	 * <p>The lock which guards the {@link #mainThreadBatch}.
+	 */
+	private final Object mainThreadLock = new Object();
+	
+	/**
+	 * <p>The samples which await resolution on the main thread with {@link DISPATCH_STRATEGY#MAIN_THREAD}, 
+	 * in the order of arrival. Once full, the oldest sample is discarded to make room.
+	 */
+	private final SensorSample[] mainThreadBatch = new SensorSample[MAX_MAIN_THREAD_BATCH];
+	
+	/**
+	 * <p>The samples which are being resolved on the main thread; the {@link #mainThreadBatch} 
+	 * is moved here on each drain. This is only accessed on the main thread.
+	 */
+	private final SensorSample[] mainThreadDrain = new SensorSample[MAX_MAIN_THREAD_BATCH];
+	
+	/**
+	 * <p>The number of samples in the {@link #mainThreadBatch}.
+	 */
+	private int mainThreadBatchSize;
+	
+	/**
+	 * <p>Determines whether the {@link #mainThreadResolver} has been posted and is yet to drain 
+	 * the {@link #mainThreadBatch}.
+	 */
+	private boolean mainThreadPosted;
+	
+	/**
+	 * <p>The single {@link Runnable} which is posted to the {@link #mainHandler} for 
+	 * resolving the {@link #mainThreadBatch}.
+	 */
+	private final Runnable mainThreadResolver = new Runnable() {
+		
+		@Override
+		public void run() {
+			
+			drainMainThreadBatch();
+		}
+	};
+	
+	/**
+	 * <p>The current {@link DispatchTable}, which is replaced on each change to the 
+	 * {@link #motionListeners} or the {@link #motionEventResolvers}.
+	 */
+	private volatile DispatchTable dispatchTable = new DispatchTable(motionEventResolvers, motionListeners);
+	
+	/**
+	 * <p>The {@link MotionDemandListener} which is informed of changes in demand.
+	 */
+	private volatile MotionDemandListener motionDemandListener;
 
 	
 	/**
@@ -97,11 +411,65 @@ public enum MotionViewRegistry implements MotionListenerRegistry, MotionEventRes
 	 * {@inheritDoc}
 	 * 
 	 * <p>This service is {@code synchronized} over {@link MotionViewRegistry#INSTANCE}. 
+	 * The listener is only <b>weakly</b> referenced; it must be strongly reachable 
+	 * elsewhere (e.g. through the view hierarchy) for as long as it should receive 
+	 * callbacks. The listener is registered with {@link MotionListener#INTEREST_ALL}.</p>
+	 */
+	@Override
+	public <T extends MotionListener> void register(T motionListener) {
+		
+		register(motionListener, MotionListener.INTEREST_ALL, MotionListener.RATE_UNLIMITED);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The listener receives motion events at the full rate of the sensor.</p>
+	 */
+	@Override
+	public <T extends MotionListener> void register(T motionListener, int interest) {
+		
+		register(motionListener, interest, MotionListener.RATE_UNLIMITED);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The listener is invoked with {@link THREAD_AFFINITY#CALLING}.</p>
+	 */
+	@Override
+	public <T extends MotionListener> void register(T motionListener, int interest, int maxRate) {
+		
+		register(motionListener, interest, maxRate, THREAD_AFFINITY.CALLING);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>This service is {@code synchronized} over {@link MotionViewRegistry#INSTANCE}. 
+	 * Registering a listener again replaces its interest mask, maximum delivery rate 
+	 * and {@link THREAD_AFFINITY}.</p>
 	 */
 	@Override
-	public synchronized <T extends MotionListener> void register(T motionListener) {
+	public synchronized <T extends MotionListener> void register(T motionListener, int interest, int maxRate, 
+																 THREAD_AFFINITY threadAffinity) {
+		
+		int index = indexOf(motionListener);
+		
+		if(index >= 0) {
+			
+			MotionListenerReference registered = motionListeners.get(index);
+			
+			if(registered.getInterest() == interest && registered.getMaxRate() == maxRate 
+					&& registered.getThreadAffinity() == threadAffinity) return;
+			
+			motionListeners.remove(index).clear();
+		}
+		
+		motionListeners.add(new MotionListenerReference(
+			motionListener, interest, maxRate, threadAffinity, referenceQueue));
 		
-		motionListeners.add(motionListener);
+		publish();
 	}
 
 	/**
@@ -112,7 +480,12 @@ public enum MotionViewRegistry implements MotionListenerRegistry, MotionEventRes
 	@Override
 	public synchronized <T extends MotionListener> void unregister(T motionListener) {
 		
-		motionListeners.remove(motionListener);
+		int index = indexOf(motionListener);
+		
+		if(index < 0) return;
+		
+		motionListeners.remove(index).clear();
+		publish();
 	}
 	
 	/**
@@ -124,6 +497,7 @@ public enum MotionViewRegistry implements MotionListenerRegistry, MotionEventRes
 	public synchronized <T extends MotionEventResolver> void register(T motionEventResolver) {
 		
 		motionEventResolvers.add(motionEventResolver);
+		publish();
 	}
 	
 	/**
@@ -135,8 +509,130 @@ public enum MotionViewRegistry implements MotionListenerRegistry, MotionEventRes
 	public synchronized <T extends MotionEventResolver> void unregister(T motionEventResolver) {
 		
 		motionEventResolvers.remove(motionEventResolver);
+		publish();
 	}
 
+	/**
+	 * <p>Finds the {@link MotionListenerReference} which refers to the given listener. 
+	 * Must be invoked while holding the lock on {@link MotionViewRegistry#INSTANCE}.
+	 * 
+	 * @param motionListener
+	 * 			the {@link MotionListener} to look up
+	 * 
+	 * @return the index of its reference in {@link #motionListeners}, else {@code -1}
+	 */
+	private int indexOf(MotionListener motionListener) {
+		
+		for (int i = 0; i < motionListeners.size(); i++) {
+			
+			if(motionListeners.get(i).get() == motionListener)
+				return i;
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * <p>Removes the {@link MotionListenerReference}s whose listeners have been garbage 
+	 * collected and publishes a new {@link DispatchTable}. This is invoked on the dispatch 
+	 * path only when a reference has been enqueued on the {@link #referenceQueue}.
+	 */
+	private synchronized void purge() {
+		
+		while(referenceQueue.poll() != null);
+		
+		for (int i = motionListeners.size() - 1; i >= 0; i--) {
+			
+			if(motionListeners.get(i).get() == null)
+				motionListeners.remove(i);
+		}
+		
+		publish();
+	}
+	
+	/**
+	 * <p>Publishes a new {@link DispatchTable} for the current {@link #motionListeners} and 
+	 * {@link #motionEventResolvers}, and reports any change in demand, in the maximum 
+	 * delivery rate or in the minimum sampling rate to the {@link #motionDemandListener}. 
+	 * Must be invoked while holding the lock on {@link MotionViewRegistry#INSTANCE}.
+	 */
+	private void publish() {
+		
+		DispatchTable previous = dispatchTable;
+		DispatchTable current = new DispatchTable(motionEventResolvers, motionListeners);
+		
+		dispatchTable = current;
+		
+		MotionDemandListener listener = motionDemandListener;
+		
+		boolean demanded = current.motionEventResolvers.length > 0;
+		
+		if(listener != null && (demanded != (previous.motionEventResolvers.length > 0) 
+				|| current.maxRate != previous.maxRate || current.minSamplingRate != previous.minSamplingRate)) {
+			
+			listener.onMotionDemandChanged(demanded);
+		}
+	}
+	
+	/**
+	 * <p>Determines whether any registered {@link MotionEventResolver} has a 
+	 * {@link MotionListener} of its handled type. Listeners which were collected 
+	 * but have not yet been purged still count towards the demand.
+	 * 
+	 * @return {@code true} if there is demand for motion events, else {@code false}
+	 * 
+	 * @since 1.1.0
+	 */
+	public boolean hasMotionDemand() {
+		
+		return dispatchTable.motionEventResolvers.length > 0;
+	}
+	
+	/**
+	 * <p>Returns the highest maximum delivery rate declared by the listeners which 
+	 * demand motion events; this is the lowest rate of sampling which satisfies 
+	 * all of them.
+	 * 
+	 * @return the highest maximum delivery rate in events per second, or 
+	 * 		   {@link MotionListener#RATE_UNLIMITED} if any listener is unlimited
+	 * 
+	 * @since 1.1.0
+	 */
+	public int getMaxDeliveryRate() {
+		
+		return dispatchTable.maxRate;
+	}
+	
+	/**
+	 * <p>Returns the highest minimum sampling rate demanded by the resolvers which have 
+	 * listeners, such as the rate at which gestures can be recognized. The sensor must 
+	 * be sampled at least this fast, regardless of {@link #getMaxDeliveryRate()}.
+	 * 
+	 * @return the lowest sampling rate in readings per second which satisfies the 
+	 * 		   resolvers, or {@code 0} if none of them demands a rate
+	 * 
+	 * @since 1.1.0
+	 */
+	public int getMinSamplingRate() {
+		
+		return dispatchTable.minSamplingRate;
+	}
+	
+	/**
+	 * <p>Sets the {@link MotionDemandListener} which is informed whenever the demand 
+	 * reported by {@link #hasMotionDemand()} or the rates reported by 
+	 * {@link #getMaxDeliveryRate()} and {@link #getMinSamplingRate()} change.
+	 * 
+	 * @param motionDemandListener
+	 * 			the {@link MotionDemandListener} to inform, or {@code null} 
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setMotionDemandListener(MotionDemandListener motionDemandListener) {
+		
+		this.motionDemandListener = motionDemandListener;
+	}
+	
 	/**
 	 * <p>Takes the {@link SensorEvent} which was fired from the motion 
 	 * sensor and runs it through the {@link MotionDetector}s to generate 
@@ -151,14 +647,267 @@ public enum MotionViewRegistry implements MotionListenerRegistry, MotionEventRes
 	 */
 	public void notify(SensorEvent sensorEvent) {
 
-		for (MotionEventResolver motionEventResolver : motionEventResolvers) {
-
-			MotionEventResolutionJob.Builder builder 
-				= new MotionEventResolutionJob.Builder(sensorEvent, motionListeners, motionEventResolver);
+		notify(new SensorSample(sensorEvent));
+	}
+	
+	/**
+	 * <p>Takes a {@link SensorSample} which was taken from the motion sensor 
+	 * and runs it through the {@link MotionEventResolver}s on the thread which 
+	 * is determined by the {@link DISPATCH_STRATEGY}. See {@link #notify(SensorEvent)}.</p>
+	 * 
+	 * <p>Unless using {@link DISPATCH_STRATEGY#INLINE}, the given {@link SensorSample} 
+	 * is retained beyond this call. A sample which was {@link SensorSample#obtain()}ed 
+	 * holds a claim for each retention, hence the caller may {@link SensorSample#recycle()} 
+	 * it once this returns; any other sample must not be reused.</p>
+	 * 
+	 * <p>With {@link DISPATCH_STRATEGY#MAIN_THREAD}, samples are batched and a single 
+	 * {@link Runnable} is posted to resolve all samples which arrived in the meantime.</p>
+	 * 
+	 * @param sensorSample
+	 * 			the {@link SensorSample} which was taken from the <b>motion sensor</b>
+	 * 
+	 * @since 1.1.0
+	 */
+	public void notify(SensorSample sensorSample) {
+		
+		if(referenceQueue.poll() != null)
+			purge();
+		
+		switch (dispatchStrategy) {
 			
-			EventQueue.INSTANCE.enqueue(builder.build());
+			case INLINE: {
+				
+				resolve(sensorSample);
+				break;
+			}
+			case MAIN_THREAD: {
+				
+				sensorSample.retain();
+				
+				SensorSample discarded = null;
+				boolean post;
+				
+				synchronized (mainThreadLock) {
+					
+					if(mainThreadBatchSize == MAX_MAIN_THREAD_BATCH) {
+						
+						discarded = mainThreadBatch[0];
+						System.arraycopy(mainThreadBatch, 1, mainThreadBatch, 0, --mainThreadBatchSize);
+					}
+					
+					mainThreadBatch[mainThreadBatchSize++] = sensorSample;
+					
+					post = !mainThreadPosted;
+					mainThreadPosted = true;
+				}
+				
+				if(discarded != null)
+					discarded.recycle();
+				
+				if(post)
+					getMainHandler().post(mainThreadResolver);
+				
+				break;
+			}
+			default: {
+				
+				DispatchTable table = dispatchTable;
+				
+				for (int i = 0; i < table.motionEventResolvers.length; i++) {
+					
+					queueController.enqueue(MotionEventResolutionJob.obtain(
+						sensorSample, table.motionListeners[i], table.motionEventResolvers[i]));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * <p>Resolves the samples in the {@link #mainThreadBatch} on the main thread and releases 
+	 * their claims. Samples which arrive meanwhile are resolved by the next post.
+	 */
+	private void drainMainThreadBatch() {
+		
+		SensorSample[] drain = mainThreadDrain;
+		int size;
+		
+		synchronized (mainThreadLock) {
+			
+			size = mainThreadBatchSize;
+			
+			System.arraycopy(mainThreadBatch, 0, drain, 0, size);
+			
+			for (int i = 0; i < size; i++)
+				mainThreadBatch[i] = null;
+			
+			mainThreadBatchSize = 0;
+			mainThreadPosted = false;
+		}
+		
+		for (int i = 0; i < size; i++) {
+			
+			try {
+				
+				resolve(drain[i]);
+			}
+			finally {
+				
+				drain[i].recycle();
+				drain[i] = null;
+			}
+		}
+	}
+	
+	/**
+	 * <p>Returns the {@link #mainHandler}, creating it if necessary.
+	 * 
+	 * @return the {@link Handler} of the main thread
+	 */
+	private Handler getMainHandler() {
+		
+		Handler handler = mainHandler;
+		
+		if(handler == null) {
 			
-			motionEventResolver.resolve(sensorEvent, motionListeners);
+			handler = new Handler(Looper.getMainLooper());
+			mainHandler = handler;
 		}
+		
+		return handler;
+	}
+	
+	/**
+	 * <p>Runs the given {@link SensorSample} through each of the {@link MotionEventResolver}s 
+	 * on the <b>calling thread</b>, without enqueuing any {@link MotionEventResolutionJob}s.</p> 
+	 * 
+	 * <p>The {@link MotionEvent}s which are generated copy the reading of the {@link SensorSample}, 
+	 * including those which are delivered on another thread after this method returns. Hence the 
+	 * same instance may be reused for subsequent samples once this method returns.</p>
+	 * 
+	 * @param sensorSample
+	 * 			the {@link SensorSample} which was taken from the <b>motion sensor</b>
+	 * 
+	 * @since 1.1.0
+	 */
+	public void resolve(SensorSample sensorSample) {
+		
+		if(referenceQueue.poll() != null)
+			purge();
+		
+		DispatchTable table = dispatchTable;
+		
+		for (int i = 0; i < table.motionEventResolvers.length; i++)
+			table.motionEventResolvers[i].resolve(sensorSample, table.motionListeners[i]);
+	}
+	
+	/**
+	 * <p>Sets the {@link QueueController} on which the {@link MotionEventResolutionJob}s 
+	 * created by {@link #notify(SensorSample)} are enqueued.
+	 * 
+	 * @param queueController
+	 * 			the {@link QueueController} to use; <b>cannot be null</b>
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setQueueController(QueueController queueController) {
+		
+		this.queueController = queueController;
+	}
+	
+	/**
+	 * <p>Sets the {@link DISPATCH_STRATEGY} which determines the thread on which 
+	 * the samples passed to {@link #notify(SensorSample)} are resolved.
+	 * 
+	 * @param dispatchStrategy
+	 * 			the {@link DISPATCH_STRATEGY} to use; <b>cannot be null</b>
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setDispatchStrategy(DISPATCH_STRATEGY dispatchStrategy) {
+		
+		this.dispatchStrategy = dispatchStrategy;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #dispatchStrategy}.
+	 * 
+	 * @return the current {@link DISPATCH_STRATEGY}
+	 * 
+	 * @since 1.1.0
+	 */
+	public DISPATCH_STRATEGY getDispatchStrategy() {
+		
+		return dispatchStrategy;
+	}
+	
+	/**
+	 * <p>Sets the {@link DirectionHysteresis} which is applied by the motion detectors 
+	 * of the default resolvers.
+	 * 
+	 * @param directionHysteresis
+	 * 			the {@link DirectionHysteresis} to use; <b>cannot be null</b>
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setDirectionHysteresis(DirectionHysteresis directionHysteresis) {
+		
+		fusedMotionDetector.setDirectionHysteresis(directionHysteresis);
+	}
+	
+	/**
+	 * <p>Enables or disables the online calibration of the neutral orientation 
+	 * by the motion detectors of the default resolvers.
+	 * 
+	 * @param autoCalibration
+	 * 			{@code true} to calibrate the neutral orientation
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setAutoCalibration(boolean autoCalibration) {
+		
+		fusedMotionDetector.setAutoCalibration(autoCalibration);
+	}
+	
+	/**
+	 * <p>Sets the time constant with which the motion detectors of the default 
+	 * resolvers smooth the accelerometer stream.
+	 * 
+	 * @param smoothingTimeConstant
+	 * 			the time constant in seconds; must be greater than zero
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			if the time constant is not positive
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setSmoothingTimeConstant(float smoothingTimeConstant) {
+		
+		fusedMotionDetector.setSmoothingTimeConstant(smoothingTimeConstant);
+	}
+	
+	/**
+	 * <p>Sets the {@link SmoothingFilter} with which the motion detectors of the 
+	 * default resolvers smooth the accelerometer stream.
+	 * 
+	 * @param smoothingFilter
+	 * 			the {@link SmoothingFilter} to use; <b>cannot be null</b>
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setSmoothingFilter(SmoothingFilter smoothingFilter) {
+		
+		fusedMotionDetector.setSmoothingFilter(smoothingFilter);
+	}
+	
+	/**
+	 * <p>Accessor for {@link #queueController}.
+	 * 
+	 * @return the {@link QueueController} on which jobs are enqueued
+	 * 
+	 * @since 1.1.0
+	 */
+	public QueueController getQueueController() {
+		
+		return queueController;
 	}
 }
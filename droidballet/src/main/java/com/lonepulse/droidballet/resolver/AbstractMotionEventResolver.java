@@ -20,16 +20,15 @@ package com.lonepulse.droidballet.resolver;
  * #L%
  */
 
-import java.util.HashSet;
-import java.util.Set;
-
-import android.hardware.SensorEvent;
 import android.util.Log;
 
 import com.lonepulse.droidballet.detector.MotionDetector;
 import com.lonepulse.droidballet.detector.MotionDetectorException;
 import com.lonepulse.droidballet.listener.MotionEvent;
 import com.lonepulse.droidballet.listener.MotionListener;
+import com.lonepulse.droidballet.listener.MotionListener.THREAD_AFFINITY;
+import com.lonepulse.droidballet.registry.MotionListenerReference;
+import com.lonepulse.droidballet.sensor.SensorSample;
 
 
 /**
@@ -85,61 +84,133 @@ public abstract class AbstractMotionEventResolver<L extends MotionListener,
 
 	/**
 	 * {@inheritDoc}
+	 * 
+	 * <p>References whose listeners have been collected, which are not interested in 
+	 * the direction of the generated {@link MotionEvent} or which would exceed their 
+	 * maximum delivery rate are skipped. Listeners of {@link THREAD_AFFINITY#CALLING} 
+	 * are invoked immediately, while all others are handed to the dispatcher of their 
+	 * affinity. The event is recycled once it has been fired on all listeners.</p>
 	 */
-	public void resolve(SensorEvent sensorEvent, Set<MotionListener> motionListeners) {
-	
-		Set<L> filteredMotionListeners = filterMotionListeners(motionListeners);
+	public void resolve(SensorSample sensorSample, MotionListenerReference[] motionListeners) {
 		
-		E motionEvent = generateMotionEvent(sensorEvent);
+		E motionEvent = generateMotionEvent(sensorSample);
 		
 		if(motionEvent != null) {
 			
-			fireMotionEvent(motionEvent, filteredMotionListeners);
+			int interest = getInterest(motionEvent);
+			long timestamp = sensorSample.getTimestamp();
+			
+			boolean main = false;
+			boolean background = false;
+			
+			for (MotionListenerReference motionListenerReference : motionListeners) {
+				
+				if(!motionListenerReference.isInterested(interest)) continue;
+				
+				switch (motionListenerReference.getThreadAffinity()) {
+					
+					case MAIN: main = true; break;
+					case BACKGROUND: background = true; break;
+					
+					default: fireMotionEvent(motionEvent, motionListenerReference, timestamp);
+				}
+			}
+			
+			if(main)
+				DeferredDispatcher.MAIN.dispatch(this, motionEvent, motionListeners, interest, timestamp);
+			
+			if(background)
+				DeferredDispatcher.BACKGROUND.dispatch(this, motionEvent, motionListeners, interest, timestamp);
+			
+			motionEvent.recycle();
 		}
 	}
 	
 	/**
-	 * <p>Takes a {@link Set} of {@link MotionListener}s and filter out those that are of the type 
-	 * handled by this implementation of {@link AbstractMotionEventResolver}.
+	 * <p>Fires the given {@link MotionEvent} on the listeners of the given {@link THREAD_AFFINITY} 
+	 * which are interested in its direction. This is invoked by a {@link DeferredDispatcher} on 
+	 * its target thread.
+	 * 
+	 * @param motionEvent
+	 * 			the {@link MotionEvent} generated by this resolver
 	 * 
 	 * @param motionListeners
-	 * 			the {@link Set} of {@link MotionListener}s which are to be filtered
+	 * 			the references to the listeners of this resolver
 	 * 
-	 * @return	the filtered {@link Set} of {@link MotionListener}s
+	 * @param interest
+	 * 			the interest mask bit of the event's direction
 	 * 
-	 * @since 1.0.0
+	 * @param timestamp
+	 * 			the timestamp of the sample from which the event was generated
+	 * 
+	 * @param threadAffinity
+	 * 			the {@link THREAD_AFFINITY} of the listeners to invoke
 	 */
-	protected Set<L> filterMotionListeners(Set<MotionListener> motionListeners) {
-		
-		Set<L> filteredMotionListeners = new HashSet<L>();
+	@SuppressWarnings("unchecked") //the event was generated by this resolver 
+	void deliver(MotionEvent motionEvent, MotionListenerReference[] motionListeners, 
+				 int interest, long timestamp, THREAD_AFFINITY threadAffinity) {
 		
-		for (MotionListener motionListener : motionListeners) {
+		for (MotionListenerReference motionListenerReference : motionListeners) {
 			
-			if(motionListenerClass.isAssignableFrom(motionListener.getClass()))
-				filteredMotionListeners.add(motionListenerClass.cast(motionListener));
+			if(motionListenerReference.getThreadAffinity() == threadAffinity 
+					&& motionListenerReference.isInterested(interest)) {
+				
+				fireMotionEvent((E) motionEvent, motionListenerReference, timestamp);
+			}
 		}
+	}
+	
+	/**
+	 * <p>Fires the given {@link MotionEvent} on the listener of the given reference, unless 
+	 * it has been collected or would exceed its maximum delivery rate.
+	 * 
+	 * @param motionEvent
+	 * 			the {@link MotionEvent} generated by this resolver
+	 * 
+	 * @param motionListenerReference
+	 * 			the {@link MotionListenerReference} to the listener
+	 * 
+	 * @param timestamp
+	 * 			the timestamp of the sample from which the event was generated
+	 */
+	@SuppressWarnings("unchecked") //the references were bucketed by the listener type L 
+	private void fireMotionEvent(E motionEvent, MotionListenerReference motionListenerReference, long timestamp) {
+		
+		if(!motionListenerReference.admit(timestamp)) return;
+		
+		MotionListener motionListener = motionListenerReference.get();
 		
-		return filteredMotionListeners;
+		if(motionListener != null)
+			fireMotionEvent(motionEvent, (L) motionListener);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<L> getMotionListenerClass() {
+		
+		return motionListenerClass;
 	}
 	
 	
 	/**
-	 * <p>Takes the {@link SensorEvent} generated by the motion sensor and creates the 
+	 * <p>Takes the {@link SensorSample} taken from the motion sensor and creates the 
 	 * associated {@link MotionEvent} using the {@link #motionDetector}.
 	 * 
-	 * @param sensorEvent
-	 * 			the {@link SensorEvent} generated by the motion sensor
+	 * @param sensorSample
+	 * 			the {@link SensorSample} taken from the motion sensor
 	 * 
 	 * @return the generated {@link MotionEvent}, else {@code null} if motion detection 
 	 * 		   failed with a {@link MotionDetectorException}
 	 * 
 	 * @since 1.0.0
 	 */
-	protected E generateMotionEvent(SensorEvent sensorEvent) {
+	protected E generateMotionEvent(SensorSample sensorSample) {
 		
 		try {
 		
-			return motionDetector.getMotionEvent(sensorEvent);
+			return motionDetector.getMotionEvent(sensorSample);
 		}
 		catch (MotionDetectorException mde) {
 			
@@ -150,8 +221,51 @@ public abstract class AbstractMotionEventResolver<L extends MotionListener,
 	
 	
 	/**
-	 * <p>Takes the {@link Set} of filtered {@link MotionListener}s and fires 
-	 * the generated {@link MotionEvent} on each of them. The way in which this 
+	 * <p>Returns the interest mask bits of all directions which this resolver may dispatch. 
+	 * A resolver is left out of dispatching while none of its listeners is interested in 
+	 * any of these, so that no motion is detected on its behalf. Defaults to 
+	 * {@link MotionListener#INTEREST_ALL}.
+	 * 
+	 * @return the interest mask bits of the directions of the generated {@link MotionEvent}s
+	 * 
+	 * @since 1.1.0
+	 */
+	public int getInterestMask() {
+		
+		return MotionListener.INTEREST_ALL;
+	}
+	
+	/**
+	 * <p>Returns the lowest sampling rate at which the {@link MotionDetector} of this resolver 
+	 * detects motion reliably. While this resolver has listeners, the sensor is sampled at 
+	 * least this fast, whatever the configured sampling period or the maximum delivery rates 
+	 * of the listeners. Defaults to {@code 0}, which demands no particular rate.
+	 * 
+	 * @return the lowest sampling rate in readings per second, or {@code 0} if any rate will do
+	 * 
+	 * @since 1.1.0
+	 */
+	public int getMinSamplingRate() {
+		
+		return 0;
+	}
+	
+	/**
+	 * <p>Returns the interest mask bit of the direction of the given {@link MotionEvent}, 
+	 * which is matched against the interest mask of each {@link MotionListener}.
+	 * 
+	 * @param motionEvent
+	 * 			the {@link MotionEvent} generated via the {@link #motionDetector}
+	 * 
+	 * @return the interest mask bit of the event's direction
+	 * 
+	 * @since 1.1.0
+	 */
+	protected abstract int getInterest(E motionEvent);
+	
+	/**
+	 * <p>Takes a {@link MotionListener} of the handled type and fires 
+	 * the generated {@link MotionEvent} on it. The way in which this 
 	 * is performed is different depending on the {@link MotionListener} contract.</p>
 	 * 
 	 * <p>The information within the generated {@link MotionEvent} will be used to 
@@ -164,11 +278,11 @@ public abstract class AbstractMotionEventResolver<L extends MotionListener,
 	 * @param motionEvent
 	 * 			the {@link MotionEvent} generated via the {@link #motionDetector}
 	 * 
-	 * @param filteredMotionListeners
-	 * 			the {@link Set} of filtered motion listeners of the relevant type 
-	 * 			upon which the generated {@link MotionEvent} should be fired
+	 * @param motionListener
+	 * 			the motion listener of the relevant type upon which 
+	 * 			the generated {@link MotionEvent} should be fired
 	 * 			
 	 * @since 1.0.0
 	 */
-	protected abstract void fireMotionEvent(E motionEvent, Set<L> filteredMotionListeners);
+	protected abstract void fireMotionEvent(E motionEvent, L motionListener);
 }
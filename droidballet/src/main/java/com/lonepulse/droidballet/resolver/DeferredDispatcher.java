@@ -0,0 +1,401 @@
+package com.lonepulse.droidballet.resolver;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.lonepulse.droidballet.listener.MotionEvent;
+import com.lonepulse.droidballet.listener.MotionListener;
+import com.lonepulse.droidballet.listener.MotionListener.THREAD_AFFINITY;
+import com.lonepulse.droidballet.registry.MotionListenerReference;
+
+/**
+ * <p>Delivers {@link MotionEvent}s to the {@link MotionListener}s which have a {@link THREAD_AFFINITY} 
+ * other than {@link THREAD_AFFINITY#CALLING}. Deliveries which arrive while a batch is pending are 
+ * added to it, so that all of them are executed with a <b>single</b> post to the target thread.</p>
+ * 
+ * <p>The pending batch holds at most one delivery per {@link MotionEventResolver}. A delivery which 
+ * arrives while an earlier one of the same resolver is pending <b>replaces</b> it, since only the 
+ * latest motion is of interest once the target thread falls behind. The batch is hence bounded by 
+ * the number of resolvers, and stale motion is never replayed in a burst.</p>
+ * 
+ * <p>Each pending delivery holds a claim on its event via {@link MotionEvent#retain()}, which is 
+ * released once the event has been fired on the target thread.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+enum DeferredDispatcher {
+	
+	
+	/**
+	 * <p>Delivers to listeners of {@link THREAD_AFFINITY#MAIN} via a {@link Handler} 
+	 * on the main {@link Looper}.
+	 */
+	MAIN(THREAD_AFFINITY.MAIN) {
+		
+		/**
+		 * <p>The {@link Handler} of the main thread, which is created on demand.
+		 */
+		private volatile Handler mainHandler;
+		
+		@Override
+		boolean isCurrentThread() {
+			
+			return Looper.myLooper() == Looper.getMainLooper();
+		}
+		
+		@Override
+		void post(Runnable batch) {
+			
+			Handler handler = mainHandler;
+			
+			if(handler == null) {
+				
+				handler = new Handler(Looper.getMainLooper());
+				mainHandler = handler;
+			}
+			
+			handler.post(batch);
+		}
+	},
+	
+	/**
+	 * <p>Delivers to listeners of {@link THREAD_AFFINITY#BACKGROUND} on a single 
+	 * daemon thread, which is created on demand.
+	 */
+	BACKGROUND(THREAD_AFFINITY.BACKGROUND) {
+		
+		/**
+		 * <p>The background thread on which deliveries are executed.
+		 */
+		private volatile Thread backgroundThread;
+		
+		/**
+		 * <p>The single-threaded {@link ExecutorService} which runs on the {@link #backgroundThread}.
+		 */
+		private ExecutorService backgroundExecutor;
+		
+		@Override
+		boolean isCurrentThread() {
+			
+			return Thread.currentThread() == backgroundThread;
+		}
+		
+		@Override
+		synchronized void post(Runnable batch) {
+			
+			if(backgroundExecutor == null) {
+				
+				backgroundExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+					
+					@Override
+					public Thread newThread(Runnable runnable) {
+						
+						Thread thread = new Thread(runnable, "DroidBallet-Background");
+						thread.setDaemon(true);
+						
+						backgroundThread = thread;
+						return thread;
+					}
+				});
+			}
+			
+			backgroundExecutor.execute(batch);
+		}
+	};
+	
+	
+	/**
+	 * <p>A pending delivery of a single {@link MotionEvent} to the listeners of a 
+	 * {@link MotionEventResolver} which share the affinity of the dispatcher.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	private static final class Delivery {
+		
+		/**
+		 * <p>The {@link AbstractMotionEventResolver} which generated the {@link #motionEvent}.
+		 */
+		private AbstractMotionEventResolver<?, ?, ?> motionEventResolver;
+		
+		/**
+		 * <p>The retained {@link MotionEvent} to deliver.
+		 */
+		private MotionEvent motionEvent;
+		
+		/**
+		 * <p>The references to the listeners of the {@link #motionEventResolver}.
+		 */
+		private MotionListenerReference[] motionListeners;
+		
+		/**
+		 * <p>The interest mask bit of the direction of the {@link #motionEvent}.
+		 */
+		private int interest;
+		
+		/**
+		 * <p>The timestamp of the sample from which the {@link #motionEvent} was generated.
+		 */
+		private long timestamp;
+		
+		/**
+		 * <p>The next delivery in the pending batch or in the pool.
+		 */
+		private Delivery next;
+	}
+	
+	
+	/**
+	 * <p>The maximum number of recycled {@link Delivery} instances retained by each dispatcher.
+	 */
+	private static final int MAX_POOL_SIZE = 16;
+	
+	/**
+	 * <p>The {@link THREAD_AFFINITY} of the listeners served by this dispatcher.
+	 */
+	private final THREAD_AFFINITY threadAffinity;
+	
+	/**
+	 * <p>The first and last deliveries of the pending batch. These, along with the 
+	 * {@link #pool}, are guarded by the lock on the dispatcher.
+	 */
+	private Delivery head, tail;
+	
+	/**
+	 * <p>A linked list of recycled deliveries which are available for reuse.
+	 */
+	private Delivery pool;
+	
+	/**
+	 * <p>The number of deliveries in the {@link #pool}.
+	 */
+	private int poolSize;
+	
+	/**
+	 * <p>Indicates whether the {@link #batch} has been posted and has yet to drain 
+	 * the pending deliveries.
+	 */
+	private boolean posted;
+	
+	/**
+	 * <p>Drains and executes all pending deliveries on the target thread.
+	 */
+	private final Runnable batch = new Runnable() {
+		
+		@Override
+		public void run() {
+			
+			drain();
+		}
+	};
+	
+	
+	/**
+	 * <p>Creates a dispatcher for the given {@link THREAD_AFFINITY}.
+	 * 
+	 * @param threadAffinity
+	 * 			the {@link #threadAffinity} of the listeners served by this dispatcher
+	 */
+	private DeferredDispatcher(THREAD_AFFINITY threadAffinity) {
+		
+		this.threadAffinity = threadAffinity;
+	}
+	
+	/**
+	 * <p>Determines whether the calling thread is the target thread of this dispatcher.
+	 * 
+	 * @return {@code true} if events can be delivered without a post
+	 */
+	abstract boolean isCurrentThread();
+	
+	/**
+	 * <p>Posts the given batch to the target thread of this dispatcher.
+	 * 
+	 * @param batch
+	 * 			the {@link Runnable} which drains the pending deliveries
+	 */
+	abstract void post(Runnable batch);
+	
+	/**
+	 * <p>Delivers the given {@link MotionEvent} to the listeners of this dispatcher's 
+	 * affinity. The event is fired immediately if the calling thread is already the 
+	 * target thread, else it is added to the pending batch, replacing any pending 
+	 * delivery of the same resolver.
+	 * 
+	 * @param motionEventResolver
+	 * 			the {@link AbstractMotionEventResolver} which generated the event
+	 * 
+	 * @param motionEvent
+	 * 			the generated {@link MotionEvent}, which is retained while pending
+	 * 
+	 * @param motionListeners
+	 * 			the references to the listeners of the resolver
+	 * 
+	 * @param interest
+	 * 			the interest mask bit of the event's direction
+	 * 
+	 * @param timestamp
+	 * 			the timestamp of the sample from which the event was generated
+	 */
+	void dispatch(AbstractMotionEventResolver<?, ?, ?> motionEventResolver, MotionEvent motionEvent, 
+				  MotionListenerReference[] motionListeners, int interest, long timestamp) {
+		
+		if(isCurrentThread()) {
+			
+			motionEventResolver.deliver(motionEvent, motionListeners, interest, timestamp, threadAffinity);
+			return;
+		}
+		
+		motionEvent.retain();
+		
+		MotionEvent staleEvent = null;
+		boolean post = false;
+		
+		synchronized (this) {
+			
+			Delivery delivery = head;
+			
+			while(delivery != null && delivery.motionEventResolver != motionEventResolver)
+				delivery = delivery.next;
+			
+			if(delivery != null) {
+				
+				staleEvent = delivery.motionEvent;
+			}
+			else {
+				
+				delivery = pool;
+				
+				if(delivery != null) {
+					
+					pool = delivery.next;
+					delivery.next = null;
+					poolSize--;
+				}
+				else {
+					
+					delivery = new Delivery();
+				}
+				
+				if(tail == null) head = delivery; else tail.next = delivery;
+				tail = delivery;
+			}
+			
+			delivery.motionEventResolver = motionEventResolver;
+			delivery.motionEvent = motionEvent;
+			delivery.motionListeners = motionListeners;
+			delivery.interest = interest;
+			delivery.timestamp = timestamp;
+			
+			if(!posted) {
+				
+				posted = true;
+				post = true;
+			}
+		}
+		
+		if(staleEvent != null)
+			staleEvent.recycle();
+		
+		if(post)
+			post(batch);
+	}
+	
+	/**
+	 * <p>Executes the deliveries which were pending when the batch started. Deliveries 
+	 * which arrive while the batch is being executed are left for another post, so that 
+	 * a producer which outpaces the listeners cannot hold the target thread indefinitely. 
+	 * A failing listener is logged, so that it does not stall the deliveries which follow.
+	 */
+	private void drain() {
+		
+		Delivery delivery;
+		
+		synchronized (this) {
+			
+			delivery = head;
+			head = tail = null;
+		}
+		
+		while(delivery != null) {
+			
+			Delivery next = delivery.next;
+			
+			try {
+				
+				delivery.motionEventResolver.deliver(delivery.motionEvent, delivery.motionListeners, 
+													 delivery.interest, delivery.timestamp, threadAffinity);
+			}
+			catch (RuntimeException re) {
+				
+				Log.w(getClass().getSimpleName(), re);
+			}
+			
+			delivery.motionEvent.recycle();
+			recycle(delivery);
+			
+			delivery = next;
+		}
+		
+		boolean post;
+		
+		synchronized (this) {
+			
+			post = (head != null);
+			posted = post;
+		}
+		
+		if(post)
+			post(batch);
+	}
+	
+	/**
+	 * <p>Clears the given {@link Delivery} and returns it to the {@link #pool}.
+	 * 
+	 * @param delivery
+	 * 			the {@link Delivery} which has been executed
+	 */
+	private synchronized void recycle(Delivery delivery) {
+		
+		delivery.motionEventResolver = null;
+		delivery.motionEvent = null;
+		delivery.motionListeners = null;
+		delivery.next = null;
+		
+		if(poolSize < MAX_POOL_SIZE) {
+			
+			delivery.next = pool;
+			pool = delivery;
+			poolSize++;
+		}
+	}
+}
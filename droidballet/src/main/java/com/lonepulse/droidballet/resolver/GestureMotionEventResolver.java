@@ -0,0 +1,109 @@
+package com.lonepulse.droidballet.resolver;
+
+/*
+ * #%L
+ * DroidBallet
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.lonepulse.droidballet.detector.GestureMotionDetector;
+import com.lonepulse.droidballet.listener.GestureMotionEvent;
+import com.lonepulse.droidballet.listener.GestureMotionListener;
+
+/**
+ * <p>An implementation of {@link AbstractMotionEventResolver} which 
+ * resolves {@link GestureMotionEvent}s for components which have 
+ * implemented {@link GestureMotionListener}.
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class GestureMotionEventResolver extends AbstractMotionEventResolver<GestureMotionListener, 
+																			GestureMotionEvent, 
+																			GestureMotionDetector> {
+	
+	/**
+	 * <p>Instantiates a {@link GestureMotionEventResolver}. 
+	 */
+	public GestureMotionEventResolver() {
+		
+		super(GestureMotionListener.class, GestureMotionDetector.newInstance());
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getInterestMask() {
+		
+		return GestureMotionListener.INTEREST_SHAKE 
+				| GestureMotionListener.INTEREST_FLICK 
+				| GestureMotionListener.INTEREST_TILT_AND_RETURN;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>Gestures are lost between the readings of a slow sensor, hence this 
+	 * demands {@link GestureMotionDetector#MIN_SAMPLING_RATE}.</p>
+	 */
+	@Override
+	public int getMinSamplingRate() {
+		
+		return GestureMotionDetector.MIN_SAMPLING_RATE;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected int getInterest(GestureMotionEvent motionEvent) {
+		
+		return motionEvent.getGesture().getInterest();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void fireMotionEvent(GestureMotionEvent motionEvent, 
+								   GestureMotionListener gestureMotionListener) {
+		
+		switch (motionEvent.getGesture()) {
+			
+			case SHAKE:
+				
+				gestureMotionListener.onShake(motionEvent);
+				
+				break;
+			
+			case FLICK:
+				
+				gestureMotionListener.onFlick(motionEvent);
+				
+				break;
+			
+			case TILT_AND_RETURN:
+				
+				gestureMotionListener.onTiltAndReturn(motionEvent);
+				
+				break;
+		}
+	}
+}
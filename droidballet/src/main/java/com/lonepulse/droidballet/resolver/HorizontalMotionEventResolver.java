@@ -21,8 +21,7 @@ package com.lonepulse.droidballet.resolver;
  */
 
 
-import java.util.Set;
-
+import com.lonepulse.droidballet.detector.FusedMotionDetector;
 import com.lonepulse.droidballet.detector.HorizontalMotionDetector;
 import com.lonepulse.droidballet.listener.HorizontalMotionEvent;
 import com.lonepulse.droidballet.listener.HorizontalMotionListener;
@@ -47,34 +46,66 @@ public class HorizontalMotionEventResolver extends AbstractMotionEventResolver<H
 		
 		super(HorizontalMotionListener.class, HorizontalMotionDetector.newInstance());
 	}
+	
+	/**
+	 * <p>Instantiates a {@link HorizontalMotionEventResolver} which detects motion using 
+	 * the given {@link FusedMotionDetector}, so that the sensor output it filters 
+	 * is shared with the other resolvers which use it.
+	 * 
+	 * @param fusedMotionDetector
+	 * 			the shared {@link FusedMotionDetector}
+	 * 
+	 * @since 1.1.0
+	 */
+	public HorizontalMotionEventResolver(FusedMotionDetector fusedMotionDetector) {
+		
+		super(HorizontalMotionListener.class, HorizontalMotionDetector.newInstance(fusedMotionDetector));
+	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getInterestMask() {
+		
+		return HorizontalMotionListener.INTEREST_LEFT 
+				| HorizontalMotionListener.INTEREST_RIGHT 
+				| HorizontalMotionListener.INTEREST_HORIZONTAL_REST;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected int getInterest(HorizontalMotionEvent motionEvent) {
+		
+		return motionEvent.getDirection().getInterest();
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected void fireMotionEvent(HorizontalMotionEvent motionEvent, 
-								   Set<HorizontalMotionListener> filteredMotionListeners) {
+								   HorizontalMotionListener horizontalMotionListener) {
 		
 		switch (motionEvent.getDirection()) {
 		
 			case LEFT:
 				
-				for (HorizontalMotionListener horizontalMotionListener : filteredMotionListeners)
-					 horizontalMotionListener.onMotionLeft(motionEvent);
+				horizontalMotionListener.onMotionLeft(motionEvent);
 				
 				break;
 				
 			case RIGHT:
 				
-				for (HorizontalMotionListener horizontalMotionListener : filteredMotionListeners)
-					 horizontalMotionListener.onMotionRight(motionEvent);
+				horizontalMotionListener.onMotionRight(motionEvent);
 				
 				break;
 				
 			case NONE:
 				
-				for (HorizontalMotionListener horizontalMotionListener : filteredMotionListeners)
-					 horizontalMotionListener.onMotionRest(motionEvent);
+				horizontalMotionListener.onMotionRest(motionEvent);
 				
 				break;
 		}
@@ -21,19 +21,17 @@ package com.lonepulse.droidballet.resolver;
  */
 
 
-import java.util.Set;
-
-import android.hardware.SensorEvent;
-
 import com.lonepulse.droidballet.detector.MotionDetector;
 import com.lonepulse.droidballet.listener.MotionEvent;
 import com.lonepulse.droidballet.listener.MotionListener;
+import com.lonepulse.droidballet.registry.MotionListenerReference;
+import com.lonepulse.droidballet.sensor.SensorSample;
 
 /**
  * <p>The common contract which all <b>motion resolvers</b> should implement. A motion event resolver 
  * is created for each motion type and is responsible for generating a {@link MotionEvent} of it's 
- * associated type using the relevant {@link MotionDetector} and firing this event on a {@link Set} 
- * of {@link MotionListener}s akin to it's type.  
+ * associated type using the relevant {@link MotionDetector} and firing this event on the 
+ * {@link MotionListener}s akin to it's type.  
  * 
  * @version 1.0.0
  * 
@@ -42,19 +40,31 @@ import com.lonepulse.droidballet.listener.MotionListener;
 public interface MotionEventResolver {
 	
 	/**
-	 * <p>Accepts a {@link Set} of {@link MotionListener}s and filters them to discover 
-     * those that are of the handled type. Takes the supplied {@link SensorEvent} and 
-     * generates the relevant {@link MotionEvent} from the associated {@link MotionDetector}. 
-     * Finally, this {@link MotionEvent} is fired on the filtered {@link MotionListener}s.
+	 * <p>Takes the supplied {@link SensorSample} and generates the relevant {@link MotionEvent} 
+	 * from the associated {@link MotionDetector}. This {@link MotionEvent} is then fired on the 
+	 * {@link MotionListener}s of the given references which have not yet been collected, all 
+	 * of which are of the handled type.
 	 * 
-	 * @param sensorEvent
-	 * 			the {@link SensorEvent} generated from the motion sensor
+	 * @param sensorSample
+	 * 			the {@link SensorSample} taken from the motion sensor
 	 * 
 	 * @param motionListeners
-	 * 			the set of {@link MotionListener}s which should be filtered for the 
-	 * 			type associated with the motion event resolver
+	 * 			the {@link MotionListenerReference}s to the {@link MotionListener}s of the 
+	 * 			type associated with the motion event resolver; this array must not be 
+	 * 			modified
      *
-	 * @since 1.0.0
+	 * @since 1.1.0
+	 */
+	public abstract void resolve(SensorSample sensorSample, MotionListenerReference[] motionListeners);
+	
+	/**
+	 * <p>Returns the type of {@link MotionListener} on which the events generated 
+	 * by this resolver are fired. This is used to bucket the registered listeners 
+	 * of each resolver <i>ahead</i> of dispatching.
+	 * 
+	 * @return the {@link Class} of the handled {@link MotionListener} type
+	 * 
+	 * @since 1.1.0
 	 */
-	public abstract void resolve(SensorEvent sensorEvent, Set<MotionListener> motionListeners);
+	public abstract Class<? extends MotionListener> getMotionListenerClass();
 }
@@ -21,8 +21,7 @@ package com.lonepulse.droidballet.resolver;
  */
 
 
-import java.util.Set;
-
+import com.lonepulse.droidballet.detector.FusedMotionDetector;
 import com.lonepulse.droidballet.detector.VerticalMotionDetector;
 import com.lonepulse.droidballet.listener.VerticalMotionEvent;
 import com.lonepulse.droidballet.listener.VerticalMotionListener;
@@ -47,34 +46,66 @@ public class VerticalMotionEventResolver extends AbstractMotionEventResolver<Ver
 		
 		super(VerticalMotionListener.class, VerticalMotionDetector.newInstance());
 	}
+	
+	/**
+	 * <p>Instantiates a {@link VerticalMotionEventResolver} which detects motion using 
+	 * the given {@link FusedMotionDetector}, so that the sensor output it filters 
+	 * is shared with the other resolvers which use it.
+	 * 
+	 * @param fusedMotionDetector
+	 * 			the shared {@link FusedMotionDetector}
+	 * 
+	 * @since 1.1.0
+	 */
+	public VerticalMotionEventResolver(FusedMotionDetector fusedMotionDetector) {
+		
+		super(VerticalMotionListener.class, VerticalMotionDetector.newInstance(fusedMotionDetector));
+	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getInterestMask() {
+		
+		return VerticalMotionListener.INTEREST_UP 
+				| VerticalMotionListener.INTEREST_DOWN 
+				| VerticalMotionListener.INTEREST_VERTICAL_REST;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected int getInterest(VerticalMotionEvent motionEvent) {
+		
+		return motionEvent.getDirection().getInterest();
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected void fireMotionEvent(VerticalMotionEvent motionEvent, 
-								   Set<VerticalMotionListener> filteredMotionListeners) {
+								   VerticalMotionListener verticalMotionListener) {
 		
 		switch (motionEvent.getDirection()) {
 		
 			case DOWN:
 				
-				for (VerticalMotionListener verticalMotionListener : filteredMotionListeners)
-					verticalMotionListener.onMotionDown(motionEvent);
+				verticalMotionListener.onMotionDown(motionEvent);
 				
 				break;
 				
 			case UP:
 				
-				for (VerticalMotionListener verticalMotionListener : filteredMotionListeners)
-					verticalMotionListener.onMotionUp(motionEvent);
+				verticalMotionListener.onMotionUp(motionEvent);
 				
 				break;
 				
 			case NONE:
 				
-				for (VerticalMotionListener verticalMotionListener : filteredMotionListeners)
-					verticalMotionListener.onMotionRest(motionEvent);
+				verticalMotionListener.onMotionRest(motionEvent);
 				
 				break;
 		}
@@ -0,0 +1,287 @@
+package com.lonepulse.droidballet.sensor;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.hardware.SensorEventListener;
+import android.hardware.SensorManager;
+import android.os.Handler;
+import android.os.HandlerThread;
+
+import com.lonepulse.droidballet.core.SensorType;
+
+/**
+ * <p>An implementation of {@link SensorSource} which registers for readings of one or 
+ * more {@link Sensor}s on the system {@link SensorManager}. All sensors are registered 
+ * on the same thread, hence their readings are handed off sequentially.</p>
+ * 
+ * <p>Readings are delivered on the main looper, unless a <i>dedicated thread</i> was 
+ * requested, in which case a {@link HandlerThread} is started for the lifetime of 
+ * each activation.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class AndroidSensorSource implements SensorSource, SensorEventListener {
+	
+	
+	/**
+	 * <p>The system {@link SensorManager} on which the {@link #sensor} is registered.
+	 */
+	private final SensorManager sensorManager;
+	
+	/**
+	 * <p>The {@link Sensor}s whose readings are produced by this source; sensors 
+	 * which are not available on the device are omitted.
+	 */
+	private final Sensor[] sensors;
+	
+	/**
+	 * <p>Either one of the {@code SENSOR_DELAY_*} constants in {@link SensorManager} 
+	 * or a sampling period in microseconds.
+	 */
+	private int samplingPeriod;
+	
+	/**
+	 * <p>Determines whether readings are delivered on a dedicated {@link HandlerThread}.
+	 */
+	private final boolean dedicatedThread;
+	
+	/**
+	 * <p>The {@link SensorSink} which receives the readings while this source is started.
+	 */
+	private volatile SensorSink sensorSink;
+	
+	/**
+	 * <p>The {@link HandlerThread} on which readings are delivered, if a 
+	 * {@link #dedicatedThread} was requested and this source is started.
+	 */
+	private HandlerThread sensorThread;
+	
+	/**
+	 * <p>The {@link Handler} on which readings are delivered while this source is started, 
+	 * or {@code null} if they are delivered on the main thread.
+	 */
+	private Handler sensorHandler;
+	
+	
+	/**
+	 * <p>Creates a new {@link AndroidSensorSource} for the <i>default</i> sensor of 
+	 * the given type.
+	 * 
+	 * @param sensorManager
+	 * 			the system {@link SensorManager}
+	 * 
+	 * @param sensorType
+	 * 			the type of the sensor as defined by the constants in {@link Sensor}
+	 * 
+	 * @param samplingPeriod
+	 * 			one of the {@code SENSOR_DELAY_*} constants in {@link SensorManager} 
+	 * 			or a sampling period in microseconds
+	 * 
+	 * @param dedicatedThread
+	 * 			{@code true} if readings should be delivered on a dedicated 
+	 * 			{@link HandlerThread} rather than the main looper
+	 * 
+	 * @since 1.1.0
+	 */
+	public AndroidSensorSource(SensorManager sensorManager, 
+							   int sensorType, 
+							   int samplingPeriod, 
+							   boolean dedicatedThread) {
+		
+		this(sensorManager, new int[] {sensorType}, samplingPeriod, dedicatedThread);
+	}
+	
+	/**
+	 * <p>Creates a new {@link AndroidSensorSource} for the <i>default</i> sensors of 
+	 * the given {@link SensorType}s.
+	 * 
+	 * @param sensorManager
+	 * 			the system {@link SensorManager}
+	 * 
+	 * @param sensorTypes
+	 * 			the {@link SensorType}s of the sensors to register
+	 * 
+	 * @param samplingPeriod
+	 * 			one of the {@code SENSOR_DELAY_*} constants in {@link SensorManager} 
+	 * 			or a sampling period in microseconds
+	 * 
+	 * @param dedicatedThread
+	 * 			{@code true} if readings should be delivered on a dedicated 
+	 * 			{@link HandlerThread} rather than the main looper
+	 * 
+	 * @since 1.1.0
+	 */
+	public AndroidSensorSource(SensorManager sensorManager, 
+							   SensorType[] sensorTypes, 
+							   int samplingPeriod, 
+							   boolean dedicatedThread) {
+		
+		this(sensorManager, toTypes(sensorTypes), samplingPeriod, dedicatedThread);
+	}
+	
+	/**
+	 * <p>Creates a new {@link AndroidSensorSource} for the <i>default</i> sensors of 
+	 * the given types.
+	 * 
+	 * @param sensorManager
+	 * 			the system {@link SensorManager}
+	 * 
+	 * @param sensorTypes
+	 * 			the types of the sensors as defined by the constants in {@link Sensor}
+	 * 
+	 * @param samplingPeriod
+	 * 			one of the {@code SENSOR_DELAY_*} constants in {@link SensorManager} 
+	 * 			or a sampling period in microseconds
+	 * 
+	 * @param dedicatedThread
+	 * 			{@code true} if readings should be delivered on a dedicated 
+	 * 			{@link HandlerThread} rather than the main looper
+	 */
+	private AndroidSensorSource(SensorManager sensorManager, 
+								int[] sensorTypes, 
+								int samplingPeriod, 
+								boolean dedicatedThread) {
+		
+		this.sensorManager = sensorManager;
+		this.samplingPeriod = samplingPeriod;
+		this.dedicatedThread = dedicatedThread;
+		
+		int available = 0;
+		Sensor[] defaultSensors = new Sensor[sensorTypes.length];
+		
+		for (int sensorType : sensorTypes) {
+			
+			Sensor sensor = sensorManager.getDefaultSensor(sensorType);
+			
+			if(sensor != null)
+				defaultSensors[available++] = sensor;
+		}
+		
+		this.sensors = new Sensor[available];
+		System.arraycopy(defaultSensors, 0, this.sensors, 0, available);
+	}
+	
+	/**
+	 * <p>Converts the given {@link SensorType}s to the constants defined in {@link Sensor}.
+	 * 
+	 * @param sensorTypes
+	 * 			the {@link SensorType}s to convert
+	 * 
+	 * @return the associated constants in {@link Sensor}
+	 */
+	private static int[] toTypes(SensorType[] sensorTypes) {
+		
+		int[] types = new int[sensorTypes.length];
+		
+		for (int i = 0; i < sensorTypes.length; i++)
+			types[i] = sensorTypes[i].getType();
+		
+		return types;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void start(SensorSink sensorSink) {
+		
+		if(this.sensorSink != null) return;
+		
+		this.sensorSink = sensorSink;
+		this.sensorHandler = null;
+		
+		if(dedicatedThread) {
+			
+			sensorThread = new HandlerThread("DroidBallet-Sensor");
+			sensorThread.start();
+			
+			sensorHandler = new Handler(sensorThread.getLooper());
+		}
+		
+		for (Sensor sensor : sensors)
+			sensorManager.registerListener(this, sensor, samplingPeriod, sensorHandler);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void stop() {
+		
+		if(this.sensorSink == null) return;
+		
+		sensorManager.unregisterListener(this);
+		this.sensorSink = null;
+		this.sensorHandler = null;
+		
+		if(sensorThread != null) {
+			
+			sensorThread.quit();
+			sensorThread = null;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The sensors of a started source are re-registered with the new sampling period.</p>
+	 */
+	@Override
+	public synchronized void setSamplingPeriod(int samplingPeriod) {
+		
+		if(this.samplingPeriod == samplingPeriod) return;
+		
+		this.samplingPeriod = samplingPeriod;
+		
+		if(this.sensorSink == null) return;
+		
+		sensorManager.unregisterListener(this);
+		
+		for (Sensor sensor : sensors)
+			sensorManager.registerListener(this, sensor, samplingPeriod, sensorHandler);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onSensorChanged(SensorEvent sensorEvent) {
+		
+		SensorSink sink = sensorSink;
+		
+		if(sink != null) {
+			
+			Sensor source = sensorEvent.sensor;
+			sink.onSensorSample(source.getType(), sensorEvent.timestamp, source.getMaximumRange(), sensorEvent.values);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onAccuracyChanged(Sensor sensor, int accuracy) {}
+}
@@ -0,0 +1,217 @@
+package com.lonepulse.droidballet.sensor;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import android.hardware.Sensor;
+
+import com.lonepulse.droidballet.core.SensorType;
+
+/**
+ * <p>An implementation of {@link SensorFusion} which uses a 
+ * <a href="http://en.wikipedia.org/wiki/Complementary_filter">Complementary Filter</a> 
+ * to combine the <b>gyroscope</b> and the <b>accelerometer</b>.</p>
+ * 
+ * <p>Each gyroscope reading rotates the estimated gravity vector by the measured angular 
+ * velocity, which tracks tilts with very little lag. Each accelerometer reading then pulls 
+ * the estimate towards the measured acceleration, which cancels the drift of the gyroscope:</p>
+ * 
+ * <p><font color="#424242"><pre>
+ * on gyroscope:      g := g + (g × ω) * dt
+ * on accelerometer:  g := α * g + (1 - α) * a,   where α := τ / (τ + dt)
+ * 
+ * <table border="1">
+ * <tr><td>g: Estimated gravity</td></tr>
+ * <tr><td>ω: Angular velocity</td></tr>
+ * <tr><td>a: Measured acceleration</td></tr>
+ * <tr><td>τ: Time constant</td></tr>
+ * </table>
+ * </pre></font></p>
+ * 
+ * <p>Estimates are forwarded on each gyroscope reading. If no gyroscope readings have been 
+ * received, estimates are forwarded on each accelerometer reading instead.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class ComplementaryFusion implements SensorFusion {
+	
+	
+	/**
+	 * <p>The default time constant in seconds.
+	 */
+	private static final float DEFAULT_TIME_CONSTANT = 0.5f;
+	
+	/**
+	 * <p>The number of nanoseconds in a second.
+	 */
+	private static final float NANOS_PER_SECOND = 1000000000.0f;
+	
+	/**
+	 * <p>The {@link SensorType}s consumed by this fusion stage.
+	 */
+	private static final SensorType[] SENSOR_TYPES = {SensorType.ACCELEROMETER, SensorType.GYROSCOPE};
+	
+	
+	/**
+	 * <p>The time constant τ in seconds which determines how quickly the estimate 
+	 * converges on the accelerometer.
+	 */
+	private final float timeConstant;
+	
+	/**
+	 * <p>The estimated gravity vector.
+	 */
+	private final float[] gravity = new float[SensorSample.AXES];
+	
+	/**
+	 * <p>The timestamp of the last accelerometer reading, or zero if 
+	 * none has been received.
+	 */
+	private long accelerometerTimestamp;
+	
+	/**
+	 * <p>The timestamp of the last gyroscope reading, or zero if 
+	 * none has been received.
+	 */
+	private long gyroscopeTimestamp;
+	
+	
+	/**
+	 * <p>Creates a {@link ComplementaryFusion} with a time constant of 
+	 * {@value #DEFAULT_TIME_CONSTANT} seconds.
+	 * 
+	 * @since 1.1.0
+	 */
+	public ComplementaryFusion() {
+		
+		this(DEFAULT_TIME_CONSTANT);
+	}
+	
+	/**
+	 * <p>Creates a {@link ComplementaryFusion} with the given time constant. Smaller 
+	 * values trust the accelerometer more, while larger values trust the gyroscope more.
+	 * 
+	 * @param timeConstant
+	 * 			the time constant τ in seconds; must be greater than zero
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			if the time constant is not greater than zero
+	 * 
+	 * @since 1.1.0
+	 */
+	public ComplementaryFusion(float timeConstant) {
+		
+		if(!(timeConstant > 0.0f))
+			throw new IllegalArgumentException("The time constant must be greater than zero. ");
+		
+		this.timeConstant = timeConstant;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SensorType[] getSensorTypes() {
+		
+		return SENSOR_TYPES.clone();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean fuse(int sensorType, long timestamp, float[] values, float[] estimate) {
+		
+		switch (sensorType) {
+			
+			case Sensor.TYPE_ACCELEROMETER:
+				
+				if(accelerometerTimestamp == 0) {
+					
+					gravity[0] = values[0];
+					gravity[1] = values[1];
+					gravity[2] = values[2];
+				}
+				else {
+					
+					float dt = (timestamp - accelerometerTimestamp) / NANOS_PER_SECOND;
+					float alpha = (dt > 0.0f)? timeConstant / (timeConstant + dt) : 1.0f;
+					
+					for (int i = 0; i < SensorSample.AXES; i++)
+						gravity[i] = alpha * gravity[i] + (1.0f - alpha) * values[i];
+				}
+				
+				accelerometerTimestamp = timestamp;
+				
+				if(gyroscopeTimestamp != 0) 
+					return false;
+				
+				break;
+			
+			case Sensor.TYPE_GYROSCOPE:
+				
+				long previous = gyroscopeTimestamp;
+				gyroscopeTimestamp = timestamp;
+				
+				if(accelerometerTimestamp == 0 || previous == 0)
+					return false;
+				
+				float dt = (timestamp - previous) / NANOS_PER_SECOND;
+				
+				if(!(dt > 0.0f))
+					return false;
+				
+				float gx = gravity[0], gy = gravity[1], gz = gravity[2];
+				float wx = values[0], wy = values[1], wz = values[2];
+				
+				gravity[0] = gx + (gy * wz - gz * wy) * dt;
+				gravity[1] = gy + (gz * wx - gx * wz) * dt;
+				gravity[2] = gz + (gx * wy - gy * wx) * dt;
+				
+				break;
+			
+			default:
+				
+				return false;
+		}
+		
+		estimate[0] = gravity[0];
+		estimate[1] = gravity[1];
+		estimate[2] = gravity[2];
+		
+		return true;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset() {
+		
+		accelerometerTimestamp = 0;
+		gyroscopeTimestamp = 0;
+		
+		for (int i = 0; i < SensorSample.AXES; i++)
+			gravity[i] = 0.0f;
+	}
+}
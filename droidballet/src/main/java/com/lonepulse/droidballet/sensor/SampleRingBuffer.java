@@ -0,0 +1,341 @@
+package com.lonepulse.droidballet.sensor;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>A bounded, <b>multi-producer/single-consumer</b> ring buffer which ingests raw sensor
+ * readings into preallocated primitive slots.</p>
+ * 
+ * <p>Each slot holds the sensor type, the timestamp, the maximum range and {@link SensorSample#AXES}
+ * axis values of a reading. Readings are copied into the slots on {@link #offer(int, long, float, float[])}
+ * and copied out into a caller owned {@link SensorSample} on {@link #poll(SensorSample)}; hence neither
+ * the producer nor the consumer allocates in the steady state.</p>
+ * 
+ * <p>Producers claim a slot by advancing the tail with a CAS and publish it by advancing the 
+ * sequence of the slot, which is also how the consumer frees it. Hence readings are never lost 
+ * or torn when the producing thread changes, e.g. when a sensor is restarted while a callback 
+ * of its former thread is still running.</p>
+ * 
+ * <p>If the consumer falls behind and the buffer is full, the <i>newest</i> reading is discarded
+ * and accounted for in {@link #getDroppedCount()}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public final class SampleRingBuffer {
+	
+	
+	/**
+	 * <p>The default number of slots used when a capacity is not specified.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int DEFAULT_CAPACITY = 64;
+	
+	
+	/**
+	 * <p>The mask applied to a sequence to obtain its slot index; this is
+	 * always one less than the (power-of-two) capacity.
+	 */
+	private final int mask;
+	
+	/**
+	 * <p>The sensor type of each slot.
+	 */
+	private final int[] sensorTypes;
+	
+	/**
+	 * <p>The timestamp of each slot.
+	 */
+	private final long[] timestamps;
+	
+	/**
+	 * <p>The maximum sensor range of each slot.
+	 */
+	private final float[] maximumRanges;
+	
+	/**
+	 * <p>The axis values of all slots laid out contiguously; slot {@code i}
+	 * occupies the indices {@code [i * AXES, (i + 1) * AXES)}.
+	 */
+	private final float[] values;
+	
+	/**
+	 * <p>The sequence of each slot. A slot is free for the sequence {@code s} while this 
+	 * is {@code s}, and holds the reading of {@code s} once this is {@code s + 1}.
+	 */
+	private final AtomicLongArray sequences;
+	
+	/**
+	 * <p>The sequence of the next slot to be read. This is only ever
+	 * advanced by the consumer.
+	 */
+	private final AtomicLong head = new AtomicLong(0);
+	
+	/**
+	 * <p>The sequence of the next slot to be claimed by a producer.
+	 */
+	private final AtomicLong tail = new AtomicLong(0);
+	
+	/**
+	 * <p>The consumer {@link Thread} which is currently parked in {@link #await()},
+	 * or {@code null} if the consumer is active.
+	 */
+	private volatile Thread parkedConsumer;
+	
+	/**
+	 * <p>The number of readings which were discarded because the buffer was full.
+	 */
+	private final AtomicLong droppedCount = new AtomicLong(0);
+	
+	
+	/**
+	 * <p>Creates a {@link SampleRingBuffer} with {@link #DEFAULT_CAPACITY} slots.
+	 * 
+	 * @since 1.1.0
+	 */
+	public SampleRingBuffer() {
+		
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * <p>Creates a {@link SampleRingBuffer} with <b>at least</b> the given number of
+	 * slots. The capacity is rounded up to the next power of two.
+	 * 
+	 * @param capacity
+	 * 			the minimum number of slots; must be greater than zero
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			if the given capacity is less than one
+	 * 
+	 * @since 1.1.0
+	 */
+	public SampleRingBuffer(int capacity) {
+		
+		if(capacity < 1)
+			throw new IllegalArgumentException("The capacity of a ring buffer must be greater than zero. ");
+		
+		int slots = Integer.highestOneBit(capacity);
+		slots = (slots < capacity)? slots << 1 : slots;
+		
+		this.mask = slots - 1;
+		this.sensorTypes = new int[slots];
+		this.timestamps = new long[slots];
+		this.maximumRanges = new float[slots];
+		this.values = new float[slots * SensorSample.AXES];
+		this.sequences = new AtomicLongArray(slots);
+		
+		for (int i = 0; i < slots; i++)
+			sequences.set(i, i);
+	}
+	
+	/**
+	 * <p>Copies the given reading into the next free slot. This may be invoked by 
+	 * several producers concurrently.
+	 * 
+	 * @param sensorType
+	 * 			the type of the sensor which produced the reading
+	 * 
+	 * @param timestamp
+	 * 			the time in nanoseconds at which the reading was taken
+	 * 
+	 * @param maximumRange
+	 * 			the maximum range of the sensor which produced the reading
+	 * 
+	 * @param readings
+	 * 			the axis values of the reading
+	 * 
+	 * @return {@code true} if the reading was published, else {@code false}
+	 * 		   if it was dropped because the buffer is full
+	 * 
+	 * @since 1.1.0
+	 */
+	public boolean offer(int sensorType, long timestamp, float maximumRange, float[] readings) {
+		
+		long sequence = tail.get();
+		int slot;
+		
+		while(true) {
+			
+			slot = (int) sequence & mask;
+			long available = sequences.get(slot) - sequence;
+			
+			if(available == 0) {
+				
+				if(tail.compareAndSet(sequence, sequence + 1))
+					break;
+				
+				sequence = tail.get();
+			}
+			else if(available < 0) {
+				
+				droppedCount.incrementAndGet();
+				return false;
+			}
+			else {
+				
+				sequence = tail.get();
+			}
+		}
+		
+		int offset = slot * SensorSample.AXES;
+		int length = Math.min(readings.length, SensorSample.AXES);
+		
+		sensorTypes[slot] = sensorType;
+		timestamps[slot] = timestamp;
+		maximumRanges[slot] = maximumRange;
+		
+		for (int i = 0; i < length; i++)
+			values[offset + i] = readings[i];
+		
+		for (int i = length; i < SensorSample.AXES; i++)
+			values[offset + i] = 0.0f;
+		
+		sequences.set(slot, sequence + 1);
+		
+		Thread consumer = parkedConsumer;
+		
+		if(consumer != null)
+			LockSupport.unpark(consumer);
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Copies the oldest published reading into the given {@link SensorSample} and
+	 * frees its slot. This must only be invoked by the <b>single consumer</b>.
+	 * 
+	 * @param sample
+	 * 			the {@link SensorSample} to populate
+	 * 
+	 * @return {@code true} if a reading was copied, else {@code false} if
+	 * 		   the buffer is empty
+	 * 
+	 * @since 1.1.0
+	 */
+	public boolean poll(SensorSample sample) {
+		
+		long sequence = head.get();
+		int slot = (int) sequence & mask;
+		
+		if(sequences.get(slot) != sequence + 1)
+			return false;
+		
+		int offset = slot * SensorSample.AXES;
+		
+		sample.set(sensorTypes[slot], timestamps[slot], maximumRanges[slot], values, offset);
+		
+		head.lazySet(sequence + 1);
+		sequences.set(slot, sequence + mask + 1);
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Parks the calling consumer until a reading is published or the thread is
+	 * interrupted. This must only be invoked by the <b>single consumer</b>.</p>
+	 * 
+	 * <p>There is no timeout, hence an idle consumer is never woken. A reading which 
+	 * is published while the consumer is about to park is not missed, since the 
+	 * consumer is registered before the buffer is re-examined.</p>
+	 * 
+	 * @since 1.1.0
+	 */
+	public void await() {
+		
+		parkedConsumer = Thread.currentThread();
+		
+		try {
+			
+			if(isEmpty())
+				LockSupport.park(this);
+		}
+		finally {
+			
+			parkedConsumer = null;
+		}
+	}
+	
+	/**
+	 * <p>Discards all published readings. This must only be invoked by the 
+	 * <b>single consumer</b>.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void clear() {
+		
+		long sequence = head.get();
+		int slot = (int) sequence & mask;
+		
+		while(sequences.get(slot) == sequence + 1) {
+			
+			sequences.set(slot, sequence + mask + 1);
+			
+			sequence++;
+			slot = (int) sequence & mask;
+		}
+		
+		head.lazySet(sequence);
+	}
+	
+	/**
+	 * <p>Determines whether the slot at the {@link #head} is yet to be published.
+	 * 
+	 * @return {@code true} if there is no reading to be polled, else {@code false}
+	 */
+	private boolean isEmpty() {
+		
+		long sequence = head.get();
+		
+		return sequences.get((int) sequence & mask) != sequence + 1;
+	}
+	
+	/**
+	 * <p>Returns the number of slots in this buffer.
+	 * 
+	 * @return the capacity, which is always a power of two
+	 * 
+	 * @since 1.1.0
+	 */
+	public int getCapacity() {
+		
+		return mask + 1;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #droppedCount}.
+	 * 
+	 * @return the number of readings discarded since creation
+	 * 
+	 * @since 1.1.0
+	 */
+	public long getDroppedCount() {
+		
+		return droppedCount.get();
+	}
+}
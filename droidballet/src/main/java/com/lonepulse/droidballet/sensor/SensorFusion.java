@@ -0,0 +1,83 @@
+package com.lonepulse.droidballet.sensor;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import android.hardware.Sensor;
+
+import com.lonepulse.droidballet.core.HiggsField;
+import com.lonepulse.droidballet.core.SensorType;
+
+/**
+ * <p>This contract specifies a <b>sensor fusion</b> stage which combines the readings of 
+ * several motion sensors into a single estimate of the gravity vector in device coordinates.</p>
+ * 
+ * <p>The {@link HiggsField} runs the fusion stage on the sensor thread before ingestion and 
+ * forwards each estimate as a reading of type {@link Sensor#TYPE_GRAVITY}. Implementations 
+ * are hence invoked by a <b>single thread</b> and need not be thread-safe.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public interface SensorFusion {
+	
+	/**
+	 * <p>Returns the {@link SensorType}s whose readings are consumed by this fusion stage.
+	 * 
+	 * @return the consumed {@link SensorType}s
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract SensorType[] getSensorTypes();
+	
+	/**
+	 * <p>Incorporates a single reading into the running estimate.
+	 * 
+	 * @param sensorType
+	 * 			the type of the sensor which produced the reading, as defined 
+	 * 			by the constants in {@link Sensor}
+	 * 
+	 * @param timestamp
+	 * 			the time in nanoseconds at which the reading was taken
+	 * 
+	 * @param values
+	 * 			the axis values of the reading
+	 * 
+	 * @param estimate
+	 * 			the array of length {@link SensorSample#AXES} which is populated 
+	 * 			with the updated estimate
+	 * 
+	 * @return {@code true} if a new estimate was written and should be forwarded, 
+	 * 		   else {@code false}
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract boolean fuse(int sensorType, long timestamp, float[] values, float[] estimate);
+	
+	/**
+	 * <p>Discards the running estimate; this is invoked each time the 
+	 * {@link HiggsField} is activated.
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract void reset();
+}
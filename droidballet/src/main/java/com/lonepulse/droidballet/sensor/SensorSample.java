@@ -0,0 +1,433 @@
+package com.lonepulse.droidballet.sensor;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+
+/**
+ * <p>A snapshot of a single reading taken from a motion sensor. Unlike a {@link SensorEvent},
+ * which is owned and recycled by the platform, a {@link SensorSample} is owned by the library
+ * and its values are <b>copied</b> at the time of ingestion.</p>
+ * 
+ * <p>Instances may be <i>reused</i>; a consumer which drains samples from a {@link SampleRingBuffer}
+ * overwrites the same instance on each drain. Hence a {@link SensorSample} should never be retained
+ * beyond the scope of the callback in which it was received.</p>
+ * 
+ * <p>Samples which are handed off to another thread are best {@link #obtain()}ed from a global 
+ * pool. Each party which holds on to such a sample {@link #retain()}s it and {@link #recycle()}s 
+ * it once done, and the sample is returned to the pool once the last claim is released.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public final class SensorSample {
+	
+	
+	/**
+	 * <p>The number of axis values held by each {@link SensorSample}. Any additional
+	 * values reported by a sensor are discarded.
+	 * 
+	 * @since 1.1.0
+	 */
+	public static final int AXES = 3;
+	
+	/**
+	 * <p>The maximum number of recycled samples which are retained in the {@link #pool}.
+	 */
+	private static final int MAX_POOL_SIZE = 32;
+	
+	/**
+	 * <p>The lock which guards the {@link #pool}.
+	 */
+	private static final Object POOL_LOCK = new Object();
+	
+	/**
+	 * <p>The head of a linked list of recycled samples which are available for reuse.
+	 */
+	private static SensorSample pool;
+	
+	/**
+	 * <p>The number of samples in the {@link #pool}.
+	 */
+	private static int poolSize;
+	
+	
+	/**
+	 * <p>The type of the {@link Sensor} which produced this sample, as defined by the
+	 * integer constants in {@link Sensor}.
+	 */
+	private int sensorType;
+	
+	/**
+	 * <p>The time in nanoseconds at which the reading was taken.
+	 */
+	private long timestamp;
+	
+	/**
+	 * <p>The maximum range of the {@link Sensor} which produced this sample.
+	 */
+	private float maximumRange;
+	
+	/**
+	 * <p>The axis values of the reading; always of length {@link #AXES}.
+	 */
+	private final float[] values;
+	
+	/**
+	 * <p>The originating {@link SensorEvent}; this is only available for samples
+	 * which were created directly from a {@link SensorEvent} and is {@code null}
+	 * otherwise.
+	 */
+	private SensorEvent sensorEvent;
+	
+	/**
+	 * <p>The number of unreleased claims on this sample. A sample is created 
+	 * or obtained with a single claim.
+	 */
+	private final AtomicInteger claims = new AtomicInteger(1);
+	
+	/**
+	 * <p>Determines whether this sample was {@link #obtain()}ed from the {@link #pool}. 
+	 * Samples which were created by their owners are never pooled.
+	 */
+	private boolean pooled;
+	
+	/**
+	 * <p>The next sample in the {@link #pool}, while this sample is recycled.
+	 */
+	private SensorSample next;
+	
+	
+	/**
+	 * <p>Creates an empty {@link SensorSample} which is to be populated by
+	 * a {@link SampleRingBuffer}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public SensorSample() {
+		
+		this.values = new float[AXES];
+	}
+	
+	/**
+	 * <p>Creates a {@link SensorSample} by copying the given reading.
+	 * 
+	 * @param sensorType
+	 * 			see {@link #sensorType}
+	 * 
+	 * @param timestamp
+	 * 			see {@link #timestamp}
+	 * 
+	 * @param maximumRange
+	 * 			see {@link #maximumRange}
+	 * 
+	 * @param values
+	 * 			the axis values to copy; only the first {@link #AXES} are considered
+	 * 
+	 * @since 1.1.0
+	 */
+	public SensorSample(int sensorType, long timestamp, float maximumRange, float[] values) {
+		
+		this();
+		
+		set(sensorType, timestamp, maximumRange, values);
+	}
+	
+	/**
+	 * <p>Creates a {@link SensorSample} by copying the information held by the
+	 * given {@link SensorEvent}.
+	 * 
+	 * @param sensorEvent
+	 * 			the {@link SensorEvent} whose reading is to be copied
+	 * 
+	 * @since 1.1.0
+	 */
+	public SensorSample(SensorEvent sensorEvent) {
+		
+		this();
+		
+		Sensor sensor = sensorEvent.sensor;
+		
+		set(sensor.getType(), sensorEvent.timestamp, sensor.getMaximumRange(), sensorEvent.values);
+		this.sensorEvent = sensorEvent;
+	}
+	
+	/**
+	 * <p>Returns an empty {@link SensorSample} from the global pool, or creates a new instance 
+	 * if the pool is empty. The returned sample holds a single claim and should be 
+	 * {@link #recycle()}d once its reading is no longer needed.
+	 * 
+	 * @return a {@link SensorSample} which is to be populated by the caller
+	 * 
+	 * @since 1.1.0
+	 */
+	public static SensorSample obtain() {
+		
+		SensorSample sensorSample = null;
+		
+		synchronized (POOL_LOCK) {
+			
+			if(pool != null) {
+				
+				sensorSample = pool;
+				pool = sensorSample.next;
+				sensorSample.next = null;
+				poolSize--;
+			}
+		}
+		
+		if(sensorSample == null) {
+			
+			sensorSample = new SensorSample();
+			sensorSample.pooled = true;
+		}
+		
+		sensorSample.claims.set(1);
+		
+		return sensorSample;
+	}
+	
+	/**
+	 * <p>Returns a {@link SensorSample} from the global pool which holds a copy of the given 
+	 * reading. See {@link #obtain()}.
+	 * 
+	 * @param sensorType
+	 * 			see {@link #sensorType}
+	 * 
+	 * @param timestamp
+	 * 			see {@link #timestamp}
+	 * 
+	 * @param maximumRange
+	 * 			see {@link #maximumRange}
+	 * 
+	 * @param values
+	 * 			the axis values to copy; only the first {@link #AXES} are considered
+	 * 
+	 * @return a {@link SensorSample} which holds the given reading
+	 * 
+	 * @since 1.1.0
+	 */
+	public static SensorSample obtain(int sensorType, long timestamp, float maximumRange, float[] values) {
+		
+		SensorSample sensorSample = obtain();
+		sensorSample.set(sensorType, timestamp, maximumRange, values);
+		
+		return sensorSample;
+	}
+	
+	/**
+	 * <p>Adds a claim on this sample, which prevents it from being pooled until 
+	 * a matching invocation of {@link #recycle()}.
+	 * 
+	 * @since 1.1.0
+	 */
+	public void retain() {
+		
+		claims.incrementAndGet();
+	}
+	
+	/**
+	 * <p>Releases a claim on this sample and returns it to the global pool once the last 
+	 * claim is released, after which the sample must no longer be accessed. Samples which 
+	 * were not {@link #obtain()}ed are left to their owners.
+	 * 
+	 * @throws IllegalStateException
+	 * 			if every claim on the sample has already been released
+	 * 
+	 * @since 1.1.0
+	 */
+	public void recycle() {
+		
+		if(!release() || !pooled) return;
+		
+		sensorEvent = null;
+		
+		synchronized (POOL_LOCK) {
+			
+			if(poolSize < MAX_POOL_SIZE) {
+				
+				next = pool;
+				pool = this;
+				poolSize++;
+			}
+		}
+	}
+	
+	/**
+	 * <p>Releases a claim on this sample.
+	 * 
+	 * @return {@code true} if this was the last claim on the sample
+	 * 
+	 * @throws IllegalStateException
+	 * 			if every claim on the sample has already been released
+	 */
+	private boolean release() {
+		
+		while(true) {
+			
+			int current = claims.get();
+			
+			if(current <= 0)
+				throw new IllegalStateException("This sample cannot be recycled because it has already been recycled. ");
+			
+			if(claims.compareAndSet(current, current - 1))
+				return current == 1;
+		}
+	}
+	
+	/**
+	 * <p>Overwrites the reading held by this {@link SensorSample}.
+	 * 
+	 * @param sensorType
+	 * 			see {@link #sensorType}
+	 * 
+	 * @param timestamp
+	 * 			see {@link #timestamp}
+	 * 
+	 * @param maximumRange
+	 * 			see {@link #maximumRange}
+	 * 
+	 * @param values
+	 * 			the axis values to copy; only the first {@link #AXES} are considered
+	 */
+	void set(int sensorType, long timestamp, float maximumRange, float[] values) {
+		
+		set(sensorType, timestamp, maximumRange, values, 0);
+	}
+	
+	/**
+	 * <p>Overwrites the reading held by this {@link SensorSample} using the axis 
+	 * values found at the given offset of a (possibly larger) array.
+	 * 
+	 * @param sensorType
+	 * 			see {@link #sensorType}
+	 * 
+	 * @param timestamp
+	 * 			see {@link #timestamp}
+	 * 
+	 * @param maximumRange
+	 * 			see {@link #maximumRange}
+	 * 
+	 * @param source
+	 * 			the array which contains the axis values to copy
+	 * 
+	 * @param offset
+	 * 			the index in the source array of the first axis value
+	 */
+	void set(int sensorType, long timestamp, float maximumRange, float[] source, int offset) {
+		
+		this.sensorType = sensorType;
+		this.timestamp = timestamp;
+		this.maximumRange = maximumRange;
+		this.sensorEvent = null;
+		
+		int length = Math.min(source.length - offset, AXES);
+		
+		for (int i = 0; i < length; i++)
+			this.values[i] = source[offset + i];
+		
+		for (int i = length; i < AXES; i++)
+			this.values[i] = 0.0f;
+	}
+	
+	/**
+	 * <p>Overwrites the reading held by this {@link SensorSample} with a copy of the reading 
+	 * held by the given sample. The originating {@link SensorEvent} is not carried over. 
+	 * This allows an owner which outlives a reading, such as a pooled motion event, to keep 
+	 * the reading without retaining a sample which may be reused.
+	 * 
+	 * @param sensorSample
+	 * 			the {@link SensorSample} whose reading is copied
+	 * 
+	 * @since 1.1.0
+	 */
+	public void copyFrom(SensorSample sensorSample) {
+		
+		set(sensorSample.sensorType, sensorSample.timestamp, sensorSample.maximumRange, sensorSample.values);
+	}
+	
+	/**
+	 * <p>Accessor for {@link #sensorType}.
+	 * 
+	 * @return the {@link #sensorType}
+	 * 
+	 * @since 1.1.0
+	 */
+	public int getSensorType() {
+		
+		return sensorType;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #timestamp}.
+	 * 
+	 * @return the {@link #timestamp}
+	 * 
+	 * @since 1.1.0
+	 */
+	public long getTimestamp() {
+		
+		return timestamp;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #maximumRange}.
+	 * 
+	 * @return the {@link #maximumRange}
+	 * 
+	 * @since 1.1.0
+	 */
+	public float getMaximumRange() {
+		
+		return maximumRange;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #values}. The returned array is owned by this
+	 * sample and should be treated as <b>read-only</b>.
+	 * 
+	 * @return the {@link #values}
+	 * 
+	 * @since 1.1.0
+	 */
+	public float[] getValues() {
+		
+		return values;
+	}
+	
+	/**
+	 * <p>Accessor for {@link #sensorEvent}.
+	 * 
+	 * @return the {@link #sensorEvent}, or {@code null} if this sample was
+	 * 		   not created directly from a {@link SensorEvent}
+	 * 
+	 * @since 1.1.0
+	 */
+	public SensorEvent getSensorEvent() {
+		
+		return sensorEvent;
+	}
+}
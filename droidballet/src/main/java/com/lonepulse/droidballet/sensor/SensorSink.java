@@ -0,0 +1,55 @@
+package com.lonepulse.droidballet.sensor;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+/**
+ * <p>The contract through which a {@link SensorSource} hands off each of its readings. 
+ * Readings are passed as primitives so that no allocation is required on the hand-off.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public interface SensorSink {
+	
+	/**
+	 * <p>Invoked by a {@link SensorSource} for each reading it produces. The given 
+	 * array of values is owned by the {@link SensorSource} and may be overwritten once 
+	 * this method returns; implementations must copy any values they wish to retain.
+	 * 
+	 * @param sensorType
+	 * 			the type of the sensor which produced the reading, as defined 
+	 * 			by the constants in {@link android.hardware.Sensor}
+	 * 
+	 * @param timestamp
+	 * 			the time in nanoseconds at which the reading was taken
+	 * 
+	 * @param maximumRange
+	 * 			the maximum range of the sensor which produced the reading
+	 * 
+	 * @param values
+	 * 			the axis values of the reading
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract void onSensorSample(int sensorType, long timestamp, float maximumRange, float[] values);
+}
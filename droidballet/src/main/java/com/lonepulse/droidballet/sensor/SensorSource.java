@@ -0,0 +1,71 @@
+package com.lonepulse.droidballet.sensor;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import android.hardware.SensorManager;
+
+import com.lonepulse.droidballet.core.HiggsField;
+
+/**
+ * <p>This contract specifies a producer of motion sensor readings which is consumed 
+ * by the {@link HiggsField}. The default implementation is {@link AndroidSensorSource}, 
+ * while {@link SyntheticSensorSource} can be used to drive the motion pipeline without 
+ * a device.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public interface SensorSource {
+	
+	/**
+	 * <p>Starts producing readings and hands each of them off to the given 
+	 * {@link SensorSink}. Invoking this on a source which has already been 
+	 * started has no effect.
+	 * 
+	 * @param sensorSink
+	 * 			the {@link SensorSink} which receives the readings
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract void start(SensorSink sensorSink);
+	
+	/**
+	 * <p>Stops producing readings. Invoking this on a source which has not 
+	 * been started has no effect.
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract void stop();
+	
+	/**
+	 * <p>Changes the rate at which readings are produced. If this source has already 
+	 * been started, the new rate takes effect immediately.
+	 * 
+	 * @param samplingPeriod
+	 * 			one of the {@code SENSOR_DELAY_*} constants in {@link SensorManager} 
+	 * 			or a sampling period in microseconds
+	 * 
+	 * @since 1.1.0
+	 */
+	public abstract void setSamplingPeriod(int samplingPeriod);
+}
@@ -0,0 +1,420 @@
+package com.lonepulse.droidballet.sensor;
+
+/*
+ * #%L
+ * DroidBallet Library
+ * %%
+ * Copyright (C) 2013 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import android.hardware.Sensor;
+import android.util.Log;
+
+/**
+ * <p>An implementation of {@link SensorSource} which produces readings from a {@link Generator} 
+ * at a fixed rate on its own thread. It depends on no platform services and can hence be used 
+ * to <b>benchmark</b> or <b>load-test</b> the motion pipeline on a plain JVM.</p>
+ * 
+ * <p>Use {@link #constant(float, float, float)}, {@link #sine(int, float, float, float)} or 
+ * {@link #replay(float[][])} to obtain a {@link Generator}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+ */
+public class SyntheticSensorSource implements SensorSource {
+	
+	
+	/**
+	 * <p>Produces the axis values of each synthetic reading.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static interface Generator {
+		
+		/**
+		 * <p>Populates the axis values of the reading with the given sequence.
+		 * 
+		 * @param sequence
+		 * 			the zero-based sequence number of the reading
+		 * 
+		 * @param timestamp
+		 * 			the time in nanoseconds at which the reading is taken
+		 * 
+		 * @param values
+		 * 			the array of length {@link SensorSample#AXES} to populate
+		 * 
+		 * @since 1.1.0
+		 */
+		public abstract void generate(long sequence, long timestamp, float[] values);
+	}
+	
+	/**
+	 * <p>A {@link Runnable} which paces the readings produced by the {@link #generator} 
+	 * and hands them off to a {@link SensorSink} until it is interrupted, the 
+	 * {@link #sampleLimit} is reached or the sink fails. Once the emitter exits on its 
+	 * own, the source is no longer started and may be started again.
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @author <a href="mailto:lahiru@lonepulse.com">Lahiru Sahan Jayasinghe</a>
+	 */
+	private final class EMITTER implements Runnable {
+		
+		/**
+		 * <p>The {@link SensorSink} which receives the readings.
+		 */
+		private final SensorSink sensorSink;
+		
+		
+		/**
+		 * <p>Creates an emitter which hands off readings to the given {@link SensorSink}.
+		 * 
+		 * @param sensorSink
+		 * 			the {@link SensorSink} which receives the readings
+		 */
+		private EMITTER(SensorSink sensorSink) {
+			
+			this.sensorSink = sensorSink;
+		}
+		
+		@Override
+		public void run() {
+			
+			try {
+				
+				emit();
+			}
+			catch (RuntimeException re) {
+				
+				Log.e(getClass().getSimpleName(), "The synthetic sensor stopped since a reading failed. ", re);
+			}
+			finally {
+				
+				synchronized (SyntheticSensorSource.this) {
+					
+					if(emitterThread == Thread.currentThread())
+						emitterThread = null;
+				}
+			}
+		}
+		
+		/**
+		 * <p>Produces and hands off readings until the emitter is interrupted 
+		 * or the {@link #sampleLimit} is reached.
+		 */
+		private void emit() {
+			
+			float[] values = new float[SensorSample.AXES];
+			long next = System.nanoTime();
+			
+			while(!Thread.currentThread().isInterrupted()) {
+				
+				long timestamp = System.nanoTime();
+				long sequence = emittedCount.get();
+				
+				if(sampleLimit > 0 && sequence >= sampleLimit) 
+					break;
+				
+				generator.generate(sequence, timestamp, values);
+				sensorSink.onSensorSample(sensorType, timestamp, maximumRange, values);
+				
+				emittedCount.lazySet(sequence + 1);
+				
+				long period = Math.max(SyntheticSensorSource.this.period, requestedPeriod);
+				
+				if(period > 0) {
+					
+					next += period;
+					long delay = next - System.nanoTime();
+					
+					if(delay > 0)
+						LockSupport.parkNanos(this, delay);
+				}
+			}
+		}
+	}
+	
+	
+	/**
+	 * <p>The sensor type reported with each reading.
+	 */
+	private final int sensorType;
+	
+	/**
+	 * <p>The maximum range reported with each reading.
+	 */
+	private final float maximumRange;
+	
+	/**
+	 * <p>The time in nanoseconds between consecutive readings, or zero if 
+	 * readings should be produced as fast as possible.
+	 */
+	private final long period;
+	
+	/**
+	 * <p>The time in nanoseconds between consecutive readings which was requested 
+	 * via {@link #setSamplingPeriod(int)}. Readings are never produced faster than 
+	 * the {@link #period}.
+	 */
+	private volatile long requestedPeriod;
+	
+	/**
+	 * <p>The {@link Generator} which produces the axis values.
+	 */
+	private final Generator generator;
+	
+	/**
+	 * <p>The number of readings after which this source stops on its own, 
+	 * or zero if it should run until stopped.
+	 */
+	private volatile long sampleLimit;
+	
+	/**
+	 * <p>The number of readings which were handed off since creation.
+	 */
+	private final AtomicLong emittedCount = new AtomicLong(0);
+	
+	/**
+	 * <p>The {@link Thread} which runs the {@link EMITTER} while this source is started. 
+	 * Guarded by the lock on this source.
+	 */
+	private Thread emitterThread;
+	
+	
+	/**
+	 * <p>Creates a {@link SyntheticSensorSource} which emulates an accelerometer with 
+	 * a maximum range of {@code 2g}.
+	 * 
+	 * @param rate
+	 * 			the number of readings per second, or zero to produce readings 
+	 * 			as fast as possible
+	 * 
+	 * @param generator
+	 * 			the {@link Generator} which produces the axis values
+	 * 
+	 * @since 1.1.0
+	 */
+	public SyntheticSensorSource(int rate, Generator generator) {
+		
+		this(Sensor.TYPE_ACCELEROMETER, 19.6133f, rate, generator);
+	}
+	
+	/**
+	 * <p>Creates a {@link SyntheticSensorSource} which emulates a sensor of the given type.
+	 * 
+	 * @param sensorType
+	 * 			the sensor type reported with each reading, as defined by the 
+	 * 			constants in {@link Sensor}
+	 * 
+	 * @param maximumRange
+	 * 			the maximum range reported with each reading
+	 * 
+	 * @param rate
+	 * 			the number of readings per second, or zero to produce readings 
+	 * 			as fast as possible
+	 * 
+	 * @param generator
+	 * 			the {@link Generator} which produces the axis values
+	 * 
+	 * @since 1.1.0
+	 */
+	public SyntheticSensorSource(int sensorType, float maximumRange, int rate, Generator generator) {
+		
+		this.sensorType = sensorType;
+		this.maximumRange = maximumRange;
+		this.period = (rate > 0)? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+		this.generator = generator;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void start(SensorSink sensorSink) {
+		
+		if(emitterThread != null) return;
+		
+		emitterThread = new Thread(new EMITTER(sensorSink), "DroidBallet-SyntheticSensor");
+		emitterThread.start();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void stop() {
+		
+		if(emitterThread == null) return;
+		
+		emitterThread.interrupt();
+		emitterThread = null;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>The given value is always treated as a period in microseconds; hence the 
+	 * {@code SENSOR_DELAY_*} constants produce readings at the rate given on creation, 
+	 * as does any period shorter than that of the rate.</p>
+	 */
+	@Override
+	public void setSamplingPeriod(int samplingPeriod) {
+		
+		this.requestedPeriod = TimeUnit.MICROSECONDS.toNanos(Math.max(samplingPeriod, 0));
+	}
+	
+	/**
+	 * <p>Sets the number of readings after which this source stops producing 
+	 * readings on its own. Defaults to zero, which produces readings until 
+	 * {@link #stop()} is invoked.
+	 * 
+	 * @param sampleLimit
+	 * 			the total number of readings to produce, or zero for no limit
+	 * 
+	 * @since 1.1.0
+	 */
+	public void setSampleLimit(long sampleLimit) {
+		
+		this.sampleLimit = sampleLimit;
+	}
+	
+	/**
+	 * <p>Returns the number of readings which were handed off since creation.
+	 * 
+	 * @return the number of emitted readings
+	 * 
+	 * @since 1.1.0
+	 */
+	public long getEmittedCount() {
+		
+		return emittedCount.get();
+	}
+	
+	/**
+	 * <p>Creates a {@link Generator} which produces the same reading each time.
+	 * 
+	 * @param x
+	 * 			the value on the X-Axis
+	 * 
+	 * @param y
+	 * 			the value on the Y-Axis
+	 * 
+	 * @param z
+	 * 			the value on the Z-Axis
+	 * 
+	 * @return a {@link Generator} of constant readings
+	 * 
+	 * @since 1.1.0
+	 */
+	public static Generator constant(final float x, final float y, final float z) {
+		
+		return new Generator() {
+			
+			@Override
+			public void generate(long sequence, long timestamp, float[] values) {
+				
+				values[0] = x;
+				values[1] = y;
+				values[2] = z;
+			}
+		};
+	}
+	
+	/**
+	 * <p>Creates a {@link Generator} which oscillates the value on a single axis 
+	 * sinusoidally, emulating a device which is tilted back and forth.
+	 * 
+	 * @param axis
+	 * 			the zero-based index of the axis to oscillate
+	 * 
+	 * @param offset
+	 * 			the value about which the axis oscillates
+	 * 
+	 * @param amplitude
+	 * 			the maximum deviation from the offset
+	 * 
+	 * @param frequency
+	 * 			the number of oscillations per second
+	 * 
+	 * @return a {@link Generator} of sinusoidal readings
+	 * 
+	 * @since 1.1.0
+	 */
+	public static Generator sine(final int axis, final float offset, final float amplitude, final float frequency) {
+		
+		return new Generator() {
+			
+			@Override
+			public void generate(long sequence, long timestamp, float[] values) {
+				
+				double seconds = timestamp / (double) TimeUnit.SECONDS.toNanos(1);
+				values[axis] = offset + amplitude * (float) Math.sin(2 * Math.PI * frequency * seconds);
+			}
+		};
+	}
+	
+	/**
+	 * <p>Creates a {@link Generator} which replays recorded readings in order, 
+	 * starting over once all readings have been replayed. The axes which a 
+	 * reading does not hold are replayed as zero.
+	 * 
+	 * @param readings
+	 * 			the recorded readings, each of which holds up to 
+	 * 			{@link SensorSample#AXES} axis values
+	 * 
+	 * @return a {@link Generator} of recorded readings
+	 * 
+	 * @throws IllegalArgumentException
+	 * 			if no readings were given or if any of the readings is {@code null}
+	 * 
+	 * @since 1.1.0
+	 */
+	public static Generator replay(final float[][] readings) {
+		
+		if(readings == null || readings.length == 0)
+			throw new IllegalArgumentException("At least one reading must be given for replay. ");
+		
+		for (float[] reading : readings) {
+			
+			if(reading == null)
+				throw new IllegalArgumentException("The readings given for replay must not be null. ");
+		}
+		
+		return new Generator() {
+			
+			@Override
+			public void generate(long sequence, long timestamp, float[] values) {
+				
+				float[] reading = readings[(int) (sequence % readings.length)];
+				int length = Math.min(reading.length, values.length);
+				
+				for (int i = 0; i < length; i++)
+					values[i] = reading[i];
+				
+				for (int i = length; i < values.length; i++)
+					values[i] = 0.0f;
+			}
+		};
+	}
+}
@@ -165,11 +165,15 @@ public class LinearMotionListView extends ListView implements MotionView, Vertic
 
 	/**
 	 * {@inheritDoc}
+	 * 
+	 * <p>Only {@link VERTICAL_DIRECTION#UP} and {@link VERTICAL_DIRECTION#DOWN} are 
+	 * of interest, since this view takes no action when motion comes to rest. Callbacks 
+	 * are invoked on the main thread, since they scroll this view.</p>
 	 */
 	@Override
 	public void register() {
 
-		MotionViewRegistry.INSTANCE.register(this);
+		MotionViewRegistry.INSTANCE.register(this, INTEREST_UP | INTEREST_DOWN, RATE_UNLIMITED, THREAD_AFFINITY.MAIN);
 	}
 
 	/**
@@ -192,7 +196,7 @@ public class LinearMotionListView extends ListView implements MotionView, Vertic
 			int velocity = LinearMotionListView.processVelocity(
 							event.getDirection(),
 							event.getFilteredOutput()[1], 
-							event.getSensorEvent().sensor.getMaximumRange());
+							event.getSensorSample().getMaximumRange());
 			
 			int scrollDistance = processScrollDistance(velocity);
 			int scrollDuration = processScrollDuration(velocity);
@@ -212,7 +216,7 @@ public class LinearMotionListView extends ListView implements MotionView, Vertic
 			int velocity = LinearMotionListView.processVelocity(
 							event.getDirection(), 
 							event.getFilteredOutput()[1], 
-							event.getSensorEvent().sensor.getMaximumRange());
+							event.getSensorSample().getMaximumRange());
 			
 			int scrollDistance = processScrollDistance(velocity);
 			int scrollDuration = processScrollDuration(velocity);